@@ -0,0 +1,103 @@
+package pdp.aniachar.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import pdp.aniachar.dungeonmaster.comm.EventContainer;
+import pdp.aniachar.dungeonmaster.gameworld.ArrowTrajectory;
+import pdp.aniachar.dungeonmaster.gameworld.EllerMazeBuilder;
+import pdp.aniachar.dungeonmaster.gameworld.IMazeLocation;
+import pdp.aniachar.dungeonmaster.gameworld.IMazeLocationBuilder;
+import pdp.aniachar.gamekit.Direction;
+
+/**
+ * Cost of resolving where an arrow lands, for every cave of a 100 x 100 maze shot in every
+ * direction at every distance. The cached case reads the trajectories kept by the locations, the
+ * baseline follows the arrow through the maze for every shot.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArrowTrajectoryBenchmark {
+
+  private static final int MAX_DISTANCE = 5;
+
+  private IMazeLocation[] caves;
+
+  /**
+   * Builds the maze and finds its caves.
+   */
+
+  @Setup
+  public void buildMaze() {
+    EventContainer.reset();
+    IMazeLocation start = (IMazeLocation) new EllerMazeBuilder(100, 100, 0).buildWorld()
+            .getStartLocation();
+    List<IMazeLocation> found = new ArrayList<>();
+    IMazeLocationBuilder.visitWithin(start, Integer.MAX_VALUE, (location, distance) -> {
+      if (location.getNumberOfExits() != 2) {
+        found.add(location);
+      }
+    });
+    caves = found.toArray(new IMazeLocation[0]);
+  }
+
+  /**
+   * Shoots using the trajectories kept by the locations.
+   *
+   * @return The number of shots that travel the full distance.
+   */
+
+  @Benchmark
+  public int cached() {
+    int reached = 0;
+    for (IMazeLocation cave : caves) {
+      for (Direction direction : Direction.values()) {
+        ArrowTrajectory trajectory = cave.getArrowTrajectory(direction);
+        for (int distance = 1; distance <= MAX_DISTANCE; distance++) {
+          if (trajectory.reaches(distance)) {
+            reached++;
+          }
+        }
+      }
+    }
+    return reached;
+  }
+
+  /**
+   * Follows the arrow through the maze for every shot.
+   *
+   * @return The number of shots that travel the full distance.
+   */
+
+  @Benchmark
+  public int walked() {
+    int reached = 0;
+    for (IMazeLocation cave : caves) {
+      for (Direction direction : Direction.values()) {
+        for (int distance = 1; distance <= MAX_DISTANCE; distance++) {
+          if (ArrowTrajectory.compute(cave, direction).reaches(distance)) {
+            reached++;
+          }
+        }
+      }
+    }
+    return reached;
+  }
+}
@@ -0,0 +1,89 @@
+package pdp.aniachar.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import pdp.aniachar.dungeonmaster.comm.EventContainer;
+import pdp.aniachar.dungeonmaster.gameworld.CaveGraph;
+import pdp.aniachar.dungeonmaster.gameworld.IMazeLocation;
+import pdp.aniachar.dungeonmaster.gameworld.IMazeLocationBuilder;
+import pdp.aniachar.dungeonmaster.gameworld.Maze;
+import pdp.aniachar.dungeonmaster.gameworld.RandomMazeBuilder;
+
+/**
+ * Cost of finding the distance from a cave to every other cave of a maze without extra paths.
+ * The graph case searches the {@link CaveGraph} of the maze, the baseline searches every
+ * location of the maze and only keeps the caves.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CaveGraphBenchmark {
+
+  @Param({"100", "300"})
+  private int gridSize;
+
+  private CaveGraph caveGraph;
+  private IMazeLocation start;
+  private int startIndex;
+
+  /**
+   * Builds the maze and its graph.
+   */
+
+  @Setup
+  public void buildMaze() {
+    EventContainer.reset();
+    Maze maze = (Maze) new RandomMazeBuilder(gridSize, gridSize, false, 0, 0, 0).buildWorld();
+    caveGraph = maze.getCaveGraph();
+    start = (IMazeLocation) maze.getStartLocation();
+    startIndex = caveGraph.indexOf(start);
+  }
+
+  /**
+   * Searches the graph of the caves.
+   *
+   * @return The sum of the distances to all caves.
+   */
+
+  @Benchmark
+  public long caveGraph() {
+    long sum = 0;
+    for (int distance : caveGraph.distancesFrom(startIndex)) {
+      sum += distance;
+    }
+    return sum;
+  }
+
+  /**
+   * Searches every location of the maze.
+   *
+   * @return The sum of the distances to all caves.
+   */
+
+  @Benchmark
+  public long locations() {
+    long[] sum = new long[1];
+    IMazeLocationBuilder.visitWithin(start, Integer.MAX_VALUE, (location, distance) -> {
+      if (location.getNumberOfExits() != 2) {
+        sum[0] += distance;
+      }
+    });
+    return sum[0];
+  }
+}
@@ -0,0 +1,126 @@
+package pdp.aniachar.benchmark;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.tuple.Pair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+import pdp.aniachar.dungeonmaster.action.location.MoveAction;
+import pdp.aniachar.dungeonmaster.comm.EventContainer;
+import pdp.aniachar.dungeonmaster.gameworld.EllerMazeBuilder;
+import pdp.aniachar.dungeonmaster.gameworld.IMazeLocation;
+import pdp.aniachar.dungeonmaster.gameworld.IMazeLocationBuilder;
+
+/**
+ * Cost of the identity of a location in a breadth first search over the whole maze.
+ * The locations are compared by their packed cell id, the baseline keys the same search by the
+ * (row, column) pair compared with {@link EqualsBuilder} and {@link HashCodeBuilder}, which is
+ * how locations used to be compared.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CellIdentityBenchmark {
+
+  @Param({"100", "300"})
+  private int gridSize;
+
+  private IMazeLocation start;
+
+  /**
+   * Builds the maze that is searched.
+   */
+
+  @Setup
+  public void buildMaze() {
+    EventContainer.reset();
+    start = (IMazeLocation) new EllerMazeBuilder(gridSize, gridSize, 0).buildWorld()
+            .getStartLocation();
+  }
+
+  /**
+   * Searches the maze using the locations as keys.
+   *
+   * @return The number of locations found.
+   */
+
+  @Benchmark
+  public int cellId() {
+    return IMazeLocationBuilder.distanceToNodesWithin(start, Integer.MAX_VALUE).size();
+  }
+
+  /**
+   * Searches the maze using the (row, column) pairs compared with the reflective builders.
+   *
+   * @return The number of locations found.
+   */
+
+  @Benchmark
+  public int pairKey() {
+    Map<PairKey, Integer> distanceMap = new HashMap<>();
+    distanceMap.put(new PairKey(start.getLocationDescription()), 0);
+    Queue<IMazeLocation> queue = new ArrayDeque<>();
+    queue.add(start);
+    while (!queue.isEmpty()) {
+      IMazeLocation currentLocation = queue.remove();
+      int distance = distanceMap.get(new PairKey(currentLocation.getLocationDescription()));
+      for (MoveAction action : currentLocation.getMoveAction()) {
+        IMazeLocation adjLocation = (IMazeLocation) action.act().orElseThrow();
+        if (distanceMap.putIfAbsent(new PairKey(adjLocation.getLocationDescription()),
+                distance + 1) == null) {
+          queue.add(adjLocation);
+        }
+      }
+    }
+    return distanceMap.size();
+  }
+
+  /**
+   * A key that is compared the way locations used to be compared.
+   */
+
+  private static final class PairKey {
+
+    private final Pair<Integer, Integer> gridLocation;
+
+    PairKey(Pair<Integer, Integer> gridLocation) {
+      this.gridLocation = gridLocation;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof PairKey)) {
+        return false;
+      }
+      return new EqualsBuilder().append(gridLocation, ((PairKey) o).gridLocation).isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+      return new HashCodeBuilder(17, 37).append(gridLocation).toHashCode();
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package pdp.aniachar.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import pdp.aniachar.dungeonmaster.gameworld.DisjointSet;
+
+/**
+ * Size sweep of the Kruskal pass that is used to build a maze.
+ * The candidate edges of a square grid are shuffled once per trial and then joined using a
+ * {@link DisjointSet}. The time per cell should stay flat as the grid grows.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class DisjointSetBenchmark {
+
+  @Param({"256", "512", "1024", "2048", "4096"})
+  private int gridSize;
+
+  private int[] edgeFrom;
+  private int[] edgeTo;
+
+  /**
+   * Enumerates and shuffles all the candidate edges of the grid.
+   */
+
+  @Setup(Level.Trial)
+  public void setup() {
+    int numberOfEdges = 2 * gridSize * (gridSize - 1);
+    edgeFrom = new int[numberOfEdges];
+    edgeTo = new int[numberOfEdges];
+    int edge = 0;
+    for (int row = 0; row < gridSize; row++) {
+      for (int col = 0; col < gridSize; col++) {
+        int index = row * gridSize + col;
+        if (row < gridSize - 1) {
+          edgeFrom[edge] = index;
+          edgeTo[edge++] = index + gridSize;
+        }
+        if (col < gridSize - 1) {
+          edgeFrom[edge] = index;
+          edgeTo[edge++] = index + 1;
+        }
+      }
+    }
+    SplittableRandom random = new SplittableRandom(42);
+    for (int i = numberOfEdges - 1; i > 0; i--) {
+      int j = random.nextInt(i + 1);
+      int from = edgeFrom[i];
+      int to = edgeTo[i];
+      edgeFrom[i] = edgeFrom[j];
+      edgeTo[i] = edgeTo[j];
+      edgeFrom[j] = from;
+      edgeTo[j] = to;
+    }
+  }
+
+  /**
+   * Builds a spanning tree over the shuffled edges.
+   *
+   * @return The number of edges in the spanning tree.
+   */
+
+  @Benchmark
+  public int kruskalSpanningTree() {
+    DisjointSet connected = new DisjointSet(gridSize * gridSize);
+    int treeEdges = 0;
+    for (int i = 0; i < edgeFrom.length; i++) {
+      if (connected.union(edgeFrom[i], edgeTo[i])) {
+        treeEdges++;
+      }
+    }
+    return treeEdges;
+  }
+}
@@ -0,0 +1,148 @@
+package pdp.aniachar.benchmark;
+
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+
+import org.apache.commons.lang3.tuple.MutablePair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import pdp.aniachar.EventDispatcher;
+import pdp.aniachar.dungeonmaster.comm.ArrowHitEvent;
+import pdp.aniachar.dungeonmaster.gameworld.CellId;
+import pdp.aniachar.dungeonmaster.gameworld.MazeLocation;
+
+/**
+ * Cost of posting one event to 1, 10 and 1000 subscribers, on the {@link EventDispatcher} the
+ * game uses and on the Guava {@link EventBus} it replaced. Every subscriber listens to the
+ * event like an Otyughs listens to arrow hits, and half of them also listen to every object so
+ * that events are delivered to subscribers of a super type too.
+ * The located case registers every subscriber at its own cell, the way monsters are registered,
+ * and posts the event at the cell of one of them.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventDispatchBenchmark {
+
+  @Param({"1", "10", "1000"})
+  public int subscribers;
+
+  private EventDispatcher dispatcher;
+  private EventBus eventBus;
+  private EventDispatcher locatedDispatcher;
+  private ArrowHitEvent event;
+  private Counter counter;
+
+  /**
+   * Registers the same subscribers on both buses.
+   */
+
+  @Setup
+  public void registerSubscribers() {
+    dispatcher = new EventDispatcher();
+    eventBus = new EventBus();
+    locatedDispatcher = new EventDispatcher();
+    counter = new Counter();
+    for (int i = 0; i < subscribers; i++) {
+      Object subscriber = i % 2 == 0 ? new HitSubscriber(counter)
+              : new HitAndObjectSubscriber(counter);
+      dispatcher.register(subscriber);
+      eventBus.register(subscriber);
+      locatedDispatcher.registerAt(new HitSubscriber(counter), CellId.of(i / 100, i % 100));
+    }
+    event = new ArrowHitEvent(new MazeLocation(new MutablePair<>(0, 0)), 50d);
+  }
+
+  /**
+   * Posts the event on the dispatcher.
+   *
+   * @return The number of calls made so far.
+   */
+
+  @Benchmark
+  public long dispatcher() {
+    dispatcher.post(event);
+    return counter.calls;
+  }
+
+  /**
+   * Posts the event on a dispatcher with every subscriber at its own cell.
+   *
+   * @return The number of calls made so far.
+   */
+
+  @Benchmark
+  public long locatedDispatcher() {
+    locatedDispatcher.post(event);
+    return counter.calls;
+  }
+
+  /**
+   * Posts the event on the Guava event bus.
+   *
+   * @return The number of calls made so far.
+   */
+
+  @Benchmark
+  public long guavaEventBus() {
+    eventBus.post(event);
+    return counter.calls;
+  }
+
+  /**
+   * Counts the calls made to all the subscribers.
+   */
+
+  static final class Counter {
+    long calls;
+  }
+
+  /**
+   * Listens to arrow hits.
+   */
+
+  public static class HitSubscriber {
+    final Counter counter;
+
+    HitSubscriber(Counter counter) {
+      this.counter = counter;
+    }
+
+    @Subscribe
+    public void takeHit(ArrowHitEvent arrowHitEvent) {
+      counter.calls++;
+    }
+  }
+
+  /**
+   * Listens to arrow hits and to every other event.
+   */
+
+  public static class HitAndObjectSubscriber extends HitSubscriber {
+
+    HitAndObjectSubscriber(Counter counter) {
+      super(counter);
+    }
+
+    @Subscribe
+    public void anyEvent(Object event) {
+      counter.calls++;
+    }
+  }
+}
@@ -0,0 +1,113 @@
+package pdp.aniachar.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import pdp.aniachar.dungeonmaster.comm.EventContainer;
+import pdp.aniachar.dungeonmaster.gameworld.CompactMaze;
+import pdp.aniachar.dungeonmaster.gameworld.CompactMazeBuilder;
+import pdp.aniachar.dungeonmaster.gameworld.EllerMazeBuilder;
+import pdp.aniachar.gamekit.GameWorld;
+
+/**
+ * Heap retained by a world built as a graph of locations versus a {@link CompactMaze}.
+ * Both worlds are generated by Eller's algorithm, so they only differ in how they are stored.
+ * The retained heap is reported in the {@code retainedBytes} column. The time is the time taken
+ * to build the world.
+ */
+
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class FootprintBenchmark {
+
+  /**
+   * The sizes of the graph of locations. Larger graphs do not fit in the heap.
+   */
+
+  @State(Scope.Benchmark)
+  public static class ObjectGraphSize {
+    @Param({"316", "1000"})
+    int gridSize;
+  }
+
+  /**
+   * The sizes of the compact maze. 10000 x 10000 is the 100M location world.
+   */
+
+  @State(Scope.Benchmark)
+  public static class CompactSize {
+    @Param({"1000", "10000"})
+    int gridSize;
+  }
+
+  /**
+   * The heap retained by the world that was built last.
+   */
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Footprint {
+    public long retainedBytes;
+    long usedBefore;
+
+    /**
+     * Drops the world of the previous iteration and measures the empty heap.
+     */
+
+    @Setup(Level.Iteration)
+    public void clean() {
+      EventContainer.reset();
+      usedBefore = usedHeap();
+    }
+  }
+
+  /**
+   * Builds the world as a graph of locations.
+   *
+   * @return The world.
+   */
+
+  @Benchmark
+  public GameWorld objectGraph(ObjectGraphSize size, Footprint footprint) {
+    GameWorld world = new EllerMazeBuilder(size.gridSize, size.gridSize, 40).buildWorld();
+    footprint.retainedBytes = usedHeap() - footprint.usedBefore;
+    return world;
+  }
+
+  /**
+   * Builds the world as a {@link CompactMaze}.
+   *
+   * @return The world.
+   */
+
+  @Benchmark
+  public GameWorld compact(CompactSize size, Footprint footprint) {
+    GameWorld world = new CompactMazeBuilder(size.gridSize, size.gridSize, 40).buildWorld();
+    footprint.retainedBytes = usedHeap() - footprint.usedBefore;
+    return world;
+  }
+
+  private static long usedHeap() {
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+  }
+}
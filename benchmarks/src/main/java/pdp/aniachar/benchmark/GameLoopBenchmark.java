@@ -0,0 +1,305 @@
+package pdp.aniachar.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import pdp.aniachar.GameSession;
+import pdp.aniachar.controller.Controller;
+import pdp.aniachar.dungeonmaster.DungeonGame;
+import pdp.aniachar.dungeonmaster.action.location.MoveAction;
+import pdp.aniachar.dungeonmaster.action.location.PickItemAction;
+import pdp.aniachar.dungeonmaster.character.player.IPlayer;
+import pdp.aniachar.dungeonmaster.gameworld.IMazeLocation;
+import pdp.aniachar.dungeonmaster.gameworld.IMazeLocationBuilder;
+import pdp.aniachar.dungeonmaster.gameworld.RandomMazeBuilder;
+import pdp.aniachar.dungeonmaster.item.Arrow;
+import pdp.aniachar.dungeonmaster.item.ShootArrowAction;
+import pdp.aniachar.gamekit.Direction;
+import pdp.aniachar.gamekit.ItemType;
+import pdp.aniachar.gamekit.PlayerActionType;
+import pdp.aniachar.view.ViewModel.IPlayerInteraction;
+import pdp.aniachar.view.ViewModel.Nouns;
+import pdp.aniachar.view.ViewModel.PlayerInteraction;
+import pdp.aniachar.view.ViewModel.Verbs;
+
+/**
+ * Latency of a single turn of the game on pre-built worlds of several sizes.
+ * The move, pick and shoot cases call {@link DungeonGame#interact} with an action chosen before
+ * the turn. The controller case hands a {@link PlayerInteraction} to
+ * {@link Controller#playerInteractionEventListener}, which also builds the view models and
+ * publishes them to a {@link HeadlessView}.
+ * The player walks at random. The work needed to keep the game playable, restarting a game that
+ * is over, moving the player to a location with items and refilling the quiver, is done before
+ * the turn and is not timed. The turns are sampled, so the output has the latency percentiles.
+ * Run with {@code -prof gc} to get the bytes allocated per turn ({@code gc.alloc.rate.norm}),
+ * e.g. {@code java -jar benchmarks.jar GameLoopBenchmark -prof gc}. The setup before a turn
+ * allocates next to nothing unless it restarts the game.
+ */
+
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class GameLoopBenchmark {
+
+  private static final Direction[] DIRECTIONS = Direction.values();
+  private static final Nouns[] DIRECTION_NOUNS = {Nouns.EAST, Nouns.NORTH, Nouns.SOUTH,
+      Nouns.WEST};
+
+  /**
+   * A game with a controller and a headless view on a world of the given size.
+   * The benchmarks reach the session through the state of the turn, as a thread state that is
+   * also injected into a benchmark method is created twice.
+   */
+
+  @State(Scope.Thread)
+  public static class Session {
+
+    @Param({"10", "100", "316"})
+    int gridSize;
+
+    @Param({"5"})
+    int percentMonsters;
+
+    @Param({"false", "true"})
+    boolean reuseViewModels;
+
+    GameSession gameSession;
+    DungeonGame game;
+    Controller controller;
+    HeadlessView view;
+    List<IMazeLocation> locationsWithItems;
+    Random random;
+
+    private int nextLocationWithItems;
+
+    /**
+     * Builds the world, the game, the controller and the view.
+     */
+
+    @Setup(Level.Trial)
+    public void buildGame() {
+      gameSession = new GameSession();
+      long numberMonsters = (long) gridSize * gridSize * percentMonsters / 100;
+      game = new DungeonGame(new RandomMazeBuilder(gridSize, gridSize, false, 0, 20,
+              numberMonsters), gameSession);
+      view = new HeadlessView(gameSession);
+      controller = new Controller(game, view, reuseViewModels, gameSession);
+      random = new Random(42);
+      locationsWithItems = new ArrayList<>();
+      IMazeLocationBuilder.visitWithin(getPlayerLocation(), Integer.MAX_VALUE,
+          (location, distance) -> {
+            if (!location.getPickItemActions().isEmpty()) {
+              locationsWithItems.add(location);
+            }
+          });
+    }
+
+    /**
+     * Starts over from a fresh game every iteration so that every iteration plays the same
+     * kind of turns.
+     */
+
+    @Setup(Level.Iteration)
+    public void restart() {
+      game.restartGame();
+      nextLocationWithItems = 0;
+    }
+
+    IPlayer getPlayer() {
+      return (IPlayer) game.getActivePlayer();
+    }
+
+    IMazeLocation getPlayerLocation() {
+      return (IMazeLocation) getPlayer().getCurrentLocation();
+    }
+
+    void keepPlayable() {
+      if (game.isGameOver()) {
+        game.restartGame();
+        nextLocationWithItems = 0;
+      }
+    }
+
+    /**
+     * Moves the player to the next location that still has items, without taking a turn.
+     * Once every location has been visited the game is restarted, which brings the items back.
+     */
+
+    void moveToItems() {
+      keepPlayable();
+      while (game.getAllPickActions().isEmpty()) {
+        if (nextLocationWithItems == locationsWithItems.size()) {
+          game.restartGame();
+          nextLocationWithItems = 0;
+        }
+        getPlayer().makeMove(locationsWithItems.get(nextLocationWithItems++));
+        // A healthy monster in the cave kills the player.
+        keepPlayable();
+      }
+    }
+
+    void fillQuiver() {
+      keepPlayable();
+      if (getPlayer().getQuiver().isEmpty()) {
+        getPlayer().assignArrow(new Arrow());
+      }
+    }
+
+    Direction randomMove() {
+      Direction direction;
+      do {
+        direction = DIRECTIONS[random.nextInt(DIRECTIONS.length)];
+      } while (getPlayerLocation().getMoveAction(direction) == null);
+      return direction;
+    }
+  }
+
+  /**
+   * A move to a random neighbour.
+   */
+
+  @State(Scope.Thread)
+  public static class NextMove {
+    Session session;
+    MoveAction moveAction;
+
+    @Setup(Level.Invocation)
+    public void choose(Session session) {
+      this.session = session;
+      session.keepPlayable();
+      moveAction = session.getPlayerLocation().getMoveAction(session.randomMove());
+    }
+  }
+
+  /**
+   * A pick of an item at the location of the player.
+   */
+
+  @State(Scope.Thread)
+  public static class NextPick {
+    Session session;
+    PickItemAction pickAction;
+
+    @Setup(Level.Invocation)
+    public void choose(Session session) {
+      this.session = session;
+      session.moveToItems();
+      Map<ItemType, PickItemAction> pickActions = session.game.getAllPickActions();
+      pickAction = pickActions.containsKey(ItemType.TREASURE)
+              ? pickActions.get(ItemType.TREASURE) : pickActions.get(ItemType.ARROW);
+    }
+  }
+
+  /**
+   * A shot of one cave in a random direction that has a path.
+   */
+
+  @State(Scope.Thread)
+  public static class NextShot {
+    Session session;
+    ShootArrowAction shootAction;
+
+    @Setup(Level.Invocation)
+    public void choose(Session session) {
+      this.session = session;
+      session.fillQuiver();
+      shootAction = session.game.getAllPlayerAction().get(PlayerActionType.SHOOT_ARROW)
+              .withDirection(session.randomMove()).withDistance(1).build();
+    }
+  }
+
+  /**
+   * A move, a pick or a shot, in the proportions of a typical game, as the view would send it.
+   */
+
+  @State(Scope.Thread)
+  public static class NextInteraction {
+    Session session;
+    IPlayerInteraction interaction;
+
+    @Setup(Level.Invocation)
+    public void choose(Session session) {
+      this.session = session;
+      int kind = session.random.nextInt(10);
+      if (kind == 0) {
+        session.fillQuiver();
+        interaction = new PlayerInteraction(Verbs.SHOOT,
+                DIRECTION_NOUNS[session.randomMove().ordinal()], 1);
+      } else if (kind == 1) {
+        session.moveToItems();
+        interaction = new PlayerInteraction(Verbs.PICK,
+                session.getPlayerLocation().getPickItemActions().containsKey(ItemType.TREASURE)
+                        ? Nouns.TREASURE : Nouns.ARROW);
+      } else {
+        session.keepPlayable();
+        interaction = new PlayerInteraction(Verbs.MOVE,
+                DIRECTION_NOUNS[session.randomMove().ordinal()]);
+      }
+    }
+  }
+
+  /**
+   * Moves the player.
+   *
+   * @return The result of the turn.
+   */
+
+  @Benchmark
+  public Optional<?> move(NextMove nextMove) {
+    return nextMove.session.game.interact(nextMove.moveAction);
+  }
+
+  /**
+   * Picks an item.
+   *
+   * @return The result of the turn.
+   */
+
+  @Benchmark
+  public Optional<?> pick(NextPick nextPick) {
+    return nextPick.session.game.interact(nextPick.pickAction);
+  }
+
+  /**
+   * Shoots an arrow.
+   *
+   * @return The result of the turn.
+   */
+
+  @Benchmark
+  public Optional<?> shoot(NextShot nextShot) {
+    return nextShot.session.game.interact(nextShot.shootAction);
+  }
+
+  /**
+   * Plays a turn through the controller, including building and publishing the view models.
+   *
+   * @return The number of renders of the view so far.
+   */
+
+  @Benchmark
+  public long controllerTurn(NextInteraction nextInteraction) {
+    Session session = nextInteraction.session;
+    session.controller.playerInteractionEventListener(nextInteraction.interaction);
+    return session.view.getRendered();
+  }
+}
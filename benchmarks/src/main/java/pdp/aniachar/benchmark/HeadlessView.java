@@ -0,0 +1,83 @@
+package pdp.aniachar.benchmark;
+
+import com.google.common.eventbus.Subscribe;
+
+import org.jetbrains.annotations.NotNull;
+
+import pdp.aniachar.GameSession;
+import pdp.aniachar.view.IView;
+import pdp.aniachar.view.ViewModel.IErrorViewModel;
+import pdp.aniachar.view.ViewModel.IEvent;
+import pdp.aniachar.view.ViewModel.ILocationViewModel;
+import pdp.aniachar.view.ViewModel.IPlayerViewModel;
+import pdp.aniachar.view.ViewModel.IQuit;
+
+/**
+ * A view that renders nothing. It subscribes to the view bus like the other views, so the
+ * controller publishes to it as it would to a screen, and it only counts what it receives.
+ */
+
+public class HeadlessView implements IView {
+
+  private long rendered;
+
+  /**
+   * Builds a headless view and registers it on the view bus of the session.
+   *
+   * @param session The session of the game the view shows.
+   */
+
+  public HeadlessView(@NotNull GameSession session) {
+    session.getViewControllerBus().register(this);
+  }
+
+  /**
+   * Gets the number of view models and events received.
+   *
+   * @return The number of renders.
+   */
+
+  public long getRendered() {
+    return rendered;
+  }
+
+  @Subscribe
+  @Override
+  public void renderPlayerViewModelListener(@NotNull IPlayerViewModel playerViewModel) {
+    rendered++;
+  }
+
+  @Subscribe
+  @Override
+  public void renderLocationViewModelListener(@NotNull ILocationViewModel locationViewModel) {
+    rendered++;
+  }
+
+  @Subscribe
+  @Override
+  public void renderEventDescriptionListener(@NotNull IEvent eventDescription) {
+    rendered++;
+  }
+
+  @Subscribe
+  @Override
+  public void renderErrorViewModelListener(@NotNull IErrorViewModel errorViewModel) {
+    rendered++;
+  }
+
+  @Override
+  public void start() {
+    // Turns are driven by the benchmark.
+  }
+
+  @Override
+  public void stop() {
+    // Nothing to stop.
+  }
+
+  @Subscribe
+  @Override
+  public void quitListener(@NotNull IQuit quit) {
+    // The benchmark decides when to stop.
+  }
+}
@@ -0,0 +1,79 @@
+package pdp.aniachar.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import pdp.aniachar.dungeonmaster.gameworld.AbstractMazeBuilder;
+import pdp.aniachar.dungeonmaster.gameworld.MazeAlgorithm;
+import pdp.aniachar.dungeonmaster.gameworld.MazeGenerationProbe;
+
+/**
+ * Speed and memory of every {@link MazeAlgorithm} when carving a grid.
+ * Only the locations and the paths are built, the post-processing is the same for every
+ * algorithm and is left out. The {@code cells} column is the number of locations carved per
+ * second. Run with {@code -prof gc} to also get the allocation rate and the bytes allocated per
+ * carved maze ({@code gc.alloc.rate.norm}), which is an upper bound of the heap a carve needs on
+ * top of the world it builds.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class MazeAlgorithmBenchmark {
+
+  @Param({"KRUSKAL", "PARALLEL_KRUSKAL", "RECURSIVE_BACKTRACKER", "WILSON", "PRIM",
+          "BINARY_TREE", "SIDEWINDER"})
+  private MazeAlgorithm algorithm;
+
+  @Param({"100", "316"})
+  private int gridSize;
+
+  @Param({"false", "true"})
+  private boolean isWrapped;
+
+  /**
+   * The number of locations carved.
+   */
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class Cells {
+    public long cells;
+
+    @Setup(Level.Iteration)
+    public void clean() {
+      cells = 0;
+    }
+  }
+
+  /**
+   * Carves a new maze.
+   *
+   * @return The number of locations in the maze.
+   */
+
+  @Benchmark
+  public int carve(Cells cells) {
+    AbstractMazeBuilder builder = (AbstractMazeBuilder) algorithm.createBuilder(gridSize,
+            gridSize, isWrapped, 0, 0, 0);
+    int carved = MazeGenerationProbe.carve(builder);
+    cells.cells += carved;
+    return carved;
+  }
+}
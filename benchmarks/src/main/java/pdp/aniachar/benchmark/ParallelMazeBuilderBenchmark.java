@@ -0,0 +1,86 @@
+package pdp.aniachar.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import pdp.aniachar.dungeonmaster.gameworld.MazeGenerationProbe;
+import pdp.aniachar.dungeonmaster.gameworld.ParallelMazeBuilder;
+import pdp.aniachar.dungeonmaster.gameworld.RandomMazeBuilder;
+
+/**
+ * Speedup of the tile-partitioned generator versus the number of threads.
+ * Only the carving of the spanning tree is measured, the single threaded
+ * {@link RandomMazeBuilder} is the baseline. The tiles are built on a pool with the given
+ * parallelism that is started once for all the iterations.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class ParallelMazeBuilderBenchmark {
+
+  @Param({"1024"})
+  private int gridSize;
+
+  @Param({"1", "2", "4", "8", "16", "32"})
+  private int parallelism;
+
+  private ForkJoinPool pool;
+
+  /**
+   * Starts the pool the tiles are built on.
+   */
+
+  @Setup
+  public void startPool() {
+    pool = new ForkJoinPool(parallelism);
+  }
+
+  /**
+   * Stops the pool the tiles are built on.
+   */
+
+  @TearDown
+  public void stopPool() {
+    pool.shutdown();
+  }
+
+  /**
+   * Carves a maze using the tile-partitioned generator.
+   *
+   * @return The number of locations in the maze.
+   */
+
+  @Benchmark
+  public int parallel() {
+    return MazeGenerationProbe.carve(new ParallelMazeBuilder(gridSize, gridSize, false, 0, 0, 0,
+            pool));
+  }
+
+  /**
+   * Carves a maze using the single threaded generator.
+   *
+   * @return The number of locations in the maze.
+   */
+
+  @Benchmark
+  public int sequential() {
+    return MazeGenerationProbe.carve(new RandomMazeBuilder(gridSize, gridSize, false, 0, 0, 0));
+  }
+}
@@ -0,0 +1,63 @@
+package pdp.aniachar.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import pdp.aniachar.dungeonmaster.gameworld.MazeGenerationProbe;
+import pdp.aniachar.dungeonmaster.gameworld.RandomMazeBuilder;
+
+/**
+ * Cost of placing the treasures and the arrows in a carved maze.
+ * A fresh maze is carved before every invocation, so only the placement is measured.
+ * With a 1000 x 1000 grid this is the 1M location world.
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class PlacementBenchmark {
+
+  @Param({"100", "316", "1000"})
+  private int gridSize;
+
+  @Param({"40"})
+  private int percentTreasure;
+
+  private RandomMazeBuilder builder;
+
+  /**
+   * Carves a new maze so that every invocation places items in an empty grid.
+   */
+
+  @Setup(Level.Invocation)
+  public void carve() {
+    builder = new RandomMazeBuilder(gridSize, gridSize, false, 0, percentTreasure, 0);
+    MazeGenerationProbe.carve(builder);
+  }
+
+  /**
+   * Places the treasures and the arrows.
+   *
+   * @return The number of caves in the maze.
+   */
+
+  @Benchmark
+  public int placeItems() {
+    return MazeGenerationProbe.placeItems(builder);
+  }
+}
@@ -0,0 +1,98 @@
+package pdp.aniachar.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import pdp.aniachar.GameSession;
+import pdp.aniachar.controller.Controller;
+import pdp.aniachar.controller.JournalReplayer;
+import pdp.aniachar.controller.SessionJournal;
+import pdp.aniachar.dungeonmaster.DungeonGame;
+import pdp.aniachar.dungeonmaster.gameworld.MazeAlgorithm;
+import pdp.aniachar.gamekit.Game;
+import pdp.aniachar.view.ViewModel.INewGameState;
+import pdp.aniachar.view.ViewModel.NewGameState;
+import pdp.aniachar.view.ViewModel.Nouns;
+import pdp.aniachar.view.ViewModel.PlayerInteraction;
+import pdp.aniachar.view.ViewModel.Verbs;
+
+/**
+ * Time to replay one recorded game with the {@link JournalReplayer}, building the world again
+ * included. The game is recorded once, on a 10 X 10 world with a few monsters, by a player who
+ * makes the given number of random moves. Replaying 10,000 games a minute needs a replay to take
+ * less than 6 milliseconds.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReplayBenchmark {
+
+  private static final Nouns[] DIRECTIONS = {Nouns.NORTH, Nouns.SOUTH, Nouns.EAST, Nouns.WEST};
+
+  @Param({"100", "1000"})
+  public int interactions;
+
+  private byte[] journal;
+
+  /**
+   * Records the game that is replayed.
+   *
+   * @throws IOException If the journal cannot be written.
+   */
+
+  @Setup
+  public void recordGame() throws IOException {
+    INewGameState world = NewGameState.builder().maxRows(10).maxCols(10).isWrapped(false)
+            .degreeOfInterConnection(0).percentTreasure(20).numberMonsters(2).build();
+    GameSession session = new GameSession(1L);
+    Game game = new DungeonGame(MazeAlgorithm.KRUSKAL.createBuilder(world.getMaxRows(),
+            world.getMaxCols(), world.getIsWrapped(), world.getDegreeOfInterConnection(),
+            world.getPercentTreasure(), world.getNumberMonsters()), session);
+    Controller controller = new Controller(game, new HeadlessView(session), true, session);
+    Path file = Files.createTempFile("replay-", ".journal");
+    Files.delete(file);
+    try (SessionJournal sessionJournal = new SessionJournal(file, session.getSeed(),
+            MazeAlgorithm.KRUSKAL, world)) {
+      controller.setJournal(sessionJournal);
+      Random random = new Random(7);
+      for (int i = 0; i < interactions; i++) {
+        controller.playerInteractionEventListener(
+                new PlayerInteraction(Verbs.MOVE, DIRECTIONS[random.nextInt(DIRECTIONS.length)]));
+      }
+    }
+    journal = Files.readAllBytes(file);
+    Files.delete(file);
+  }
+
+  /**
+   * Replays the recorded game.
+   *
+   * @return The game at the end of the replay.
+   * @throws IOException Never, the journal is in memory.
+   */
+
+  @Benchmark
+  public Game replay() throws IOException {
+    return JournalReplayer.replay(new ByteArrayInputStream(journal));
+  }
+}
@@ -0,0 +1,194 @@
+package pdp.aniachar.benchmark;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import pdp.aniachar.dungeonmaster.comm.EventContainer;
+import pdp.aniachar.dungeonmaster.gameworld.IMazeLocation;
+import pdp.aniachar.dungeonmaster.gameworld.MazeGenerationProbe;
+import pdp.aniachar.dungeonmaster.gameworld.RandomMazeBuilder;
+import pdp.aniachar.gamekit.GameWorld;
+
+/**
+ * Cost of every phase of {@link RandomMazeBuilder#buildWorld()} and of the whole build.
+ * Every phase is measured on its own: the phases before it are run in a setup before every
+ * invocation, so a phase always starts from the state {@code buildWorld()} leaves it in.
+ * Both the throughput and the average time are reported. Run with {@code -prof gc} to get the
+ * allocation rate and the bytes allocated by every phase ({@code gc.alloc.rate.norm}), e.g.
+ * {@code java -jar benchmarks.jar WorldGenerationBenchmark -prof gc}.
+ */
+
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class WorldGenerationBenchmark {
+
+  /**
+   * The specification of the world.
+   */
+
+  @State(Scope.Benchmark)
+  public static class Spec {
+    @Param({"100", "316"})
+    int maxRows;
+
+    @Param({"100", "316"})
+    int maxCols;
+
+    @Param({"false", "true"})
+    boolean isWrapped;
+
+    @Param({"0", "100"})
+    int degreeOfInterConnection;
+
+    @Param({"20"})
+    int percentTreasure;
+
+    @Param({"0", "100"})
+    long numberMonsters;
+
+    RandomMazeBuilder newBuilder() {
+      EventContainer.reset();
+      return new RandomMazeBuilder(maxRows, maxCols, isWrapped, degreeOfInterConnection,
+              percentTreasure, numberMonsters);
+    }
+  }
+
+  /**
+   * A builder whose locations have been built.
+   */
+
+  @State(Scope.Thread)
+  public static class WithNodes {
+    RandomMazeBuilder builder;
+
+    @Setup(Level.Invocation)
+    public void prepare(Spec spec) {
+      builder = spec.newBuilder();
+      MazeGenerationProbe.buildNodes(builder);
+    }
+  }
+
+  /**
+   * A builder whose grid has been carved, with its caves and its start and end.
+   */
+
+  @State(Scope.Thread)
+  public static class Carved {
+    RandomMazeBuilder builder;
+    int[] caves;
+    Pair<IMazeLocation, IMazeLocation> startAndEnd;
+
+    @Setup(Level.Invocation)
+    public void prepare(Spec spec) {
+      builder = spec.newBuilder();
+      MazeGenerationProbe.carve(builder);
+      caves = MazeGenerationProbe.findCaves(builder);
+      startAndEnd = MazeGenerationProbe.selectStartAndEnd(builder, caves);
+    }
+  }
+
+  /**
+   * Builds the whole world.
+   *
+   * @return The world.
+   */
+
+  @Benchmark
+  public GameWorld buildWorld(Spec spec) {
+    return spec.newBuilder().buildWorld();
+  }
+
+  /**
+   * Builds the locations of the grid.
+   *
+   * @return The number of locations.
+   */
+
+  @Benchmark
+  public int nodes(Spec spec) {
+    return MazeGenerationProbe.buildNodes(spec.newBuilder());
+  }
+
+  /**
+   * Lists every possible path of the grid.
+   *
+   * @return The edges.
+   */
+
+  @Benchmark
+  public int[] edges(WithNodes withNodes) {
+    return MazeGenerationProbe.enumerateEdges(withNodes.builder);
+  }
+
+  /**
+   * Carves the spanning tree and adds the extra paths. This includes listing the edges.
+   *
+   * @return The number of locations.
+   */
+
+  @Benchmark
+  public int spanningTree(WithNodes withNodes) {
+    return MazeGenerationProbe.buildSpanningTree(withNodes.builder);
+  }
+
+  /**
+   * Finds the caves and picks the start and the end.
+   *
+   * @return The start and the end.
+   */
+
+  @Benchmark
+  public Pair<IMazeLocation, IMazeLocation> startAndEnd(Carved carved) {
+    return MazeGenerationProbe.selectStartAndEnd(carved.builder,
+            MazeGenerationProbe.findCaves(carved.builder));
+  }
+
+  /**
+   * Places the treasures.
+   *
+   * @return The number of caves.
+   */
+
+  @Benchmark
+  public int treasure(Carved carved) {
+    return MazeGenerationProbe.placeTreasure(carved.builder, carved.caves);
+  }
+
+  /**
+   * Places the monsters.
+   *
+   * @return The number of caves.
+   */
+
+  @Benchmark
+  public int monsters(Carved carved) {
+    return MazeGenerationProbe.placeMonsters(carved.builder, carved.caves, carved.startAndEnd);
+  }
+
+  /**
+   * Places the arrows.
+   *
+   * @return The number of locations.
+   */
+
+  @Benchmark
+  public int arrows(Carved carved) {
+    return MazeGenerationProbe.placeArrows(carved.builder);
+  }
+}
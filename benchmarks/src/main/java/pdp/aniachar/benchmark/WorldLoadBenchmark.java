@@ -0,0 +1,81 @@
+package pdp.aniachar.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import pdp.aniachar.GameSession;
+import pdp.aniachar.dungeonmaster.gameworld.CompactMaze;
+import pdp.aniachar.dungeonmaster.gameworld.CompactMazeBuilder;
+import pdp.aniachar.dungeonmaster.gameworld.MappedWorldBuilder;
+import pdp.aniachar.dungeonmaster.gameworld.WorldFile;
+import pdp.aniachar.gamekit.GameWorld;
+
+/**
+ * Time to open a saved {@link CompactMaze} with the {@link MappedWorldBuilder} versus building
+ * the same maze again with the {@link CompactMazeBuilder}. The world is saved once, with a
+ * treasure in a fifth of the caves.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class WorldLoadBenchmark {
+
+  @Param({"1000", "3162"})
+  public int gridSize;
+
+  private Path file;
+
+  /**
+   * Builds and saves the world that is loaded.
+   *
+   * @throws IOException If the world cannot be saved.
+   */
+
+  @Setup
+  public void saveWorld() throws IOException {
+    file = Files.createTempFile("world-", ".world");
+    Files.delete(file);
+    WorldFile.save((CompactMaze) new CompactMazeBuilder(gridSize, gridSize, 20)
+            .buildWorld(new GameSession(1L)), file);
+  }
+
+  /**
+   * Deletes the saved world.
+   *
+   * @throws IOException If the world cannot be deleted.
+   */
+
+  @TearDown
+  public void deleteWorld() throws IOException {
+    Files.delete(file);
+  }
+
+  @Benchmark
+  public GameWorld load() {
+    return new MappedWorldBuilder(file).buildWorld(new GameSession(1L));
+  }
+
+  @Benchmark
+  public GameWorld generate() {
+    return new CompactMazeBuilder(gridSize, gridSize, 20).buildWorld(new GameSession(1L));
+  }
+}
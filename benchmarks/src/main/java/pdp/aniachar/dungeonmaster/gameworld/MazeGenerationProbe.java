@@ -0,0 +1,143 @@
+package pdp.aniachar.dungeonmaster.gameworld;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.SplittableRandom;
+
+/**
+ * Gives the benchmarks access to the individual phases of an {@link AbstractMazeBuilder}.
+ * This lives in the same package as the builders so that the protected phases can be called
+ * without making them part of the public API.
+ */
+
+public final class MazeGenerationProbe {
+
+  private MazeGenerationProbe() {
+  }
+
+  /**
+   * Builds the locations of the grid and carves the paths between them.
+   *
+   * @param builder The builder to use.
+   * @return The number of locations in the grid.
+   */
+
+  public static int carve(AbstractMazeBuilder builder) {
+    builder.buildNodes();
+    builder.buildMaze();
+    return builder.grid.length;
+  }
+
+  /**
+   * Builds the locations of the grid without any paths.
+   *
+   * @param builder The builder to use.
+   * @return The number of locations in the grid.
+   */
+
+  public static int buildNodes(AbstractMazeBuilder builder) {
+    builder.buildNodes();
+    return builder.grid.length;
+  }
+
+  /**
+   * Carves the paths between the locations of a grid whose locations have been built, see
+   * {@link #buildNodes(AbstractMazeBuilder)}.
+   *
+   * @param builder The builder to use.
+   * @return The number of locations in the grid.
+   */
+
+  public static int buildSpanningTree(AbstractMazeBuilder builder) {
+    builder.buildMaze();
+    return builder.grid.length;
+  }
+
+  /**
+   * Lists every possible path of the grid.
+   *
+   * @param builder The builder to use.
+   * @return The encoded edges.
+   */
+
+  public static int[] enumerateEdges(AbstractMazeBuilder builder) {
+    return builder.buildAllPossibleEdges();
+  }
+
+  /**
+   * Finds the caves of a carved grid.
+   *
+   * @param builder The builder used to carve the grid.
+   * @return The row-major indices of the caves.
+   */
+
+  public static int[] findCaves(AbstractMazeBuilder builder) {
+    return builder.findCaves();
+  }
+
+  /**
+   * Picks the start and the end of a carved grid.
+   *
+   * @param builder The builder used to carve the grid.
+   * @param caves   The caves of the grid, see {@link #findCaves(AbstractMazeBuilder)}.
+   * @return The start and the end.
+   */
+
+  public static Pair<IMazeLocation, IMazeLocation> selectStartAndEnd(AbstractMazeBuilder builder,
+                                                                     int[] caves) {
+    return builder.getStartingEndPoint(caves, CaveGraph.build(builder.grid[0]));
+  }
+
+  /**
+   * Places the treasures in the caves of a carved grid.
+   *
+   * @param builder The builder used to carve the grid.
+   * @param caves   The caves of the grid. The array is reordered.
+   * @return The number of caves.
+   */
+
+  public static int placeTreasure(AbstractMazeBuilder builder, int[] caves) {
+    builder.addTreasure(caves, new SplittableRandom());
+    return caves.length;
+  }
+
+  /**
+   * Places the arrows in a carved grid.
+   *
+   * @param builder The builder used to carve the grid.
+   * @return The number of locations in the grid.
+   */
+
+  public static int placeArrows(AbstractMazeBuilder builder) {
+    builder.addArrows(new SplittableRandom());
+    return builder.grid.length;
+  }
+
+  /**
+   * Places the monsters in the caves of a carved grid.
+   *
+   * @param builder     The builder used to carve the grid.
+   * @param caves       The caves of the grid.
+   * @param startAndEnd The start and the end of the grid.
+   * @return The number of caves.
+   */
+
+  public static int placeMonsters(AbstractMazeBuilder builder, int[] caves,
+                                  Pair<IMazeLocation, IMazeLocation> startAndEnd) {
+    builder.placeMonsters(caves, startAndEnd.getLeft(), startAndEnd.getRight());
+    return caves.length;
+  }
+
+  /**
+   * Places the treasures and the arrows in a grid that has already been carved.
+   *
+   * @param builder The builder used to carve the grid, see {@link #carve(AbstractMazeBuilder)}.
+   * @return The number of caves in the grid.
+   */
+
+  public static int placeItems(AbstractMazeBuilder builder) {
+    int[] caves = builder.findCaves();
+    builder.placeItems(caves);
+    return caves.length;
+  }
+}
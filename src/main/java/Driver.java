@@ -1,20 +1,24 @@
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.nio.file.Path;
 import java.util.concurrent.Callable;
 import java.util.logging.FileHandler;
 import java.util.logging.Logger;
 
+import pdp.aniachar.GameSession;
 import pdp.aniachar.controller.CommandLineParser;
 import pdp.aniachar.controller.Controller;
-import pdp.aniachar.controller.IController;
+import pdp.aniachar.controller.JournalReplayer;
+import pdp.aniachar.controller.SessionJournal;
 import pdp.aniachar.dungeonmaster.DungeonGame;
-import pdp.aniachar.dungeonmaster.gameworld.RandomMazeBuilder;
+import pdp.aniachar.dungeonmaster.gameworld.MazeAlgorithm;
 import pdp.aniachar.gamekit.Game;
 import pdp.aniachar.gamekit.WorldBuildStrategy;
 import pdp.aniachar.view.GraphicUserInterface.SwingView;
 import pdp.aniachar.view.IView;
 import pdp.aniachar.view.TextView;
+import pdp.aniachar.view.ViewModel.NewGameState;
 import picocli.CommandLine;
 
 /**
@@ -59,6 +63,10 @@ public class Driver {
             description = "Number of monsters in the game.")
     private int numberMonsters;
 
+    @CommandLine.Option(names = {"-alg", "--algorithm"}, defaultValue = "KRUSKAL",
+            description = "Algorithm used to carve the maze: ${COMPLETION-CANDIDATES}.")
+    private MazeAlgorithm algorithm;
+
     @CommandLine.Option(names = {"-cli"},
             description = "Runs the CLI implementation of the game.")
     private boolean isCli;
@@ -67,6 +75,18 @@ public class Driver {
             description = "Debug mode.")
     private boolean debug;
 
+    @CommandLine.Option(names = {"-s", "--seed"},
+            description = "Seed of the game. A random seed is used if none is given.")
+    private Long seed;
+
+    @CommandLine.Option(names = {"-j", "--journal"},
+            description = "Records the game to this new file so that it can be replayed.")
+    private Path journal;
+
+    @CommandLine.Option(names = {"-r", "--replay"}, arity = "1..*",
+            description = "Replays the recorded games without a view and exits.")
+    private Path[] replays;
+
     @Override
     public Integer call() {
       if (!debug) {
@@ -79,17 +99,46 @@ public class Driver {
         }
       }
 
-      WorldBuildStrategy buildStrategy = new RandomMazeBuilder(maxRows, maxCols, isWrapped,
+      if (replays != null) {
+        long start = System.nanoTime();
+        for (Path replay : replays) {
+          try {
+            JournalReplayer.replay(replay);
+          } catch (IOException e) {
+            System.err.printf("Could not replay %s: %s%n", replay, e.getMessage());
+            return 1;
+          }
+        }
+        System.out.printf("Replayed %d games in %d ms%n", replays.length,
+                (System.nanoTime() - start) / 1_000_000);
+        return 0;
+      }
+
+      GameSession session = seed == null ? new GameSession() : new GameSession(seed);
+      WorldBuildStrategy buildStrategy = algorithm.createBuilder(maxRows, maxCols, isWrapped,
               degreeOfInterConnections, percentTreasure, numberMonsters);
-      Game model = new DungeonGame(buildStrategy);
+      Game model = new DungeonGame(buildStrategy, session);
       IView view;
       if (isCli) {
         view = new TextView(System.out, new InputStreamReader(System.in),
-                new CommandLineParser());
+                new CommandLineParser(), session);
       } else {
-        view = new SwingView(maxRows, maxCols);
+        view = new SwingView(maxRows, maxCols, session);
+      }
+      Controller controller = new Controller(model, view, false, session);
+      controller.setAlgorithm(algorithm);
+      if (journal != null) {
+        try {
+          controller.setJournal(new SessionJournal(journal, session.getSeed(), algorithm,
+                  NewGameState.builder().maxRows(maxRows).maxCols(maxCols).isWrapped(isWrapped)
+                          .degreeOfInterConnection(degreeOfInterConnections)
+                          .percentTreasure(percentTreasure).numberMonsters(numberMonsters)
+                          .build()));
+        } catch (IOException e) {
+          System.err.printf("Could not create the journal %s: %s%n", journal, e.getMessage());
+          return 1;
+        }
       }
-      IController controller = new Controller(model, view);
       controller.start();
       return 0;
     }
@@ -1,17 +1,15 @@
 package pdp.aniachar;
 
-import com.google.common.eventbus.EventBus;
-
 /**
  * A communications bus for communication between various Mode <--> Controller or
  * controller <--> View.
- * Communication happens over EventBus and the model, view and controller are expected to
+ * Communication happens over EventDispatcher and the model, view and controller are expected to
  * subscribe to some specific events.
+ * These are the buses of the default {@link GameSession}. Games that share a process should
+ * each be given their own session instead.
  */
 
 public class Communication {
-  private static EventBus controllerModelBus;
-  private static EventBus controllerViewBus;
 
   /**
    * Gets the Event bus for communication between the Controller and Model.
@@ -20,11 +18,8 @@ public class Communication {
    * @return The event bus for communication between the model and controller.
    */
 
-  public static EventBus getModelControllerBus() {
-    if (controllerModelBus == null) {
-      controllerModelBus = new EventBus();
-    }
-    return controllerModelBus;
+  public static EventDispatcher getModelControllerBus() {
+    return GameSession.getDefault().getModelControllerBus();
   }
 
   /**
@@ -34,11 +29,8 @@ public class Communication {
    * @return The event bus for communication between the model and controller.
    */
 
-  public static EventBus getViewControllerBus() {
-    if (controllerViewBus == null) {
-      controllerViewBus = new EventBus();
-    }
-    return controllerViewBus;
+  public static EventDispatcher getViewControllerBus() {
+    return GameSession.getDefault().getViewControllerBus();
   }
 
   /**
@@ -46,7 +38,6 @@ public class Communication {
    */
 
   public static void reset() {
-    controllerViewBus = null;
-    controllerModelBus = null;
+    GameSession.getDefault().resetControllerBuses();
   }
 }
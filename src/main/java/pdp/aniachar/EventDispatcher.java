@@ -0,0 +1,604 @@
+package pdp.aniachar;
+
+import com.google.common.eventbus.DeadEvent;
+import com.google.common.eventbus.Subscribe;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+
+import lombok.extern.flogger.Flogger;
+
+/**
+ * Dispatches events to the methods of the listeners that are annotated with {@link Subscribe}.
+ * It is a drop in replacement for the Guava {@link com.google.common.eventbus.EventBus} and keeps
+ * its behaviour:
+ * <ul>
+ *   <li>A subscriber receives every event that is an instance of the type of its parameter,
+ *   subscribers of the class of the event first and then those of its super types.</li>
+ *   <li>Events that are posted while an event is dispatched are queued and dispatched, in the
+ *   order they were posted, once every subscriber has received the current event.</li>
+ *   <li>The subscribers of an event are fixed when the event is posted, so a listener that is
+ *   registered or unregistered by a subscriber does not change who receives that event.</li>
+ *   <li>Registering a listener twice has no effect, unregistering a listener that is not
+ *   registered is an error.</li>
+ *   <li>An exception or an error thrown by a subscriber is logged and the event is still
+ *   dispatched to the other subscribers, as are the events queued after it. An event without
+ *   subscribers is posted again as a {@link DeadEvent}.</li>
+ * </ul>
+ * The cost is moved from posting to registering. The annotated methods of a class are found once
+ * and each is turned into an {@link Invoker} generated by the {@link LambdaMetafactory}, so a
+ * subscriber is called with an interface call instead of reflection. The subscribers of an event
+ * class, including those of its super types, are flattened into an array the first time the
+ * class is posted and the array is kept until a listener is registered or unregistered. A post
+ * in the steady state is a map lookup and a loop over an array and does not allocate.
+ * A listener that only cares about what happens at its own location, like a monster, can be
+ * registered for a cell using {@link #registerAt(Object, long)}. Its subscribers of
+ * {@link LocatedEvent}s are then kept in a table indexed by the cell id and only receive the
+ * events of that cell, after the subscribers that are registered for every event. Posting a
+ * located event costs the same however many listeners are registered at other cells.
+ * Registering and posting may happen on any thread. Unlike the Guava bus, calls to a subscriber
+ * are not synchronized, as every event of a game is posted on one thread.
+ */
+
+@Flogger
+public final class EventDispatcher {
+
+  private static final ClassValue<SubscriberMethod[]> SUBSCRIBER_METHODS = new ClassValue<>() {
+    @Override
+    protected SubscriberMethod[] computeValue(@NotNull Class<?> type) {
+      return findSubscriberMethods(type);
+    }
+  };
+
+  private static final ClassValue<Class<?>[]> EVENT_TYPES = new ClassValue<>() {
+    @Override
+    protected Class<?>[] computeValue(@NotNull Class<?> type) {
+      return flattenHierarchy(type);
+    }
+  };
+
+  private static final Subscriber[] NO_SUBSCRIBERS = new Subscriber[0];
+
+  private final Map<Class<?>, List<Subscriber>> subscribersByType = new HashMap<>();
+  private final Map<Object, Subscriber[]> registeredListeners = new IdentityHashMap<>();
+  private final Map<Class<?>, Subscriber[]> dispatchCache = new ConcurrentHashMap<>();
+  private final StampedLock cellLock = new StampedLock();
+  private final CellTable cellSubscribers = new CellTable();
+  private final ThreadLocal<DispatchQueue> dispatchQueue =
+          ThreadLocal.withInitial(DispatchQueue::new);
+
+  /**
+   * Registers all the subscriber methods of the listener.
+   *
+   * @param listener The object whose {@link Subscribe} methods should receive events.
+   * @throws IllegalArgumentException if a subscriber method does not take exactly one object.
+   */
+
+  public synchronized void register(@NotNull Object listener) {
+    register(listener, 0, false);
+  }
+
+  /**
+   * Registers all the subscriber methods of a listener that lives at a single location.
+   * The methods that take a {@link LocatedEvent} only receive the events that happen at the
+   * given cell, the other methods receive every event as with {@link #register(Object)}.
+   * A listener that moves should be unregistered and registered at its new cell.
+   *
+   * @param listener The object whose {@link Subscribe} methods should receive events.
+   * @param cellId   The {@link pdp.aniachar.dungeonmaster.gameworld.CellId} of the location of
+   *                 the listener.
+   * @throws IllegalArgumentException if a subscriber method does not take exactly one object.
+   */
+
+  public synchronized void registerAt(@NotNull Object listener, long cellId) {
+    register(listener, cellId, true);
+  }
+
+  private void register(Object listener, long cellId, boolean atCell) {
+    if (registeredListeners.containsKey(listener)) {
+      return;
+    }
+    SubscriberMethod[] methods = SUBSCRIBER_METHODS.get(listener.getClass());
+    Subscriber[] subscribers = new Subscriber[methods.length];
+    boolean changedEveryEvent = false;
+    for (int i = 0; i < methods.length; i++) {
+      boolean located = atCell && LocatedEvent.class.isAssignableFrom(methods[i].eventType);
+      subscribers[i] = new Subscriber(listener, methods[i], located, cellId);
+      if (located) {
+        changeCell(cellId, subscribers[i], true);
+      } else {
+        subscribersByType.computeIfAbsent(methods[i].eventType, type -> new ArrayList<>())
+                .add(subscribers[i]);
+        changedEveryEvent = true;
+      }
+    }
+    registeredListeners.put(listener, subscribers);
+    if (changedEveryEvent) {
+      dispatchCache.clear();
+    }
+  }
+
+  /**
+   * Unregisters all the subscriber methods of the listener.
+   *
+   * @param listener The object that should no longer receive events.
+   * @throws IllegalArgumentException if the listener is not registered.
+   */
+
+  public synchronized void unregister(@NotNull Object listener) {
+    Subscriber[] subscribers = registeredListeners.remove(listener);
+    if (subscribers == null) {
+      throw new IllegalArgumentException(String.format(
+              "missing event subscriber for an annotated method. Is %s registered?", listener));
+    }
+    for (Subscriber subscriber : subscribers) {
+      if (subscriber.located) {
+        changeCell(subscriber.cellId, subscriber, false);
+        continue;
+      }
+      List<Subscriber> ofType = subscribersByType.get(subscriber.method.eventType);
+      ofType.remove(subscriber);
+      if (ofType.isEmpty()) {
+        subscribersByType.remove(subscriber.method.eventType);
+      }
+    }
+    dispatchCache.clear();
+  }
+
+  /**
+   * Posts an event to all the subscribers of its type and of its super types.
+   * If an event is already being dispatched on this thread, the event is dispatched once the
+   * current one is done.
+   *
+   * @param event The event to post.
+   */
+
+  public void post(@NotNull Object event) {
+    Subscriber[] subscribers = getSubscribers(event.getClass());
+    Subscriber[] atCell = event instanceof LocatedEvent && ((LocatedEvent) event).hasCell()
+            ? getCellSubscribers(((LocatedEvent) event).getCellId()) : NO_SUBSCRIBERS;
+    if (subscribers.length == 0 && !anyReceives(atCell, event)) {
+      // A dead event nobody listens to cannot be seen, so it is not created.
+      if (!(event instanceof DeadEvent) && getSubscribers(DeadEvent.class).length > 0) {
+        post(new DeadEvent(this, event));
+      }
+      return;
+    }
+    DispatchQueue queue = dispatchQueue.get();
+    queue.add(event, subscribers, atCell);
+    if (queue.dispatching) {
+      return;
+    }
+    queue.dispatching = true;
+    try {
+      while (!queue.isEmpty()) {
+        Subscriber[] next = queue.peekSubscribers();
+        Subscriber[] nextAtCell = queue.peekCellSubscribers();
+        Object nextEvent = queue.poll();
+        for (Subscriber subscriber : next) {
+          subscriber.dispatch(nextEvent);
+        }
+        for (Subscriber subscriber : nextAtCell) {
+          if (subscriber.receives(nextEvent)) {
+            subscriber.dispatch(nextEvent);
+          }
+        }
+      }
+    } finally {
+      queue.dispatching = false;
+      queue.clear();
+    }
+  }
+
+  private static boolean anyReceives(Subscriber[] subscribers, Object event) {
+    for (Subscriber subscriber : subscribers) {
+      if (subscriber.receives(event)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Gets the subscribers registered at a cell. The table is read without taking the lock and
+   * read again under the lock only if it was changed while it was read.
+   */
+
+  private Subscriber[] getCellSubscribers(long cellId) {
+    long stamp = cellLock.tryOptimisticRead();
+    Subscriber[] subscribers = cellSubscribers.get(cellId);
+    if (!cellLock.validate(stamp)) {
+      stamp = cellLock.readLock();
+      try {
+        subscribers = cellSubscribers.get(cellId);
+      } finally {
+        cellLock.unlockRead(stamp);
+      }
+    }
+    return subscribers == null ? NO_SUBSCRIBERS : subscribers;
+  }
+
+  /**
+   * Adds a subscriber to or removes it from a cell. The array of the cell is replaced and not
+   * changed, so events that were already posted keep the subscribers they were posted to.
+   */
+
+  private void changeCell(long cellId, Subscriber subscriber, boolean add) {
+    long stamp = cellLock.writeLock();
+    try {
+      Subscriber[] current = cellSubscribers.get(cellId);
+      if (current == null) {
+        current = NO_SUBSCRIBERS;
+      }
+      Subscriber[] changed;
+      if (add) {
+        changed = Arrays.copyOf(current, current.length + 1);
+        changed[current.length] = subscriber;
+      } else {
+        changed = new Subscriber[current.length - 1];
+        int next = 0;
+        for (Subscriber other : current) {
+          if (other != subscriber) {
+            changed[next++] = other;
+          }
+        }
+      }
+      cellSubscribers.put(cellId, changed);
+    } finally {
+      cellLock.unlockWrite(stamp);
+    }
+  }
+
+  private Subscriber[] getSubscribers(Class<?> eventClass) {
+    Subscriber[] subscribers = dispatchCache.get(eventClass);
+    return subscribers != null ? subscribers : resolveSubscribers(eventClass);
+  }
+
+  /**
+   * Flattens the subscribers of the event class and of its super types into one array. This is
+   * done while holding the lock, so an array that is put in the cache is never older than the
+   * last change of the listeners.
+   */
+
+  private synchronized Subscriber[] resolveSubscribers(Class<?> eventClass) {
+    List<Subscriber> subscribers = new ArrayList<>();
+    for (Class<?> type : EVENT_TYPES.get(eventClass)) {
+      List<Subscriber> ofType = subscribersByType.get(type);
+      if (ofType != null) {
+        subscribers.addAll(ofType);
+      }
+    }
+    Subscriber[] result = subscribers.isEmpty() ? NO_SUBSCRIBERS
+            : subscribers.toArray(new Subscriber[0]);
+    dispatchCache.put(eventClass, result);
+    return result;
+  }
+
+  private static SubscriberMethod[] findSubscriberMethods(Class<?> listenerClass) {
+    // Keyed by the signature so that a method annotated in a super type and overridden is
+    // called once.
+    Map<List<Object>, SubscriberMethod> methods = new HashMap<>();
+    List<SubscriberMethod> ordered = new ArrayList<>();
+    for (Class<?> type : flattenHierarchy(listenerClass)) {
+      for (Method method : type.getDeclaredMethods()) {
+        if (!method.isAnnotationPresent(Subscribe.class) || method.isSynthetic()) {
+          continue;
+        }
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        if (parameterTypes.length != 1 || parameterTypes[0].isPrimitive()) {
+          throw new IllegalArgumentException(String.format(
+                  "Method %s has @Subscribe annotation but has %d parameters. Subscriber methods "
+                          + "must have exactly 1 parameter of an object type.",
+                  method, parameterTypes.length));
+        }
+        List<Object> signature = Arrays.asList(method.getName(), parameterTypes[0]);
+        if (!methods.containsKey(signature)) {
+          SubscriberMethod subscriberMethod = new SubscriberMethod(parameterTypes[0],
+                  createInvoker(listenerClass, method));
+          methods.put(signature, subscriberMethod);
+          ordered.add(subscriberMethod);
+        }
+      }
+    }
+    return ordered.toArray(new SubscriberMethod[0]);
+  }
+
+  /**
+   * Generates an {@link Invoker} that calls the method on a listener. A method that cannot be
+   * linked by the {@link LambdaMetafactory}, for example because the class that declares it is
+   * not visible to the listener class, is called through a method handle instead.
+   */
+
+  private static Invoker createInvoker(Class<?> listenerClass, Method method) {
+    MethodHandle target;
+    MethodHandles.Lookup lookup;
+    try {
+      lookup = MethodHandles.privateLookupIn(listenerClass, MethodHandles.lookup());
+      if (!Modifier.isPublic(method.getModifiers())) {
+        method.setAccessible(true);
+      }
+      target = lookup.unreflect(method);
+    } catch (IllegalAccessException | RuntimeException e) {
+      throw new IllegalArgumentException(String.format("Cannot call subscriber %s", method), e);
+    }
+    try {
+      CallSite callSite = LambdaMetafactory.metafactory(lookup, "invoke",
+              MethodType.methodType(Invoker.class),
+              MethodType.methodType(void.class, Object.class, Object.class), target,
+              MethodType.methodType(void.class, method.getDeclaringClass(),
+                      method.getParameterTypes()[0]));
+      return (Invoker) callSite.getTarget().invokeExact();
+    } catch (Throwable e) {
+      log.atFine().withCause(e).log("Falling back to a method handle for %s", method);
+      MethodHandle generic = target.asType(
+              MethodType.methodType(void.class, Object.class, Object.class));
+      return (listener, event) -> {
+        try {
+          generic.invokeExact(listener, event);
+        } catch (RuntimeException | Error error) {
+          throw error;
+        } catch (Throwable throwable) {
+          throw new IllegalStateException(throwable);
+        }
+      };
+    }
+  }
+
+  /**
+   * Lists a class, its super classes and all the interfaces they implement, every type once and
+   * every type before its super types.
+   */
+
+  private static Class<?>[] flattenHierarchy(Class<?> type) {
+    Set<Class<?>> types = new LinkedHashSet<>();
+    for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+      types.add(current);
+    }
+    List<Class<?>> pending = new ArrayList<>(types);
+    for (int i = 0; i < pending.size(); i++) {
+      for (Class<?> implemented : pending.get(i).getInterfaces()) {
+        if (types.add(implemented)) {
+          pending.add(implemented);
+        }
+      }
+    }
+    return types.toArray(new Class<?>[0]);
+  }
+
+  /**
+   * Calls a subscriber method on a listener.
+   */
+
+  @FunctionalInterface
+  public interface Invoker {
+
+    /**
+     * Calls the subscriber method.
+     *
+     * @param listener The listener that declares the method.
+     * @param event    The event to pass to the method.
+     */
+
+    void invoke(Object listener, Object event);
+  }
+
+  /**
+   * A subscriber method of a listener class, found once per class.
+   */
+
+  private static final class SubscriberMethod {
+    private final Class<?> eventType;
+    private final Invoker invoker;
+
+    private SubscriberMethod(Class<?> eventType, Invoker invoker) {
+      this.eventType = eventType;
+      this.invoker = invoker;
+    }
+  }
+
+  /**
+   * A subscriber method bound to a registered listener.
+   */
+
+  private static final class Subscriber {
+    private final Object listener;
+    private final SubscriberMethod method;
+    private final boolean located;
+    private final long cellId;
+
+    private Subscriber(Object listener, SubscriberMethod method, boolean located, long cellId) {
+      this.listener = listener;
+      this.method = method;
+      this.located = located;
+      this.cellId = cellId;
+    }
+
+    boolean receives(Object event) {
+      return method.eventType.isInstance(event);
+    }
+
+    void dispatch(Object event) {
+      try {
+        method.invoker.invoke(listener, event);
+      } catch (Throwable e) {
+        // Subscribers may throw checked exceptions sneakily, see lombok.SneakyThrows. Errors are
+        // caught too, like the Guava bus does, so one subscriber cannot drop the queued events.
+        log.atSevere().withCause(e).log("Exception thrown by subscriber of %s on %s",
+                event.getClass().getName(), listener);
+      }
+    }
+  }
+
+  /**
+   * The events posted on a thread that are waiting to be dispatched, in a ring buffer that
+   * grows when it is full and is reused for every post.
+   */
+
+  private static final class DispatchQueue {
+    private Object[] events = new Object[8];
+    private Subscriber[][] subscribers = new Subscriber[8][];
+    private Subscriber[][] cellSubscribers = new Subscriber[8][];
+    private int head;
+    private int size;
+    private boolean dispatching;
+
+    boolean isEmpty() {
+      return size == 0;
+    }
+
+    void add(Object event, Subscriber[] eventSubscribers, Subscriber[] eventCellSubscribers) {
+      if (size == events.length) {
+        grow();
+      }
+      int tail = (head + size) & (events.length - 1);
+      events[tail] = event;
+      subscribers[tail] = eventSubscribers;
+      cellSubscribers[tail] = eventCellSubscribers;
+      size++;
+    }
+
+    Subscriber[] peekSubscribers() {
+      return subscribers[head];
+    }
+
+    Subscriber[] peekCellSubscribers() {
+      return cellSubscribers[head];
+    }
+
+    Object poll() {
+      Object event = events[head];
+      events[head] = null;
+      subscribers[head] = null;
+      cellSubscribers[head] = null;
+      head = (head + 1) & (events.length - 1);
+      size--;
+      return event;
+    }
+
+    void clear() {
+      while (size > 0) {
+        poll();
+      }
+      head = 0;
+    }
+
+    private void grow() {
+      Object[] newEvents = new Object[events.length * 2];
+      Subscriber[][] newSubscribers = new Subscriber[events.length * 2][];
+      Subscriber[][] newCellSubscribers = new Subscriber[events.length * 2][];
+      for (int i = 0; i < size; i++) {
+        newEvents[i] = events[(head + i) & (events.length - 1)];
+        newSubscribers[i] = subscribers[(head + i) & (events.length - 1)];
+        newCellSubscribers[i] = cellSubscribers[(head + i) & (events.length - 1)];
+      }
+      events = newEvents;
+      subscribers = newSubscribers;
+      cellSubscribers = newCellSubscribers;
+      head = 0;
+    }
+  }
+
+  /**
+   * The subscribers of every cell, in an open addressing table with linear probing keyed by the
+   * cell id, so looking up a cell does not box the id. Cells are never removed, a cell without
+   * subscribers keeps an empty array. The table may be read while it is changed, so a read
+   * never fails however inconsistent the table is and the caller checks that nothing changed.
+   */
+
+  private static final class CellTable {
+    private Entries entries = new Entries(16);
+    private int size;
+
+    Subscriber[] get(long cellId) {
+      Entries current = entries;
+      long[] keys = current.keys;
+      Subscriber[][] values = current.values;
+      int mask = keys.length - 1;
+      if (values.length != keys.length) {
+        return null;
+      }
+      int index = hash(cellId) & mask;
+      for (int probes = 0; probes < keys.length; probes++) {
+        Subscriber[] value = values[index];
+        if (value == null) {
+          return null;
+        }
+        if (keys[index] == cellId) {
+          return value;
+        }
+        index = (index + 1) & mask;
+      }
+      return null;
+    }
+
+    void put(long cellId, Subscriber[] subscribers) {
+      if ((size + 1) * 2 > entries.keys.length) {
+        Entries old = entries;
+        Entries grown = new Entries(old.keys.length * 2);
+        for (int i = 0; i < old.keys.length; i++) {
+          if (old.values[i] != null) {
+            grown.insert(old.keys[i], old.values[i]);
+          }
+        }
+        entries = grown;
+      }
+      if (entries.insert(cellId, subscribers)) {
+        size++;
+      }
+    }
+
+    private static int hash(long cellId) {
+      long mixed = cellId * 0x9E3779B97F4A7C15L;
+      return (int) (mixed ^ (mixed >>> 32));
+    }
+
+    /**
+     * The arrays of a table, replaced together when the table grows.
+     */
+
+    private static final class Entries {
+      private final long[] keys;
+      private final Subscriber[][] values;
+
+      Entries(int capacity) {
+        keys = new long[capacity];
+        values = new Subscriber[capacity][];
+      }
+
+      /**
+       * Sets the subscribers of a cell.
+       *
+       * @return true if the cell was not in the table.
+       */
+
+      boolean insert(long cellId, Subscriber[] subscribers) {
+        int mask = keys.length - 1;
+        int index = hash(cellId) & mask;
+        while (values[index] != null && keys[index] != cellId) {
+          index = (index + 1) & mask;
+        }
+        boolean added = values[index] == null;
+        keys[index] = cellId;
+        values[index] = subscribers;
+        return added;
+      }
+    }
+  }
+}
@@ -0,0 +1,134 @@
+package pdp.aniachar;
+
+import java.util.Random;
+
+/**
+ * The event buses of a single game.
+ * A session has a bus for communication between the model components, a bus between the model
+ * and the controller and a bus between the controller and the view. The model, the controller
+ * and the views of a game are given the same session, so games with different sessions never
+ * see each other's events and any number of games can be played in one process.
+ * A bus is replaced when it is reset, so components keep the session and get the bus from it
+ * every time they use it.
+ * The buses handed out by {@link Communication} and
+ * {@link pdp.aniachar.dungeonmaster.comm.EventContainer} are the buses of the default session,
+ * see {@link #getDefault()}. A session is not thread safe, except for the random number streams
+ * of the default session, which are shared by every component that is not given a session and
+ * so give every thread its own streams, see {@link RandomService#shared(long)}.
+ * A session also has the {@link RandomService} of its game, built from the seed of the session,
+ * so a game built and played with the same seed and the same player interactions plays out the
+ * same way, see {@link pdp.aniachar.controller.SessionJournal}.
+ */
+
+public final class GameSession {
+
+  private static final GameSession DEFAULT_SESSION =
+          new GameSession(RandomService.shared(new Random().nextLong()));
+
+  private EventDispatcher modelEventBus;
+  private EventDispatcher modelControllerBus;
+  private EventDispatcher viewControllerBus;
+  private final RandomService randomService;
+
+  /**
+   * Creates a session with new buses and a random seed.
+   */
+
+  public GameSession() {
+    this(new Random().nextLong());
+  }
+
+  /**
+   * Creates a session with new buses and the given seed.
+   *
+   * @param seed The seed of the random number streams of the session.
+   */
+
+  public GameSession(long seed) {
+    this(new RandomService(seed));
+  }
+
+  private GameSession(RandomService randomService) {
+    this.randomService = randomService;
+    resetModelEventBus();
+    resetControllerBuses();
+  }
+
+  /**
+   * Gets the session used by the components that are not given one.
+   *
+   * @return The default session.
+   */
+
+  public static GameSession getDefault() {
+    return DEFAULT_SESSION;
+  }
+
+  /**
+   * Gets the event bus used only for communication between the model components.
+   *
+   * @return The model event bus.
+   */
+
+  public EventDispatcher getModelEventBus() {
+    return modelEventBus;
+  }
+
+  /**
+   * Gets the event bus for communication between the controller and the model.
+   *
+   * @return The model controller event bus.
+   */
+
+  public EventDispatcher getModelControllerBus() {
+    return modelControllerBus;
+  }
+
+  /**
+   * Gets the event bus for communication between the controller and the view.
+   *
+   * @return The view controller event bus.
+   */
+
+  public EventDispatcher getViewControllerBus() {
+    return viewControllerBus;
+  }
+
+  /**
+   * Gets the seed the session was created with.
+   *
+   * @return The seed of the session.
+   */
+
+  public long getSeed() {
+    return randomService.getSeed();
+  }
+
+  /**
+   * Gets the source of every random choice of the game played in this session.
+   *
+   * @return The random number streams of the session.
+   */
+
+  public RandomService getRandomService() {
+    return randomService;
+  }
+
+  /**
+   * Replaces the model event bus with one that has no subscribers.
+   */
+
+  public void resetModelEventBus() {
+    modelEventBus = new EventDispatcher();
+  }
+
+  /**
+   * Replaces the model controller and the view controller buses with ones that have no
+   * subscribers.
+   */
+
+  public void resetControllerBuses() {
+    modelControllerBus = new EventDispatcher();
+    viewControllerBus = new EventDispatcher();
+  }
+}
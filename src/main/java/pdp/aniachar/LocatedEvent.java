@@ -0,0 +1,32 @@
+package pdp.aniachar;
+
+/**
+ * An event that happens at a single location of the world.
+ * A listener that only cares about one location can be registered for its cell using
+ * {@link EventDispatcher#registerAt(Object, long)}, and the event then only reaches the
+ * listeners of the cell it happens at and the listeners that are registered for every event.
+ */
+
+public interface LocatedEvent {
+
+  /**
+   * Gets the cell id of the location the event happens at, see
+   * {@link pdp.aniachar.dungeonmaster.gameworld.CellId}.
+   *
+   * @return The cell id of the location.
+   */
+
+  long getCellId();
+
+  /**
+   * Checks if the event happens at a location that has a cell id.
+   * An event that is not at a location of a maze is only dispatched to the listeners that are
+   * registered for every event, and {@link #getCellId()} is not called.
+   *
+   * @return true if the event can be routed to the listeners of its cell.
+   */
+
+  default boolean hasCell() {
+    return true;
+  }
+}
@@ -0,0 +1,143 @@
+package pdp.aniachar;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.SplittableRandom;
+
+/**
+ * The source of every random choice of a game, built from a single seed.
+ * Every part of the game that makes random choices draws from its own stream, see
+ * {@link Subsystem}, so a change in how many numbers one part draws does not change the choices
+ * of the others. A stream is a {@link SplittableRandom}, which is fast and not thread safe, so a
+ * stream of a subsystem should only be used by one thread at a time. Work that is split over
+ * several threads gets a stream for every worker, see {@link #getWorkerStream(Subsystem, int)}.
+ * The same seed always gives the same streams, so a game built and played with the same seed
+ * makes the same choices.
+ * A service that is shared by code running on any thread, like the one of the default
+ * {@link GameSession}, is created with {@link #shared(long)}. It gives every thread its own
+ * streams, so concurrent users never share the state of a generator.
+ */
+
+public final class RandomService {
+
+  private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+  private final long seed;
+  private final SplittableRandom[] streams;
+  private final SplittableRandom root;
+  private final ThreadLocal<SplittableRandom[]> threadStreams;
+
+  /**
+   * The parts of the game that make random choices.
+   */
+
+  public enum Subsystem {
+    /**
+     * Carving the paths of the maze.
+     */
+    MAZE,
+    /**
+     * Picking the start, the end and the caves of the monsters.
+     */
+    PLACEMENT,
+    /**
+     * Placing the treasures and the arrows.
+     */
+    ITEMS,
+    /**
+     * The battles between the player and the monsters.
+     */
+    BATTLE
+  }
+
+  /**
+   * Creates the streams of the given seed.
+   *
+   * @param seed The seed every stream is built from.
+   */
+
+  public RandomService(long seed) {
+    this(seed, false);
+  }
+
+  private RandomService(long seed, boolean isShared) {
+    this.seed = seed;
+    root = new SplittableRandom(seed);
+    if (isShared) {
+      streams = null;
+      threadStreams = ThreadLocal.withInitial(this::splitStreams);
+    } else {
+      streams = splitStreams();
+      threadStreams = null;
+    }
+  }
+
+  /**
+   * Creates a service that may be used from any number of threads at once.
+   * Every thread gets its own streams the first time it asks for one. The streams of the first
+   * thread are the ones {@link #RandomService(long)} gives, the choices of the threads after it
+   * depend on the order in which they ask.
+   *
+   * @param seed The seed every stream is built from.
+   * @return The service.
+   */
+
+  public static RandomService shared(long seed) {
+    return new RandomService(seed, true);
+  }
+
+  /**
+   * Gets the seed the streams are built from.
+   *
+   * @return The seed.
+   */
+
+  public long getSeed() {
+    return seed;
+  }
+
+  /**
+   * Gets the stream of a subsystem. The same stream is returned every time, or every time on the
+   * same thread for a service created with {@link #shared(long)}.
+   *
+   * @param subsystem The part of the game that makes the choices.
+   * @return The stream of the subsystem.
+   */
+
+  public SplittableRandom getStream(@NotNull Subsystem subsystem) {
+    if (threadStreams != null) {
+      return threadStreams.get()[subsystem.ordinal()];
+    }
+    return streams[subsystem.ordinal()];
+  }
+
+  /**
+   * Creates a stream for one of the workers that share the work of a subsystem.
+   * The stream only depends on the seed, the subsystem and the worker, not on the order in which
+   * the workers ask for it or on the streams handed out before, so it may be called from any
+   * thread.
+   *
+   * @param subsystem The part of the game the work belongs to.
+   * @param worker    The index of the worker, e.g. the index of the tile it builds.
+   * @return A new stream for the worker.
+   */
+
+  public SplittableRandom getWorkerStream(@NotNull Subsystem subsystem, int worker) {
+    long workerSeed = mix(seed + GOLDEN_GAMMA * (subsystem.ordinal() + 1));
+    return new SplittableRandom(mix(workerSeed + GOLDEN_GAMMA * (worker + 1L)));
+  }
+
+  private synchronized SplittableRandom[] splitStreams() {
+    Subsystem[] subsystems = Subsystem.values();
+    SplittableRandom[] result = new SplittableRandom[subsystems.length];
+    for (Subsystem subsystem : subsystems) {
+      result[subsystem.ordinal()] = root.split();
+    }
+    return result;
+  }
+
+  private static long mix(long value) {
+    value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+    value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+    return value ^ (value >>> 31);
+  }
+}
@@ -5,23 +5,24 @@ import com.google.common.eventbus.Subscribe;
 import org.apache.commons.lang3.tuple.MutablePair;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import lombok.SneakyThrows;
-import pdp.aniachar.Communication;
+import pdp.aniachar.GameSession;
 import pdp.aniachar.dungeonmaster.DungeonGame;
 import pdp.aniachar.dungeonmaster.character.monster.Otyughs;
 import pdp.aniachar.dungeonmaster.comm.CallEvent;
 import pdp.aniachar.dungeonmaster.comm.DeathEvent;
-import pdp.aniachar.dungeonmaster.comm.EventContainer;
 import pdp.aniachar.dungeonmaster.comm.GameOverEvent;
 import pdp.aniachar.dungeonmaster.comm.HitTakenEvent;
 import pdp.aniachar.dungeonmaster.comm.PlayerDeathEvent;
+import pdp.aniachar.dungeonmaster.comm.TurnResult;
+import pdp.aniachar.dungeonmaster.gameworld.MazeAlgorithm;
 import pdp.aniachar.dungeonmaster.gameworld.MazeLocation;
-import pdp.aniachar.dungeonmaster.gameworld.RandomMazeBuilder;
 import pdp.aniachar.gamekit.Direction;
 import pdp.aniachar.gamekit.Game;
 import pdp.aniachar.gamekit.ImmutableCharacter;
@@ -44,17 +45,34 @@ import pdp.aniachar.view.ViewModel.LocationViewModel;
 import pdp.aniachar.view.ViewModel.Nouns;
 import pdp.aniachar.view.ViewModel.PlayerViewModel;
 import pdp.aniachar.view.ViewModel.Quit;
+import pdp.aniachar.view.ViewModel.ReusableLocationViewModel;
+import pdp.aniachar.view.ViewModel.ReusablePlayerViewModel;
 import pdp.aniachar.view.ViewModel.Severity;
 
 
 /**
  * A text controller that works with a String input output view.
+ * The controller can publish the same view model instances every turn and update them in place,
+ * see {@link #Controller(Game, IView, boolean)}. Together with the action tables kept by the
+ * model, a move then builds no new objects in the controller.
+ * The controller talks to the model and the view over the buses of a {@link GameSession}, which
+ * should be the session the model and the view were built with.
+ * The interactions the controller handles can be recorded with a {@link SessionJournal}, see
+ * {@link #setJournal(SessionJournal)}.
  */
 
 public class Controller implements IController {
 
+  private final GameSession session;
   private Game game;
   private IView view;
+  private MoveCommand[] moveCommands;
+  private final boolean reuseViewModels;
+  private final ReusablePlayerViewModel reusablePlayerViewModel;
+  private final ReusableLocationViewModel reusableLocationViewModel;
+  private int countedItems;
+  private SessionJournal journal;
+  private MazeAlgorithm algorithm;
 
   /**
    * Builds a text controller.
@@ -64,10 +82,69 @@ public class Controller implements IController {
    */
 
   public Controller(Game model, IView view) {
+    this(model, view, false);
+  }
+
+  /**
+   * Builds a text controller that may reuse its view models.
+   * Reused view models are changed after they are published, so they should only be used with a
+   * view that renders a view model when it is published and does not keep it, or that copies
+   * it, like {@link pdp.aniachar.view.CoalescingView}.
+   *
+   * @param model           The model that this controller will work with.
+   * @param view            The view that this controller will work with.
+   * @param reuseViewModels true to publish the same view model instances every turn.
+   */
+
+  public Controller(Game model, IView view, boolean reuseViewModels) {
+    this(model, view, reuseViewModels, GameSession.getDefault());
+  }
+
+  /**
+   * Builds a text controller for a game that is played in the given session.
+   *
+   * @param model           The model that this controller will work with.
+   * @param view            The view that this controller will work with.
+   * @param reuseViewModels true to publish the same view model instances every turn.
+   * @param session         The session of the model and the view.
+   */
+
+  public Controller(Game model, IView view, boolean reuseViewModels,
+                    @NotNull GameSession session) {
+    this.session = session;
     this.game = model;
     this.view = view;
-    Communication.getModelControllerBus().register(this);
-    Communication.getViewControllerBus().register(this);
+    this.reuseViewModels = reuseViewModels;
+    reusablePlayerViewModel = new ReusablePlayerViewModel();
+    reusableLocationViewModel = new ReusableLocationViewModel();
+    countedItems = -1;
+    algorithm = MazeAlgorithm.KRUSKAL;
+    buildMoveCommands();
+    session.getModelControllerBus().register(this);
+    session.getViewControllerBus().register(this);
+  }
+
+  /**
+   * Records every interaction the controller handles and every restart to the journal from now
+   * on. The journal is closed when a new game is created, since it only describes the world it
+   * was created for.
+   *
+   * @param journal The journal to record to, or null to stop recording.
+   */
+
+  public void setJournal(@Nullable SessionJournal journal) {
+    this.journal = journal;
+  }
+
+  /**
+   * Sets the algorithm that carves the mazes of the games created from the view, see
+   * {@link #createNewGame(INewGameState)}. It is {@link MazeAlgorithm#KRUSKAL} until it is set.
+   *
+   * @param algorithm The algorithm of the new games.
+   */
+
+  public void setAlgorithm(@NotNull MazeAlgorithm algorithm) {
+    this.algorithm = algorithm;
   }
 
   @Override
@@ -96,11 +173,11 @@ public class Controller implements IController {
   }
 
   private void gameCheat() {
-    EventContainer.getModelEventBus()
+    session.getModelEventBus()
             .post(
                     new CallEvent<>(
                             new Otyughs(new MazeLocation(new MutablePair<>(0, 0)),
-                                    "foo", false)));
+                                    "foo", false, session)));
   }
 
   @Subscribe
@@ -112,18 +189,34 @@ public class Controller implements IController {
     eventDescriptionPublisher(event);
   }
 
+  @Subscribe
+  @Override
+  public void turnResultListener(@NotNull TurnResult turnResult) {
+    for (HitTakenEvent<ImmutableLocation<?>> hitTakenEvent : turnResult.getMonsterHits()) {
+      monsterHitEventListener(hitTakenEvent);
+    }
+    for (DeathEvent<ImmutableCharacter> deathEvent : turnResult.getMonsterDeaths()) {
+      monsterDeathEventListener(deathEvent);
+    }
+    turnResult.getPlayerDeath().ifPresent(this::playerDeathEventListener);
+    turnResult.getGameOver().ifPresent(this::gameOverEventListener);
+  }
+
   @Subscribe
   @Override
   public void playerInteractionEventListener(IPlayerInteraction interaction) {
+    if (journal != null) {
+      journal.append(interaction);
+    }
     if (!game.isGameOver()) {
       switch (interaction.getVerb()) {
         case MOVE:
           try {
-            new MoveCommand(game, mapViewNounToDirection(interaction.getNouns())).execute();
+            moveCommands[mapViewNounToDirection(interaction.getNouns()).ordinal()].execute();
             playerViewModelPublisher(getPlayerViewModel());
             locationViewModelPublisher(getLocationViewModel());
           } catch (IllegalArgumentException e) {
-            Communication.getViewControllerBus().post(new ErrorViewModel(e.getMessage()));
+            session.getViewControllerBus().post(new ErrorViewModel(e.getMessage()));
           }
           break;
         case PICK:
@@ -132,7 +225,7 @@ public class Controller implements IController {
             playerViewModelPublisher(getPlayerViewModel());
             locationViewModelPublisher(getLocationViewModel());
           } catch (IllegalArgumentException e) {
-            Communication.getViewControllerBus().post(new ErrorViewModel(e.getMessage()));
+            session.getViewControllerBus().post(new ErrorViewModel(e.getMessage()));
           }
           break;
         case SHOOT:
@@ -142,7 +235,7 @@ public class Controller implements IController {
             playerViewModelPublisher(getPlayerViewModel());
             locationViewModelPublisher(getLocationViewModel());
           } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
-            Communication.getViewControllerBus().post(new ErrorViewModel(e.getMessage()));
+            session.getViewControllerBus().post(new ErrorViewModel(e.getMessage()));
           }
           break;
         case QUIT:
@@ -152,7 +245,7 @@ public class Controller implements IController {
           } catch (NoSuchMethodException e) {
             throw new IllegalStateException("Game is in a bad state");
           }
-          Communication.getViewControllerBus().post(new Quit(true));
+          session.getViewControllerBus().post(new Quit(true));
           break;
         default:
           throw new IllegalArgumentException(String.format("Not a valid interaction: %s",
@@ -166,11 +259,11 @@ public class Controller implements IController {
   @Override
   public void gameOverEventListener(@NotNull GameOverEvent event) {
     if (event.isPlayerAlive()) {
-      Communication.getViewControllerBus()
+      session.getViewControllerBus()
               .post(new Event(EventDescription.WIN, game.getActivePlayer().getCurrentLocation(),
                       Severity.CRITICAL));
     } else {
-      Communication.getViewControllerBus()
+      session.getViewControllerBus()
               .post(new Event(EventDescription.LOST, game.getActivePlayer().getCurrentLocation(),
                       Severity.CRITICAL));
     }
@@ -178,28 +271,32 @@ public class Controller implements IController {
 
   @Override
   public void playerViewModelPublisher(IPlayerViewModel playerViewModel) {
-    Communication.getViewControllerBus().post(playerViewModel);
+    session.getViewControllerBus().post(playerViewModel);
   }
 
   @Override
   public void eventDescriptionPublisher(IEvent eventDescription) {
-    Communication.getViewControllerBus().post(eventDescription);
+    session.getViewControllerBus().post(eventDescription);
   }
 
   @Override
   public void locationViewModelPublisher(ILocationViewModel locationViewModel) {
-    Communication.getViewControllerBus().post(locationViewModel);
+    session.getViewControllerBus().post(locationViewModel);
   }
 
   @Subscribe
   @Override
   public void restartGameListener(IRestartGame<Boolean> restartGame) {
+    if (journal != null) {
+      journal.appendRestart();
+    }
     game.restartGame();
+    countedItems = -1;
     if (view instanceof SwingView) {
       int maxCols = ((SwingView) view).getMaxCol();
       int maxRows = ((SwingView) view).getMaxRow();
-      Communication.getViewControllerBus().post(new Quit(false));
-      view = new SwingView(maxRows, maxCols);
+      session.getViewControllerBus().post(new Quit(false));
+      view = new SwingView(maxRows, maxCols, session);
       this.start();
     }
   }
@@ -213,21 +310,40 @@ public class Controller implements IController {
     final int maxCols = gameState.getMaxCols();
     final int percentTreasure = gameState.getPercentTreasure();
     final boolean isWrapped = gameState.getIsWrapped();
-    Communication.getViewControllerBus().post(new Quit(false));
-    EventContainer.reset();
-    Communication.reset();
-    Communication.getViewControllerBus().register(this);
-    Communication.getModelControllerBus().register(this);
-    WorldBuildStrategy worldBuilder = new RandomMazeBuilder(maxRows, maxCols, isWrapped,
+    if (journal != null) {
+      journal.close();
+      journal = null;
+    }
+    session.getViewControllerBus().post(new Quit(false));
+    session.resetModelEventBus();
+    session.resetControllerBuses();
+    session.getViewControllerBus().register(this);
+    session.getModelControllerBus().register(this);
+    WorldBuildStrategy worldBuilder = algorithm.createBuilder(maxRows, maxCols, isWrapped,
             degreeOfInterConnectivity, percentTreasure, numberOfMonsters);
-    game = new DungeonGame(worldBuilder);
-    view = new SwingView(maxRows, maxCols);
+    game = new DungeonGame(worldBuilder, session);
+    buildMoveCommands();
+    countedItems = -1;
+    view = new SwingView(maxRows, maxCols, session);
     this.start();
   }
 
-  @Contract(" -> new")
+  private void buildMoveCommands() {
+    Direction[] directions = Direction.values();
+    moveCommands = new MoveCommand[directions.length];
+    for (Direction direction : directions) {
+      moveCommands[direction.ordinal()] = new MoveCommand(game, direction);
+    }
+  }
+
   private @NotNull ILocationViewModel getLocationViewModel() {
     try {
+      if (reuseViewModels) {
+        reusableLocationViewModel.update(game.getAllMoveActions(),
+                game.getActivePlayer().getCurrentLocation(),
+                game.getAllPickActions());
+        return reusableLocationViewModel;
+      }
       return new LocationViewModel(game.getAllMoveActions(),
               game.getActivePlayer().getCurrentLocation(),
               game.getAllPickActions());
@@ -236,10 +352,19 @@ public class Controller implements IController {
     }
   }
 
-  @Contract(" -> new")
   private @NotNull IPlayerViewModel getPlayerViewModel() {
 
     try {
+      if (reuseViewModels) {
+        ImmutableCharacter player = game.getActivePlayer();
+        // Only picks and shots change the items, so a move does not count them again.
+        if (player.getNumberOfItems() != countedItems) {
+          reusablePlayerViewModel.updateInventory(player.getAllItems());
+          countedItems = player.getNumberOfItems();
+        }
+        reusablePlayerViewModel.update(player.getName(), player.getCurrentHealth());
+        return reusablePlayerViewModel;
+      }
       List<Item> items = game.getActivePlayer().getAllItems();
 
       Map<String, Long> inventory = new HashMap<>();
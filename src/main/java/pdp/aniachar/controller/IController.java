@@ -4,6 +4,7 @@ import pdp.aniachar.dungeonmaster.comm.DeathEvent;
 import pdp.aniachar.dungeonmaster.comm.GameOverEvent;
 import pdp.aniachar.dungeonmaster.comm.HitTakenEvent;
 import pdp.aniachar.dungeonmaster.comm.PlayerDeathEvent;
+import pdp.aniachar.dungeonmaster.comm.TurnResult;
 import pdp.aniachar.gamekit.ImmutableCharacter;
 import pdp.aniachar.gamekit.ImmutableLocation;
 import pdp.aniachar.view.ViewModel.IEvent;
@@ -52,6 +53,14 @@ public interface IController {
 
   void monsterDeathEventListener(DeathEvent<ImmutableCharacter> deathEvent);
 
+  /**
+   * Listens to the result of a turn sent by the model.
+   *
+   * @param turnResult Everything that happened during the turn.
+   */
+
+  void turnResultListener(TurnResult turnResult);
+
   /**
    * Listens to user interactions sent by the view.
    *
@@ -0,0 +1,158 @@
+package pdp.aniachar.controller;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import pdp.aniachar.GameSession;
+import pdp.aniachar.dungeonmaster.DungeonGame;
+import pdp.aniachar.dungeonmaster.gameworld.MazeAlgorithm;
+import pdp.aniachar.gamekit.Game;
+import pdp.aniachar.gamekit.WorldBuildStrategy;
+import pdp.aniachar.view.IView;
+import pdp.aniachar.view.ViewModel.IErrorViewModel;
+import pdp.aniachar.view.ViewModel.IEvent;
+import pdp.aniachar.view.ViewModel.ILocationViewModel;
+import pdp.aniachar.view.ViewModel.IPlayerViewModel;
+import pdp.aniachar.view.ViewModel.IQuit;
+import pdp.aniachar.view.ViewModel.Nouns;
+import pdp.aniachar.view.ViewModel.PlayerInteraction;
+import pdp.aniachar.view.ViewModel.RestartGame;
+import pdp.aniachar.view.ViewModel.Verbs;
+
+/**
+ * Plays a game recorded by a {@link SessionJournal} again, without a view.
+ * The world is built again in a {@link GameSession} with the recorded seed, and the recorded
+ * interactions and restarts are posted on the view controller bus of the session to a
+ * {@link Controller}, the way a view posts them. Nothing waits for a view, so a game is replayed
+ * as fast as the model can play it.
+ * A record that was cut short at the end of the journal is ignored. A journal with a value that
+ * is not valid for its field is rejected with an {@link IllegalArgumentException}.
+ */
+
+public final class JournalReplayer {
+
+  private static final Verbs[] VERBS = Verbs.values();
+  private static final Nouns[] NOUNS = Nouns.values();
+  private static final MazeAlgorithm[] ALGORITHMS = MazeAlgorithm.values();
+
+  private JournalReplayer() {
+  }
+
+  /**
+   * Replays the journal in the given file.
+   *
+   * @param file The journal.
+   * @return The game as it was at the end of the journal.
+   * @throws IOException If the journal cannot be read.
+   */
+
+  public static @NotNull Game replay(@NotNull Path file) throws IOException {
+    try (InputStream in = Files.newInputStream(file)) {
+      return replay(in);
+    }
+  }
+
+  /**
+   * Replays the journal read from the given stream.
+   *
+   * @param journal The journal. The stream is read to its end but not closed.
+   * @return The game as it was at the end of the journal.
+   * @throws IOException If the journal cannot be read.
+   */
+
+  public static @NotNull Game replay(@NotNull InputStream journal) throws IOException {
+    DataInputStream in = new DataInputStream(new BufferedInputStream(journal));
+    if (in.readInt() != SessionJournal.MAGIC) {
+      throw new IllegalArgumentException("Not a session journal");
+    }
+    int version = in.readInt();
+    if (version != SessionJournal.VERSION) {
+      throw new IllegalArgumentException(String.format("Unknown journal version %d", version));
+    }
+    GameSession session = new GameSession(in.readLong());
+    MazeAlgorithm algorithm = ALGORITHMS[checkOrdinal(in.readUnsignedByte(), ALGORITHMS.length,
+            "algorithm")];
+    int maxRows = in.readInt();
+    int maxCols = in.readInt();
+    boolean isWrapped = in.readBoolean();
+    int degreeOfInterConnection = in.readInt();
+    int percentTreasure = in.readInt();
+    long numberMonsters = in.readLong();
+    WorldBuildStrategy worldBuilder = algorithm.createBuilder(maxRows, maxCols, isWrapped,
+            degreeOfInterConnection, percentTreasure, numberMonsters);
+    Game game = new DungeonGame(worldBuilder, session);
+    new Controller(game, new DetachedView(), true, session);
+    try {
+      for (int kind = in.read(); kind != -1; kind = in.read()) {
+        if (kind == SessionJournal.INTERACTION) {
+          Verbs verb = VERBS[checkOrdinal(in.readUnsignedByte(), VERBS.length, "verb")];
+          Nouns noun = NOUNS[checkOrdinal(in.readUnsignedByte(), NOUNS.length, "noun")];
+          session.getViewControllerBus().post(new PlayerInteraction(verb, noun, in.readInt()));
+        } else if (kind == SessionJournal.RESTART) {
+          session.getViewControllerBus().post(new RestartGame<>(true));
+        } else {
+          throw new IllegalArgumentException(String.format("Unknown journal record %d", kind));
+        }
+      }
+    } catch (EOFException e) {
+      // The last record was cut short, the game is replayed up to the record before it.
+    }
+    return game;
+  }
+
+  private static int checkOrdinal(int ordinal, int numberOfValues, String field) {
+    if (ordinal >= numberOfValues) {
+      throw new IllegalArgumentException(String.format("Unknown journal %s %d", field, ordinal));
+    }
+    return ordinal;
+  }
+
+  /**
+   * The view of a replayed game. It is never shown and nothing is posted to it.
+   */
+
+  private static final class DetachedView implements IView {
+
+    @Override
+    public void renderPlayerViewModelListener(@NotNull IPlayerViewModel playerViewModel) {
+      // Not attached to the bus.
+    }
+
+    @Override
+    public void renderLocationViewModelListener(@NotNull ILocationViewModel locationViewModel) {
+      // Not attached to the bus.
+    }
+
+    @Override
+    public void renderEventDescriptionListener(@NotNull IEvent eventDescription) {
+      // Not attached to the bus.
+    }
+
+    @Override
+    public void renderErrorViewModelListener(@NotNull IErrorViewModel errorViewModel) {
+      // Not attached to the bus.
+    }
+
+    @Override
+    public void start() {
+      // Never started.
+    }
+
+    @Override
+    public void stop() {
+      // Never started.
+    }
+
+    @Override
+    public void quitListener(@NotNull IQuit quit) {
+      // Not attached to the bus.
+    }
+  }
+}
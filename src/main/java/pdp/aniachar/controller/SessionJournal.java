@@ -0,0 +1,106 @@
+package pdp.aniachar.controller;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import pdp.aniachar.dungeonmaster.gameworld.MazeAlgorithm;
+import pdp.aniachar.view.ViewModel.INewGameState;
+import pdp.aniachar.view.ViewModel.IPlayerInteraction;
+
+/**
+ * Records a game to an append-only file, so that it can be played again with
+ * {@link JournalReplayer}.
+ * The file starts with the header {@link #MAGIC}, {@link #VERSION}, the seed of the
+ * {@link pdp.aniachar.GameSession} of the game, the ordinal of the {@link MazeAlgorithm}, the
+ * number of rows and columns, whether the maze is wrapped, the degree of interconnection, the
+ * percentage of treasure and the number of monsters. It is followed by one record for every
+ * interaction the controller handled and every restart of the game, in the order they happened.
+ * An interaction is the byte {@link #INTERACTION} followed by the ordinals of the verb and the
+ * noun as bytes and the qualifier as an int. A restart is the byte {@link #RESTART}.
+ * Every record is flushed when it is appended, so a journal is complete up to the last whole
+ * record even if the game does not end cleanly. All numbers are big endian.
+ */
+
+public class SessionJournal implements Closeable {
+
+  public static final int MAGIC = 0x444a524e;
+  public static final int VERSION = 1;
+  public static final byte INTERACTION = 0;
+  public static final byte RESTART = 1;
+  private final DataOutputStream out;
+
+  /**
+   * Creates a journal for a game built with the given seed, algorithm and settings.
+   *
+   * @param file      The file to write to. It should not exist yet.
+   * @param seed      The seed of the session of the game.
+   * @param algorithm The algorithm that built the maze.
+   * @param world     The settings the maze was built with.
+   * @throws IOException If the file cannot be created.
+   */
+
+  public SessionJournal(@NotNull Path file, long seed, @NotNull MazeAlgorithm algorithm,
+                        @NotNull INewGameState world) throws IOException {
+    out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file,
+            StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)));
+    out.writeInt(MAGIC);
+    out.writeInt(VERSION);
+    out.writeLong(seed);
+    out.writeByte(algorithm.ordinal());
+    out.writeInt(world.getMaxRows());
+    out.writeInt(world.getMaxCols());
+    out.writeBoolean(world.getIsWrapped());
+    out.writeInt(world.getDegreeOfInterConnection());
+    out.writeInt(world.getPercentTreasure());
+    out.writeLong(world.getNumberMonsters());
+    out.flush();
+  }
+
+  /**
+   * Appends an interaction of the player.
+   *
+   * @param interaction The interaction the controller handled.
+   */
+
+  public void append(@NotNull IPlayerInteraction interaction) {
+    try {
+      out.writeByte(INTERACTION);
+      out.writeByte(interaction.getVerb().ordinal());
+      out.writeByte(interaction.getNouns().ordinal());
+      out.writeInt(interaction.getQualifier());
+      out.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Appends a restart of the game.
+   */
+
+  public void appendRestart() {
+    try {
+      out.writeByte(RESTART);
+      out.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void close() {
+    try {
+      out.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -4,23 +4,22 @@ import com.google.common.eventbus.Subscribe;
 
 import org.jetbrains.annotations.NotNull;
 
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
-import pdp.aniachar.Communication;
-import pdp.aniachar.dungeonmaster.action.game.GameAction;
+import pdp.aniachar.GameSession;
 import pdp.aniachar.dungeonmaster.action.location.MoveAction;
 import pdp.aniachar.dungeonmaster.action.location.PickItemAction;
 import pdp.aniachar.dungeonmaster.character.monster.Otyughs;
 import pdp.aniachar.dungeonmaster.character.player.PlayerBuilder;
 import pdp.aniachar.dungeonmaster.comm.DeathEvent;
-import pdp.aniachar.dungeonmaster.comm.EventContainer;
 import pdp.aniachar.dungeonmaster.comm.GameOverEvent;
 import pdp.aniachar.dungeonmaster.comm.HitTakenEvent;
 import pdp.aniachar.dungeonmaster.comm.PlayerDeathEvent;
 import pdp.aniachar.dungeonmaster.comm.RoarEvent;
+import pdp.aniachar.dungeonmaster.comm.TurnResult;
 import pdp.aniachar.dungeonmaster.gameworld.IMazeLocation;
 import pdp.aniachar.dungeonmaster.item.ShootArrowActionBuilder;
 import pdp.aniachar.gamekit.Action;
@@ -38,37 +37,80 @@ import pdp.aniachar.gamekit.WorldBuildStrategy;
 /**
  * A class that implements the rules for a Dungeon game.
  * In this game there is only one player and the player moves through the maze.
+ * What an action of the player causes, the hits, the deaths and the end of the game, is sent to
+ * the controller as one {@link TurnResult} when the action is done. Nothing is sent for a turn
+ * in which nothing happened.
  */
 public class DungeonGame implements Game {
 
   private final Character player;
   private final GameWorld dungeon;
+  private final GameSession session;
+  private final List<HitTakenEvent<ImmutableLocation<?>>> turnHits;
+  private final List<DeathEvent<ImmutableCharacter>> turnDeaths;
+  private PlayerDeathEvent turnPlayerDeath;
+  private GameOverEvent turnGameOver;
+  private boolean inTurn;
   private boolean isGameOver;
 
 
   /**
    * Constructs a Dungeon game using the strategy provided below.
+   * The game is played in the default {@link GameSession}.
    *
    * @param worldBuilder The builder used to build the {@link GameWorld}
    * @param playerName   The name of the player who will play the game.
    */
 
   public DungeonGame(@NotNull WorldBuildStrategy worldBuilder, String playerName) {
-    dungeon = worldBuilder.buildWorld();
-    this.player = new PlayerBuilder(dungeon.getStartLocation()).setName(playerName).createPlayer();
-    EventContainer.getModelEventBus().register(this);
+    this(worldBuilder, playerName, GameSession.getDefault());
   }
 
   /**
    * Constructs a Dungeon game using the strategy provided below.
+   * The game is played in the default {@link GameSession}.
    *
    * @param worldBuilder The builder used to build the {@link GameWorld}
    */
 
   public DungeonGame(@NotNull WorldBuildStrategy worldBuilder) {
-    dungeon = worldBuilder.buildWorld();
-    player = new PlayerBuilder(dungeon.getStartLocation()).createPlayer();
-    EventContainer.getModelEventBus().register(this);
+    this(worldBuilder, GameSession.getDefault());
+  }
+
+  /**
+   * Constructs a Dungeon game that is played in the given session.
+   * The player gets a default name.
+   *
+   * @param worldBuilder The builder used to build the {@link GameWorld}
+   * @param session      The session whose buses the game uses.
+   */
+
+  public DungeonGame(@NotNull WorldBuildStrategy worldBuilder, @NotNull GameSession session) {
+    this.session = session;
+    dungeon = worldBuilder.buildWorld(session);
+    player = new PlayerBuilder(dungeon.getStartLocation()).setSession(session).createPlayer();
+    turnHits = new ArrayList<>();
+    turnDeaths = new ArrayList<>();
+    session.getModelEventBus().register(this);
+  }
+
+  /**
+   * Constructs a Dungeon game that is played in the given session.
+   *
+   * @param worldBuilder The builder used to build the {@link GameWorld}
+   * @param playerName   The name of the player who will play the game.
+   * @param session      The session whose buses the game uses.
+   */
+
+  public DungeonGame(@NotNull WorldBuildStrategy worldBuilder, String playerName,
+                     @NotNull GameSession session) {
+    this.session = session;
+    dungeon = worldBuilder.buildWorld(session);
+    player = new PlayerBuilder(dungeon.getStartLocation()).setName(playerName)
+            .setSession(session).createPlayer();
+    turnHits = new ArrayList<>();
+    turnDeaths = new ArrayList<>();
+    session.getModelEventBus().register(this);
   }
 
 
@@ -79,13 +121,7 @@ public class DungeonGame implements Game {
 
   @Override
   public Map<Direction, MoveAction> getAllMoveActions() {
-    Map<Direction, MoveAction> possibleMoves = new HashMap<>();
-    IMazeLocation playerLocation = (IMazeLocation) player.getCurrentLocation();
-    for (MoveAction ma :
-            playerLocation.getMoveAction()) {
-      possibleMoves.put(ma.getDirection(), ma);
-    }
-    return possibleMoves;
+    return ((IMazeLocation) player.getCurrentLocation()).getMoveActionTable();
   }
 
   @Override
@@ -103,10 +139,10 @@ public class DungeonGame implements Game {
     if (isGameOver) {
       throw new IllegalStateException("Cannot play game. Gave is over");
     } else {
-      Action<Boolean> playerAction = new GameAction(player, action);
-
+      inTurn = true;
       try {
-        Optional<?> result = playerAction.act();
+        // Same as acting on a GameAction of the player and the action, without creating one.
+        Optional<?> result = action.actOn(player);
         if (player.getCurrentLocation().equals(dungeon.getEndLocation())) {
           isGameOver = true;
           emitGameOver(player.getCurrentHealth() > 0);
@@ -114,6 +150,8 @@ public class DungeonGame implements Game {
         return result;
       } catch (NoSuchMethodException e) {
         throw new IllegalStateException("Game is in a bad state.");
+      } finally {
+        endTurn();
       }
     }
   }
@@ -134,20 +172,33 @@ public class DungeonGame implements Game {
   public void playerDeathEventListener(PlayerDeathEvent playerDeathEvent) {
     this.isGameOver = true;
     player.changeHealth(-1d);
-    Communication.getModelControllerBus().post(playerDeathEvent);
+    if (inTurn) {
+      turnPlayerDeath = playerDeathEvent;
+    } else {
+      session.getModelControllerBus().post(playerDeathEvent);
+    }
   }
 
   @Override
   @Subscribe
   public void monsterDeathEventListener(DeathEvent<Otyughs> otyughsDeathEvent) {
-    Communication.getModelControllerBus()
-            .post(new DeathEvent<ImmutableCharacter>(otyughsDeathEvent.getPayload()));
+    DeathEvent<ImmutableCharacter> deathEvent =
+            new DeathEvent<>(otyughsDeathEvent.getPayload());
+    if (inTurn) {
+      turnDeaths.add(deathEvent);
+    } else {
+      session.getModelControllerBus().post(deathEvent);
+    }
   }
 
   @Override
   @Subscribe
   public void monsterHitListener(HitTakenEvent<ImmutableLocation<?>> hitEvent) {
-    Communication.getModelControllerBus().post(hitEvent);
+    if (inTurn) {
+      turnHits.add(hitEvent);
+    } else {
+      session.getModelControllerBus().post(hitEvent);
+    }
   }
 
   /**
@@ -159,21 +210,39 @@ public class DungeonGame implements Game {
 
   @Subscribe
   public void monsterRoarListener(RoarEvent<Otyughs> roarEvent) {
-    Communication.getModelControllerBus().post(roarEvent);
+    session.getModelControllerBus().post(roarEvent);
   }
 
   @Override
   public void restartGame() {
-    EventContainer.reset();
+    session.resetModelEventBus();
     player.makeMove(dungeon.getStartLocation());
     dungeon.restart();
     player.bringBackToLife();
-    EventContainer.getModelEventBus().register(this);
+    session.getModelEventBus().register(this);
     isGameOver = false;
   }
 
   @Override
   public void emitGameOver(boolean playerALive) {
-    Communication.getModelControllerBus().post(new GameOverEvent(playerALive));
+    if (inTurn) {
+      turnGameOver = new GameOverEvent(playerALive);
+    } else {
+      session.getModelControllerBus().post(new GameOverEvent(playerALive));
+    }
+  }
+
+  private void endTurn() {
+    inTurn = false;
+    if (turnHits.isEmpty() && turnDeaths.isEmpty() && turnPlayerDeath == null
+            && turnGameOver == null) {
+      return;
+    }
+    TurnResult turnResult = new TurnResult(turnHits, turnDeaths, turnPlayerDeath, turnGameOver);
+    turnHits.clear();
+    turnDeaths.clear();
+    turnPlayerDeath = null;
+    turnGameOver = null;
+    session.getModelControllerBus().post(turnResult);
   }
 }
@@ -15,4 +15,12 @@ public interface IMoveAction extends LocationAction<Location<?>> {
    * @return The direction the player should move in this action.
    */
   Direction getDirection();
+
+  /**
+   * Gets the location the player will be at after this action.
+   * Unlike {@link #act()}, the location is not wrapped in an {@link java.util.Optional}.
+   *
+   * @return The location to move to.
+   */
+  Location<?> getWhereTo();
 }
@@ -17,6 +17,9 @@ import pdp.aniachar.gamekit.Location;
  */
 
 public class MoveAction implements IMoveAction {
+  private static final Optional<Boolean> MOVED = Optional.of(true);
+  private static final Optional<Boolean> NOT_MOVED = Optional.of(false);
+
   private final Location<?> whereTo;
   private final Direction direction;
 
@@ -72,12 +75,16 @@ public class MoveAction implements IMoveAction {
 
   @Override
   public Optional<Boolean> actOn(Character character) {
-    Boolean result = character.makeMove(whereTo);
-    return Optional.of(result);
+    return character.makeMove(whereTo) ? MOVED : NOT_MOVED;
   }
 
   @Override
   public Direction getDirection() {
     return direction;
   }
+
+  @Override
+  public Location<?> getWhereTo() {
+    return whereTo;
+  }
 }
@@ -4,7 +4,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.Optional;
 
-import pdp.aniachar.dungeonmaster.gameworld.MazeLocation;
+import pdp.aniachar.dungeonmaster.gameworld.IMazeLocation;
 import pdp.aniachar.gamekit.Character;
 import pdp.aniachar.gamekit.Item;
 
@@ -15,7 +15,7 @@ import pdp.aniachar.gamekit.Item;
 
 public class PickItemAction implements LocationAction<Item> {
 
-  private final MazeLocation actionLocation;
+  private final IMazeLocation actionLocation;
   private final Item itemToPick;
 
   /**
@@ -25,7 +25,7 @@ public class PickItemAction implements LocationAction<Item> {
    * @param actionLocation The location from where the item needs to be picked from.
    * @param itemToPick     The item to be picked.
    */
-  public PickItemAction(@NotNull MazeLocation actionLocation, @NotNull Item itemToPick) {
+  public PickItemAction(@NotNull IMazeLocation actionLocation, @NotNull Item itemToPick) {
     this.actionLocation = actionLocation;
     this.itemToPick = itemToPick;
   }
@@ -2,7 +2,7 @@ package pdp.aniachar.dungeonmaster.action.location;
 
 import org.jetbrains.annotations.NotNull;
 
-import pdp.aniachar.dungeonmaster.gameworld.MazeLocation;
+import pdp.aniachar.dungeonmaster.gameworld.IMazeLocation;
 import pdp.aniachar.gamekit.Action;
 import pdp.aniachar.gamekit.ActionBuilder;
 import pdp.aniachar.gamekit.Item;
@@ -13,7 +13,7 @@ import pdp.aniachar.gamekit.Item;
  */
 
 public class PickItemActionBuilder implements ActionBuilder<Item> {
-  private MazeLocation actionLocation;
+  private IMazeLocation actionLocation;
   private Item itemToPick;
 
   /**
@@ -23,7 +23,7 @@ public class PickItemActionBuilder implements ActionBuilder<Item> {
    * @return itself as this is a builder.
    */
 
-  public PickItemActionBuilder setActionLocation(@NotNull MazeLocation actionLocation) {
+  public PickItemActionBuilder setActionLocation(@NotNull IMazeLocation actionLocation) {
     this.actionLocation = actionLocation;
     return this;
   }
@@ -4,23 +4,24 @@ import com.google.common.eventbus.Subscribe;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
-import java.util.stream.Collectors;
 
+import pdp.aniachar.GameSession;
+import pdp.aniachar.RandomService.Subsystem;
 import pdp.aniachar.dungeonmaster.character.AbstractCharacter;
 import pdp.aniachar.dungeonmaster.character.player.IPlayer;
 import pdp.aniachar.dungeonmaster.comm.ArrowHitEvent;
 import pdp.aniachar.dungeonmaster.comm.CallEvent;
 import pdp.aniachar.dungeonmaster.comm.DeathEvent;
-import pdp.aniachar.dungeonmaster.comm.EventContainer;
 import pdp.aniachar.dungeonmaster.comm.HitTakenEvent;
 import pdp.aniachar.dungeonmaster.comm.PlayerDeathEvent;
 import pdp.aniachar.dungeonmaster.comm.PlayerEnterEvent;
 import pdp.aniachar.dungeonmaster.comm.RoarEvent;
 import pdp.aniachar.dungeonmaster.gameworld.IMazeLocation;
 import pdp.aniachar.dungeonmaster.gameworld.IMazeLocationBuilder;
+import pdp.aniachar.dungeonmaster.gameworld.SmellField;
 import pdp.aniachar.dungeonmaster.gameworld.SmellStrength;
 import pdp.aniachar.gamekit.ImmutableLocation;
 import pdp.aniachar.gamekit.Item;
@@ -30,14 +31,21 @@ import pdp.aniachar.gamekit.Location;
  * Otyughs are smelly monsters that eat flesh.
  * If a player battles with a healthy Otyughs, the player dies.
  * Because they smell, they have the smell that carry to adjacent locations.
+ * An Otyughs that is part of a world with a {@link SmellField} adds its smell to the field,
+ * otherwise the smell is added to every location it carries to.
+ * An Otyughs at a location of a maze only listens to the arrow hits and players entering its own
+ * location, so the cost of an event does not grow with the number of monsters.
  */
 
 public class Otyughs extends AbstractCharacter {
 
   private final Location<?> currentLocation;
   private final String name;
+  private final SmellField smellField;
+  private final GameSession session;
 
   private Map<Location<?>, Integer> smellPermeatedLocations;
+  private boolean isSmelling;
 
   /**
    * Creates an Otyughs at the specified location and with the given name.
@@ -47,17 +55,71 @@ public class Otyughs extends AbstractCharacter {
    */
 
   public Otyughs(@NotNull Location<?> currentLocation, @NotNull String name) {
+    this(currentLocation, name, GameSession.getDefault());
+  }
+
+  /**
+   * Creates an Otyughs at the specified location and with the given name that lives in the game
+   * of the given session.
+   *
+   * @param currentLocation The location where the Otyughs will live.
+   * @param name            The name of the Otyughs.
+   * @param session         The session of the game the Otyughs lives in.
+   */
+
+  public Otyughs(@NotNull Location<?> currentLocation, @NotNull String name,
+                 @NotNull GameSession session) {
     super(100d);
     if (name.isBlank()) {
       throw new IllegalArgumentException("Name cannot be blank");
     }
     this.currentLocation = currentLocation;
     this.name = name;
-    EventContainer.getModelEventBus().register(this);
+    this.smellField = null;
+    this.session = session;
+    subscribe();
     setSmellPermeatedLocations();
     publishSmellChanges(true);
   }
 
+  /**
+   * Creates an Otyughs at the specified location and with the given name whose smell is kept in
+   * the given smell field.
+   *
+   * @param currentLocation The location where the Otyughs will live.
+   * @param name            The name of the Otyughs.
+   * @param smellField      The smell field of the world the Otyughs lives in.
+   */
+
+  public Otyughs(@NotNull IMazeLocation currentLocation, @NotNull String name,
+                 @NotNull SmellField smellField) {
+    this(currentLocation, name, smellField, GameSession.getDefault());
+  }
+
+  /**
+   * Creates an Otyughs at the specified location and with the given name whose smell is kept in
+   * the given smell field and that lives in the game of the given session.
+   *
+   * @param currentLocation The location where the Otyughs will live.
+   * @param name            The name of the Otyughs.
+   * @param smellField      The smell field of the world the Otyughs lives in.
+   * @param session         The session of the game the Otyughs lives in.
+   */
+
+  public Otyughs(@NotNull IMazeLocation currentLocation, @NotNull String name,
+                 @NotNull SmellField smellField, @NotNull GameSession session) {
+    super(100d);
+    if (name.isBlank()) {
+      throw new IllegalArgumentException("Name cannot be blank");
+    }
+    this.currentLocation = currentLocation;
+    this.name = name;
+    this.smellField = smellField;
+    this.session = session;
+    subscribe();
+    publishSmellChanges(true);
+  }
+
   /**
    * Creates a copy Otyughs at the specified location and with the given name.
    *
@@ -67,32 +129,74 @@ public class Otyughs extends AbstractCharacter {
    */
 
   public Otyughs(@NotNull Location<?> currentLocation, @NotNull String name, boolean subEvents) {
+    this(currentLocation, name, subEvents, GameSession.getDefault());
+  }
+
+  /**
+   * Creates a copy Otyughs at the specified location and with the given name that belongs to the
+   * game of the given session, the session of the Otyughs it copies.
+   *
+   * @param currentLocation The location where the Otyughs will live.
+   * @param name            The name of the Otyughs.
+   * @param subEvents       Because this is a copy, it should not subscribe to the event bus.
+   * @param session         The session of the game the copied Otyughs lives in.
+   */
+
+  public Otyughs(@NotNull Location<?> currentLocation, @NotNull String name, boolean subEvents,
+                 @NotNull GameSession session) {
     super(100d);
     if (name.isBlank()) {
       throw new IllegalArgumentException("Name cannot be blank");
     }
     this.currentLocation = currentLocation;
     this.name = name;
+    this.smellField = null;
+    this.session = session;
     setSmellPermeatedLocations();
     if (subEvents) {
-      EventContainer.getModelEventBus().register(this);
+      subscribe();
     }
   }
 
   private void setSmellPermeatedLocations() {
 
-    smellPermeatedLocations = IMazeLocationBuilder
-            .distanceToAllNodes((IMazeLocation) currentLocation).entrySet().stream()
-            .filter(e -> e.getValue() <= 2 && e.getValue() > 0)
-            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    Map<Location<?>, Integer> smellLocations = new HashMap<>();
+    IMazeLocationBuilder.visitWithin((IMazeLocation) currentLocation, 2,
+            (location, distance) -> {
+              if (distance > 0) {
+                smellLocations.put(location, distance);
+              }
+            });
+    smellPermeatedLocations = smellLocations;
+  }
+
+  private void subscribe() {
+    if (currentLocation instanceof IMazeLocation) {
+      session.getModelEventBus().registerAt(this, ((IMazeLocation) currentLocation).getCellId());
+    } else {
+      session.getModelEventBus().register(this);
+    }
   }
 
   /**
    * Publish Smell Changes to all locations where smell can permeate.
+   * The smell is only added if it is not there and only removed if it is there.
    *
    * @param shouldAdd Flag to add or remove smell from locations.
    */
   private void publishSmellChanges(boolean shouldAdd) {
+    if (shouldAdd == isSmelling) {
+      return;
+    }
+    isSmelling = shouldAdd;
+    if (smellField != null) {
+      if (shouldAdd) {
+        smellField.addSmellAround((IMazeLocation) currentLocation);
+      } else {
+        smellField.removeSmellAround((IMazeLocation) currentLocation);
+      }
+      return;
+    }
 
     for (var kv : smellPermeatedLocations.entrySet()) {
       SmellStrength smellStrength;
@@ -148,11 +252,11 @@ public class Otyughs extends AbstractCharacter {
   public void takeHit(@NotNull ArrowHitEvent arrowHitEvent) {
     if (currentLocation.equals(arrowHitEvent.getLocationToAffect())) {
       changeHealth(-1 * arrowHitEvent.getDamageDealt());
-      EventContainer.getModelEventBus()
+      session.getModelEventBus()
               .post(new HitTakenEvent<ImmutableLocation<?>>((currentLocation)));
       if (health <= 0) {
-        EventContainer.getModelEventBus().post(new DeathEvent<>(this));
-        EventContainer.getModelEventBus().unregister(this);
+        session.getModelEventBus().post(new DeathEvent<>(this));
+        session.getModelEventBus().unregister(this);
         publishSmellChanges(false);
       }
     }
@@ -176,14 +280,14 @@ public class Otyughs extends AbstractCharacter {
 
   private void battlePlayer(IPlayer player) {
     if (health > 50) {
-      EventContainer.getModelEventBus().post(new PlayerDeathEvent(player));
+      session.getModelEventBus().post(new PlayerDeathEvent(player));
     } else {
-      int rand = new Random().nextInt(2);
+      int rand = session.getRandomService().getStream(Subsystem.BATTLE).nextInt(2);
       if (rand == 0) {
-        EventContainer.getModelEventBus().post(new PlayerDeathEvent(player));
+        session.getModelEventBus().post(new PlayerDeathEvent(player));
       } else {
-        EventContainer.getModelEventBus().post(new DeathEvent<>(this));
-        EventContainer.getModelEventBus().unregister(this);
+        session.getModelEventBus().post(new DeathEvent<>(this));
+        session.getModelEventBus().unregister(this);
         publishSmellChanges(false);
       }
     }
@@ -198,13 +302,12 @@ public class Otyughs extends AbstractCharacter {
    */
   @Subscribe
   public void roar(CallEvent<Otyughs> event) {
-    EventContainer.getModelEventBus().post(new RoarEvent<>(this));
+    session.getModelEventBus().post(new RoarEvent<>(this));
   }
 
   @Override
   protected void bringBackToLifeHelper() {
-    EventContainer.getModelEventBus().register(this);
-    publishSmellChanges(false);
+    subscribe();
     publishSmellChanges(true);
   }
 }
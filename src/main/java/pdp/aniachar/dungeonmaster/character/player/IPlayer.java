@@ -4,6 +4,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
 
+import pdp.aniachar.GameSession;
 import pdp.aniachar.dungeonmaster.comm.DeathEvent;
 import pdp.aniachar.dungeonmaster.item.Arrow;
 import pdp.aniachar.dungeonmaster.item.Treasure;
@@ -48,6 +49,14 @@ public interface IPlayer extends Character {
    */
   Arrow removeArrow();
 
+  /**
+   * Gets the session of the game the player plays in.
+   * Whatever the player does is published on the buses of this session.
+   *
+   * @return The session of the game.
+   */
+  GameSession getSession();
+
   /**
    * Listen to see if the player was killed when playing the game.
    *
@@ -10,9 +10,9 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
 
+import pdp.aniachar.GameSession;
 import pdp.aniachar.dungeonmaster.character.AbstractCharacter;
 import pdp.aniachar.dungeonmaster.comm.DeathEvent;
-import pdp.aniachar.dungeonmaster.comm.EventContainer;
 import pdp.aniachar.dungeonmaster.comm.PlayerEnterEvent;
 import pdp.aniachar.dungeonmaster.gameworld.IMazeLocation;
 import pdp.aniachar.dungeonmaster.gameworld.Maze;
@@ -36,10 +36,13 @@ public class Player extends AbstractCharacter implements IPlayer {
   private final String name;
   private final List<Item> possessedItems;
   private final List<Arrow> quiver;
+  // The event only refers to the player, so every move posts the same one.
+  private final PlayerEnterEvent enterEvent;
+  private final GameSession session;
   private Location<?> currentLocation;
 
   Player(@NotNull Location<?> startingLocation, @NotNull String name, List<Arrow> quiver,
-         boolean register) {
+         boolean register, @NotNull GameSession session) {
     super(1);
     if (name.isBlank()) {
       throw new IllegalArgumentException("Player cannot be blank");
@@ -48,8 +51,10 @@ public class Player extends AbstractCharacter implements IPlayer {
     this.name = name;
     possessedItems = new ArrayList<>();
     this.quiver = new ArrayList<>(quiver);
+    this.enterEvent = new PlayerEnterEvent(this);
+    this.session = session;
     if (register) {
-      EventContainer.getModelEventBus().register(this);
+      session.getModelEventBus().register(this);
     }
   }
 
@@ -63,8 +68,11 @@ public class Player extends AbstractCharacter implements IPlayer {
    */
 
   public boolean makeMove(@NotNull Location<?> whereTo) {
+    if (whereTo == null) {
+      throw new IllegalArgumentException("Location to move to cannot be null");
+    }
     currentLocation = whereTo;
-    EventContainer.getModelEventBus().post(new PlayerEnterEvent(this));
+    session.getModelEventBus().post(enterEvent);
     return true;
   }
 
@@ -85,6 +93,11 @@ public class Player extends AbstractCharacter implements IPlayer {
     return result;
   }
 
+  @Override
+  public int getNumberOfItems() {
+    return possessedItems.size() + quiver.size();
+  }
+
   @Override
   public String getName() {
     return name;
@@ -109,6 +122,11 @@ public class Player extends AbstractCharacter implements IPlayer {
     return quiver.add(arrow);
   }
 
+  @Override
+  public GameSession getSession() {
+    return session;
+  }
+
   @Override
   public List<Arrow> getQuiver() {
     return quiver;
@@ -155,6 +173,6 @@ public class Player extends AbstractCharacter implements IPlayer {
 
   @Override
   protected void bringBackToLifeHelper() {
-    EventContainer.getModelEventBus().register(this);
+    session.getModelEventBus().register(this);
   }
 }
@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
 
+import pdp.aniachar.GameSession;
 import pdp.aniachar.dungeonmaster.item.Arrow;
 import pdp.aniachar.gamekit.Character;
 import pdp.aniachar.gamekit.Location;
@@ -21,6 +22,7 @@ public class PlayerBuilder {
   private final @NotNull Location<?> startingLocation;
   private String name;
   private boolean register;
+  private GameSession session;
 
   /**
    * A player always needs a starting point. This helps with building the player.
@@ -31,6 +33,7 @@ public class PlayerBuilder {
   public PlayerBuilder(@NotNull Location<?> startingLocation) {
     this.startingLocation = startingLocation;
     register = false;
+    session = GameSession.getDefault();
   }
 
   /**
@@ -60,6 +63,18 @@ public class PlayerBuilder {
     return this;
   }
 
+  /**
+   * The session of the game the player will play in. The default session is used otherwise.
+   *
+   * @param session The session of the game.
+   * @return The builder.
+   */
+
+  public PlayerBuilder setSession(@NotNull GameSession session) {
+    this.session = session;
+    return this;
+  }
+
   /**
    * Creates the {@link Player} with the specifications given.
    *
@@ -75,6 +90,6 @@ public class PlayerBuilder {
     for (int i = 0; i < DEFAULT_NUMBER_OF_ARROWS; i++) {
       quiver.add(new Arrow());
     }
-    return new Player(startingLocation, name, quiver, register);
+    return new Player(startingLocation, name, quiver, register, session);
   }
 }
\ No newline at end of file
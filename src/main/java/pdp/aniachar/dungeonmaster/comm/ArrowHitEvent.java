@@ -2,14 +2,17 @@ package pdp.aniachar.dungeonmaster.comm;
 
 import org.jetbrains.annotations.NotNull;
 
+import pdp.aniachar.LocatedEvent;
 import pdp.aniachar.dungeonmaster.gameworld.IMazeLocation;
 
 /**
  * An event that indicates that an arrow hit a character.
  * Any character that subscribes to this event will take a hit.
+ * The event happens where the arrow landed, so characters registered for a cell only get the
+ * hits of their own cell.
  */
 
-public class ArrowHitEvent {
+public class ArrowHitEvent implements LocatedEvent {
 
   private final IMazeLocation locationToAffect;
 
@@ -47,4 +50,9 @@ public class ArrowHitEvent {
   public double getDamageDealt() {
     return damageDealt;
   }
+
+  @Override
+  public long getCellId() {
+    return locationToAffect.getCellId();
+  }
 }
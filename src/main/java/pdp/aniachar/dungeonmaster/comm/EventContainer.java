@@ -1,15 +1,15 @@
 package pdp.aniachar.dungeonmaster.comm;
 
-import com.google.common.eventbus.EventBus;
+import pdp.aniachar.EventDispatcher;
+import pdp.aniachar.GameSession;
 
 /**
  * A model specific event bus container.
+ * This is the model bus of the default {@link GameSession}.
  */
 
 public class EventContainer {
 
-  private static EventBus modelEventBus;
-
   /**
    * Gets a singleton model event bus.
    * This event bus is used only for communication between the model components.
@@ -17,18 +17,15 @@ public class EventContainer {
    * @return A singleton instance of the eventbus.
    */
 
-  public static EventBus getModelEventBus() {
-    if (modelEventBus == null) {
-      modelEventBus = new EventBus();
-    }
-    return modelEventBus;
+  public static EventDispatcher getModelEventBus() {
+    return GameSession.getDefault().getModelEventBus();
   }
 
   /**
    * Restarts the event bus for the model.
    */
   public static void reset() {
-    modelEventBus = null;
+    GameSession.getDefault().resetModelEventBus();
   }
 
 }
@@ -2,13 +2,18 @@ package pdp.aniachar.dungeonmaster.comm;
 
 import org.jetbrains.annotations.NotNull;
 
+import pdp.aniachar.LocatedEvent;
 import pdp.aniachar.dungeonmaster.character.player.IPlayer;
+import pdp.aniachar.dungeonmaster.gameworld.IMazeLocation;
 
 /**
  * An event that is emitted when player enters a specific location.
+ * The event happens at the location the player is at when it is posted. A player at a location
+ * that is not part of a maze has no cell, so the event is only dispatched to the listeners that
+ * are registered for every event.
  */
 
-public class PlayerEnterEvent {
+public class PlayerEnterEvent implements LocatedEvent {
 
   private final IPlayer player;
 
@@ -25,5 +30,17 @@ public class PlayerEnterEvent {
     return player;
   }
 
+  @Override
+  public long getCellId() {
+    if (!hasCell()) {
+      throw new IllegalStateException("Player is not at a location of a maze");
+    }
+    return ((IMazeLocation) player.getCurrentLocation()).getCellId();
+  }
+
+  @Override
+  public boolean hasCell() {
+    return player.getCurrentLocation() instanceof IMazeLocation;
+  }
 
 }
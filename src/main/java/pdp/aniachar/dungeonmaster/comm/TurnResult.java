@@ -0,0 +1,83 @@
+package pdp.aniachar.dungeonmaster.comm;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Optional;
+
+import pdp.aniachar.gamekit.ImmutableCharacter;
+import pdp.aniachar.gamekit.ImmutableLocation;
+
+/**
+ * Everything that happened in the game because of one action of the player.
+ * The game sends one turn result to the controller at the end of a turn in which something
+ * happened, instead of sending every hit, death and game over on its own. The result does not
+ * change after it is built.
+ */
+
+public class TurnResult {
+
+  private final List<HitTakenEvent<ImmutableLocation<?>>> monsterHits;
+  private final List<DeathEvent<ImmutableCharacter>> monsterDeaths;
+  private final PlayerDeathEvent playerDeath;
+  private final GameOverEvent gameOver;
+
+  /**
+   * Creates the result of a turn.
+   *
+   * @param monsterHits   The hits the monsters took, in the order they took them.
+   * @param monsterDeaths The monsters that died, in the order they died.
+   * @param playerDeath   The death of the player, or null if the player did not die.
+   * @param gameOver      The end of the game, or null if the game did not end.
+   */
+
+  public TurnResult(@NotNull List<HitTakenEvent<ImmutableLocation<?>>> monsterHits,
+                    @NotNull List<DeathEvent<ImmutableCharacter>> monsterDeaths,
+                    @Nullable PlayerDeathEvent playerDeath, @Nullable GameOverEvent gameOver) {
+    this.monsterHits = List.copyOf(monsterHits);
+    this.monsterDeaths = List.copyOf(monsterDeaths);
+    this.playerDeath = playerDeath;
+    this.gameOver = gameOver;
+  }
+
+  /**
+   * Gets the hits the monsters took during the turn.
+   *
+   * @return The hits, in the order they were taken.
+   */
+
+  public List<HitTakenEvent<ImmutableLocation<?>>> getMonsterHits() {
+    return monsterHits;
+  }
+
+  /**
+   * Gets the monsters that died during the turn.
+   *
+   * @return The deaths, in the order they occurred.
+   */
+
+  public List<DeathEvent<ImmutableCharacter>> getMonsterDeaths() {
+    return monsterDeaths;
+  }
+
+  /**
+   * Gets the death of the player, if the player died during the turn.
+   *
+   * @return The death of the player.
+   */
+
+  public Optional<PlayerDeathEvent> getPlayerDeath() {
+    return Optional.ofNullable(playerDeath);
+  }
+
+  /**
+   * Gets the end of the game, if the game ended during the turn.
+   *
+   * @return The game over event.
+   */
+
+  public Optional<GameOverEvent> getGameOver() {
+    return Optional.ofNullable(gameOver);
+  }
+}
@@ -0,0 +1,561 @@
+package pdp.aniachar.dungeonmaster.gameworld;
+
+import org.apache.commons.lang3.tuple.MutablePair;
+import org.apache.commons.lang3.tuple.Pair;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import pdp.aniachar.GameSession;
+import pdp.aniachar.RandomService;
+import pdp.aniachar.RandomService.Subsystem;
+import pdp.aniachar.dungeonmaster.character.monster.Otyughs;
+import pdp.aniachar.dungeonmaster.item.Arrow;
+import pdp.aniachar.dungeonmaster.item.Treasure;
+import pdp.aniachar.dungeonmaster.item.TreasureType;
+import pdp.aniachar.gamekit.Direction;
+import pdp.aniachar.gamekit.GameWorld;
+import pdp.aniachar.gamekit.WorldBuildStrategy;
+
+/**
+ * The common parts of the strategies that build a {@link Maze} on a 2D grid.
+ * In these strategies, it is assumed that a {@link Maze} is at minimum has a dimension of
+ * {@link #MIN_GRID_SIZE} X {@link #MIN_GRID_SIZE}. Two {@link pdp.aniachar.gamekit.Location}s
+ * are picked in the game that are at least {@link #MIN_DISTANCE_BETWEEN_START_END} apart.
+ * The distance is calculated using the number of other locations that needs to be visited before
+ * coming to the end.
+ * The {@link Maze} is a graph that may mor may not be wrapped. When a {@link Maze} is wrapped,
+ * there is a path between the edge nodes i.e. 0X0 may have a path to nX0 where
+ * 'n' is the last node. Wrapping can be enabled by setting {@link #isWrapped}.
+ * All {@link Maze}s built using these strategies will have at least one path from any location
+ * to any other location. The number paths can be increased by giving a non-zero value to
+ * {@link #degreeOfInterConnection}
+ * {@link Maze}s can have {@link Treasure}s in them.
+ * These {@link Treasure}s can only be
+ * in caves (see {@link Maze}'s doc for explanation of what a cave is).
+ * The percentage of caves with treasure is specified by {@link #percentTreasure}.
+ * Caves can have multiple {@link Treasure} in them.
+ * These grids are built using {@link MazeLocation} only.
+ * Implementers decide how the spanning tree of the grid is carved in {@link #buildMaze()}.
+ * Every random choice is drawn from the {@link RandomService} of the {@link GameSession} the world
+ * is built for, see {@link #getRandomService()}, so the same seed builds the same world.
+ * The locations of the grid are indexed in row-major order i.e. {@code row * maxCols + col}.
+ * The possible paths between two adjacent locations are encoded as an int edge,
+ * see {@link #getEdge(int, Direction)}.
+ */
+
+public abstract class AbstractMazeBuilder implements WorldBuildStrategy {
+
+  protected static final int MIN_DISTANCE_BETWEEN_START_END = 5;
+  protected static final int MIN_GRID_SIZE = 10;
+  protected final int maxRows;
+  protected final int maxCols;
+  protected final boolean isWrapped;
+  protected final int percentTreasure;
+  private final List<Otyughs> otyughs;
+  protected IMazeLocation[] grid;
+  private long numberMonsters;
+  private int degreeOfInterConnection;
+  private Set<IMazeLocation> locationsWithPath;
+  private Pair<IMazeLocation, IMazeLocation> startEndPoint;
+  private SmellField smellField;
+  private TopologyVersion topologyVersion;
+  private GameSession session = GameSession.getDefault();
+
+  /**
+   * Builds a random {@link Maze} with the specification below.
+   *
+   * @param maxRows                 The maximum number of rows the maze can have.
+   * @param maxCols                 The maximum number of columns the maze can have.
+   * @param isWrapped               If the {@link Maze} should be wrapped or not.
+   * @param degreeOfInterConnection The number of paths that must between locations.
+   *                                Should be a non-negative number.
+   * @param percentTreasure         The percentage of caves with treasures.
+   * @param numberMonsters          The number of monsters other than the one at the end.
+   * @see AbstractMazeBuilder Explination of parameters.
+   */
+
+  protected AbstractMazeBuilder(int maxRows, int maxCols, boolean isWrapped,
+                                int degreeOfInterConnection, int percentTreasure,
+                                long numberMonsters) {
+    if (percentTreasure > 100 || percentTreasure < 0) {
+      throw new IllegalArgumentException(
+              "percentTreasure cannot be greater than 100 or less than 0");
+    }
+    if (maxCols < MIN_GRID_SIZE || maxRows < MIN_GRID_SIZE) {
+      throw new IllegalArgumentException(String
+              .format("Rows and columns should be at least %d.", MIN_GRID_SIZE));
+    }
+    if (degreeOfInterConnection < 0) {
+      throw new IllegalArgumentException("Degree of interconnectivity cannot be negative");
+    }
+    if (numberMonsters < 0) {
+      throw new IllegalStateException("Cannot have negative number of Monsters");
+    }
+    this.percentTreasure = percentTreasure;
+    this.maxRows = maxRows;
+    this.maxCols = maxCols;
+    this.isWrapped = isWrapped;
+    this.degreeOfInterConnection = degreeOfInterConnection;
+    locationsWithPath = new HashSet<>();
+    this.numberMonsters = numberMonsters;
+    otyughs = new ArrayList<>();
+  }
+
+  private static TreasureType randomTreasure(@NotNull SplittableRandom random) {
+    int x = random.nextInt((TreasureType.class).getEnumConstants().length);
+    return (TreasureType.class).getEnumConstants()[x];
+  }
+
+  @Override
+  public GameWorld buildWorld() {
+    return buildWorld(GameSession.getDefault());
+  }
+
+  @Override
+  public GameWorld buildWorld(@NotNull GameSession session) {
+    this.session = session;
+    buildNodes();
+    buildMaze();
+    locationsWithPath = new HashSet<>(Arrays.asList(grid));
+
+    int[] caves = findCaves();
+    CaveGraph caveGraph = CaveGraph.build(grid[0]);
+    startEndPoint = getStartingEndPoint(caves, caveGraph);
+    placeItems(caves);
+    placeMonsters(caves, startEndPoint.getLeft(), startEndPoint.getRight());
+    return new Maze(startEndPoint.getLeft(), startEndPoint.getRight(), locationsWithPath, otyughs,
+            caveGraph);
+  }
+
+  /**
+   * Gets the random number streams of the session the world is being built for.
+   * The paths are carved with the {@link Subsystem#MAZE} stream.
+   *
+   * @return The random number streams of the session.
+   */
+
+  protected RandomService getRandomService() {
+    return session.getRandomService();
+  }
+
+  /**
+   * Carves the paths between the locations in {@link #grid}.
+   * Every location in the grid must be reachable from every other location once this is done
+   * and there should be {@link #degreeOfInterConnection} more paths than a spanning tree
+   * (see {@link #addInterConnections(int[], int)}).
+   */
+
+  protected abstract void buildMaze();
+
+  /**
+   * Creates the {@link SmellField} and the {@link TopologyVersion} of the world and fills
+   * {@link #grid} with new locations.
+   */
+
+  void buildNodes() {
+    smellField = new SmellField(maxRows, maxCols);
+    topologyVersion = new TopologyVersion();
+    grid = buildAllNodes();
+  }
+
+  /**
+   * Builds all the locations of the grid.
+   * The locations are stored in row-major order, so the location at (row, col) is at the index
+   * {@code row * maxCols + col}. The smell of every location is kept in the {@link SmellField}
+   * of the world, and the changes to its paths are counted in the {@link TopologyVersion} of the
+   * world.
+   *
+   * @return All the locations in the grid indexed by their row-major index.
+   */
+
+  protected IMazeLocation @NotNull [] buildAllNodes() {
+    IMazeLocation[] allNodes = new IMazeLocation[maxRows * maxCols];
+    for (int row = 0; row < maxRows; row++) {
+      for (int col = 0; col < maxCols; col++) {
+        MazeLocation location = new MazeLocation(new MutablePair<>(row, col));
+        location.setSmellField(smellField);
+        location.setTopologyVersion(topologyVersion);
+        allNodes[row * maxCols + col] = location;
+      }
+    }
+    return allNodes;
+  }
+
+  /**
+   * Gets the edge that leads from the location at the given index in the given direction.
+   * An edge is the index of the location shifted left by one with the lowest bit set for
+   * a path to the east and cleared for a path to the south. Every pair of adjacent locations
+   * has exactly one edge.
+   *
+   * @param index     The row-major index of the location.
+   * @param direction The direction of the path. Should be either {@link Direction#SOUTH}
+   *                  or {@link Direction#EAST}.
+   * @return The encoded edge.
+   */
+
+  @Contract(pure = true)
+  protected static int getEdge(int index, @NotNull Direction direction) {
+    if (direction == Direction.SOUTH) {
+      return index << 1;
+    }
+    if (direction == Direction.EAST) {
+      return (index << 1) | 1;
+    }
+    throw new IllegalArgumentException("Edges only lead to the south or the east");
+  }
+
+  /**
+   * Gets the index of the location from where the edge starts.
+   *
+   * @param edge The encoded edge.
+   * @return The row-major index of the location.
+   */
+
+  @Contract(pure = true)
+  protected static int getEdgeStart(int edge) {
+    return edge >>> 1;
+  }
+
+  /**
+   * Gets the index of the location where the edge ends.
+   * The bottom and right neighbours are resolved using arithmetic. When the {@link Maze}
+   * is wrapped, the last row and column wrap around to the first.
+   *
+   * @param edge The encoded edge.
+   * @return The row-major index of the location.
+   */
+
+  protected int getEdgeEnd(int edge) {
+    int index = edge >>> 1;
+    int row = index / maxCols;
+    int col = index - row * maxCols;
+    if ((edge & 1) == 0) {
+      int bottomRow = row + 1 == maxRows ? 0 : row + 1;
+      return bottomRow * maxCols + col;
+    }
+    int rightCol = col + 1 == maxCols ? 0 : col + 1;
+    return row * maxCols + rightCol;
+  }
+
+  /**
+   * Checks if the location at the index has a path to the south.
+   * The path may only wrap around if the {@link Maze} is wrapped.
+   *
+   * @param index The row-major index of the location.
+   * @return true if there is possible path to the south.
+   */
+
+  protected boolean hasSouthEdge(int index) {
+    return isWrapped || index / maxCols < maxRows - 1;
+  }
+
+  /**
+   * Checks if the location at the index has a path to the east.
+   * The path may only wrap around if the {@link Maze} is wrapped.
+   *
+   * @param index The row-major index of the location.
+   * @return true if there is possible path to the east.
+   */
+
+  protected boolean hasEastEdge(int index) {
+    return isWrapped || index % maxCols < maxCols - 1;
+  }
+
+  /**
+   * Generates all possible edges that can be present in the {@link Maze}.
+   * This is to guarantee there is a path between locations.
+   * Many of the paths are dropped when a "spanning tree" is constructed.
+   *
+   * @return All possible edges between adjacent locations.
+   */
+
+  protected int @NotNull [] buildAllPossibleEdges() {
+    int[] edges = new int[2 * maxRows * maxCols];
+    int numberOfEdges = 0;
+    for (int index = 0; index < maxRows * maxCols; index++) {
+      if (hasSouthEdge(index)) {
+        edges[numberOfEdges++] = getEdge(index, Direction.SOUTH);
+      }
+      if (hasEastEdge(index)) {
+        edges[numberOfEdges++] = getEdge(index, Direction.EAST);
+      }
+    }
+    return Arrays.copyOf(edges, numberOfEdges);
+  }
+
+  /**
+   * Gets the edges to all the locations next to the location at the given index.
+   * The edges to the north and the west are the south and east edges of the neighbours.
+   *
+   * @param index The row-major index of the location.
+   * @param edges The array the edges are written to. Should have room for four edges.
+   * @return The number of edges written.
+   */
+
+  protected int getNeighbourEdges(int index, int @NotNull [] edges) {
+    int row = index / maxCols;
+    int col = index - row * maxCols;
+    int numberOfEdges = 0;
+    if (hasSouthEdge(index)) {
+      edges[numberOfEdges++] = getEdge(index, Direction.SOUTH);
+    }
+    if (hasEastEdge(index)) {
+      edges[numberOfEdges++] = getEdge(index, Direction.EAST);
+    }
+    if (row > 0 || isWrapped) {
+      int northRow = row == 0 ? maxRows - 1 : row - 1;
+      edges[numberOfEdges++] = getEdge(northRow * maxCols + col, Direction.SOUTH);
+    }
+    if (col > 0 || isWrapped) {
+      int westCol = col == 0 ? maxCols - 1 : col - 1;
+      edges[numberOfEdges++] = getEdge(row * maxCols + westCol, Direction.EAST);
+    }
+    return numberOfEdges;
+  }
+
+  /**
+   * Gets the location at the other end of an edge.
+   *
+   * @param edge  The encoded edge.
+   * @param index The row-major index of one end of the edge.
+   * @return The row-major index of the other end.
+   */
+
+  protected int getOtherEnd(int edge, int index) {
+    int start = getEdgeStart(edge);
+    return start == index ? getEdgeEnd(edge) : start;
+  }
+
+  /**
+   * Adds {@link #degreeOfInterConnection} more paths to the maze, picked from the edges that
+   * were not used to build the spanning tree.
+   *
+   * @param usedEdges The edges of the spanning tree.
+   */
+
+  protected void addInterConnections(@NotNull BitSet usedEdges) {
+    int[] discardedEdges = buildAllPossibleEdges();
+    int numberDiscarded = 0;
+    for (int edge : discardedEdges) {
+      if (!usedEdges.get(edge)) {
+        discardedEdges[numberDiscarded++] = edge;
+      }
+    }
+    addInterConnections(discardedEdges, numberDiscarded);
+  }
+
+  /**
+   * Makes the two locations of the edge adjacent. This is done by adding an action to move from
+   * one location to the other and vic versa.
+   *
+   * @param edge The encoded edge.
+   */
+
+  protected void makeAdjacent(int edge) {
+    Direction direction = (edge & 1) == 0 ? Direction.SOUTH : Direction.EAST;
+    IMazeLocationBuilder.makeAdjacent(grid[getEdgeStart(edge)], grid[getEdgeEnd(edge)],
+            direction);
+  }
+
+  /**
+   * Shuffles the edges in place.
+   *
+   * @param edges  The edges to be shuffled.
+   * @param random The source of randomness.
+   */
+
+  protected static void shuffle(int @NotNull [] edges, @NotNull SplittableRandom random) {
+    for (int i = edges.length - 1; i > 0; i--) {
+      int j = random.nextInt(i + 1);
+      int temp = edges[i];
+      edges[i] = edges[j];
+      edges[j] = temp;
+    }
+  }
+
+  /**
+   * Adds {@link #degreeOfInterConnection} more paths to the maze.
+   * The paths are picked at random from the edges that were not used to build the spanning tree.
+   * If there are not enough edges, all of them are used.
+   *
+   * @param discardedEdges The edges that were not used to build the spanning tree.
+   *                       The array is reordered.
+   * @param count          The number of discarded edges in the array.
+   */
+
+  protected void addInterConnections(int @NotNull [] discardedEdges, int count) {
+    if (degreeOfInterConnection > 0) {
+      if (degreeOfInterConnection > count) {
+        degreeOfInterConnection = count;
+      }
+      SplittableRandom random = getRandomService().getStream(Subsystem.MAZE);
+      for (int i = 0; i < degreeOfInterConnection; i++) {
+        int indexToRemove = random.nextInt(count);
+        makeAdjacent(discardedEdges[indexToRemove]);
+        discardedEdges[indexToRemove] = discardedEdges[--count];
+      }
+    }
+  }
+
+  /**
+   * Finds all the caves in {@link #grid} i.e. the locations that do not have exactly two paths.
+   *
+   * @return The row-major indices of the caves.
+   */
+
+  protected int @NotNull [] findCaves() {
+    int[] caves = new int[grid.length];
+    int numberOfCaves = 0;
+    for (int index = 0; index < grid.length; index++) {
+      if (grid[index].getMoveAction().size() != 2) {
+        caves[numberOfCaves++] = index;
+      }
+    }
+    return Arrays.copyOf(caves, numberOfCaves);
+  }
+
+  /**
+   * Picks {@code count} random elements out of the candidates using a partial Fisher-Yates
+   * shuffle. The picked elements are moved to the front of the array, so each pick takes
+   * constant time.
+   *
+   * @param candidates The candidates to pick from. The array is reordered.
+   * @param count      The number of elements to pick.
+   * @param random     The source of randomness.
+   * @return The number of elements picked, which is at most the number of candidates.
+   */
+
+  protected static int pickRandom(int @NotNull [] candidates, long count,
+                                  @NotNull SplittableRandom random) {
+    int picks = (int) Math.min(count, candidates.length);
+    for (int i = 0; i < picks; i++) {
+      int j = i + random.nextInt(candidates.length - i);
+      int temp = candidates[i];
+      candidates[i] = candidates[j];
+      candidates[j] = temp;
+    }
+    return picks;
+  }
+
+  /**
+   * Adds the treasures and the arrows to the grid.
+   * Each kind of item is placed in a single pass over the candidate locations.
+   *
+   * @param caves The row-major indices of the caves, see {@link #findCaves()}.
+   */
+
+  protected void placeItems(int @NotNull [] caves) {
+    SplittableRandom random = getRandomService().getStream(Subsystem.ITEMS);
+    addTreasure(caves.clone(), random);
+    addArrows(random);
+  }
+
+  /**
+   * Adds the monster at the end and {@link #numberMonsters} more monsters in random caves.
+   * Monsters are never placed at the start.
+   *
+   * @param caves The row-major indices of the caves, see {@link #findCaves()}.
+   * @param start The start location.
+   * @param end   The end location.
+   */
+
+  protected void placeMonsters(int @NotNull [] caves, @NotNull IMazeLocation start,
+                               @NotNull IMazeLocation end) {
+    otyughs.add(new Otyughs(end, "Ender", smellField, session));
+    if (numberMonsters != 0) {
+      int[] emptyCaves = new int[caves.length];
+      int numberOfCaves = 0;
+      for (int cave : caves) {
+        if (grid[cave] != start && grid[cave] != end) {
+          emptyCaves[numberOfCaves++] = cave;
+        }
+      }
+      emptyCaves = Arrays.copyOf(emptyCaves, numberOfCaves);
+      if (numberMonsters > numberOfCaves) {
+        numberMonsters = numberOfCaves;
+      }
+      int picked = pickRandom(emptyCaves, numberMonsters,
+              getRandomService().getStream(Subsystem.PLACEMENT));
+      for (int i = 0; i < picked; i++) {
+        IMazeLocation randomCave = grid[emptyCaves[i]];
+        otyughs.add(new Otyughs(randomCave, String.format("Otyughs at %s", randomCave),
+                smellField, session));
+      }
+    }
+  }
+
+  /**
+   * Picks a random cave as the start and a random cave that is at least
+   * {@link #MIN_DISTANCE_BETWEEN_START_END} steps away from it as the end.
+   *
+   * @param caves     The row-major indices of the caves, see {@link #findCaves()}.
+   * @param caveGraph The graph of the caves of the grid.
+   * @return The start and the end.
+   */
+
+  @Contract("_, _ -> new")
+  @NotNull Pair<IMazeLocation, IMazeLocation> getStartingEndPoint(
+          int @NotNull [] caves, @NotNull CaveGraph caveGraph) {
+    if (caves.length == 0) {
+      throw new IllegalStateException("No caves found");
+    }
+    SplittableRandom random = getRandomService().getStream(Subsystem.PLACEMENT);
+    IMazeLocation start = grid[caves[random.nextInt(caves.length)]];
+    int[] distances = caveGraph.distancesFrom(caveGraph.indexOf(start));
+    int[] possibleEnds = new int[distances.length];
+    int numberOfPossibleEnds = 0;
+    for (int cave = 0; cave < distances.length; cave++) {
+      if (distances[cave] != Integer.MAX_VALUE
+              && distances[cave] >= MIN_DISTANCE_BETWEEN_START_END) {
+        possibleEnds[numberOfPossibleEnds++] = cave;
+      }
+    }
+    if (numberOfPossibleEnds == 0) {
+      throw new IllegalStateException("No end cave found");
+    }
+    IMazeLocation possibleEnd = caveGraph.getCave(
+            possibleEnds[random.nextInt(numberOfPossibleEnds)]);
+    return new MutablePair<>(start, possibleEnd);
+  }
+
+  /**
+   * Adds a random treasure to {@link #percentTreasure} percent of the caves.
+   *
+   * @param caves  The row-major indices of the caves. The array is reordered.
+   * @param random The source of randomness.
+   */
+
+  void addTreasure(int @NotNull [] caves, @NotNull SplittableRandom random) {
+    int cavesWithTreasure = (int) Math.ceil(caves.length * percentTreasure / 100d);
+    int picked = pickRandom(caves, cavesWithTreasure, random);
+    for (int i = 0; i < picked; i++) {
+      ((MazeLocation) grid[caves[i]]).addItem(new Treasure(randomTreasure(random)));
+    }
+  }
+
+  /**
+   * Adds an arrow to {@link #percentTreasure} percent of all the locations.
+   *
+   * @param random The source of randomness.
+   */
+
+  void addArrows(@NotNull SplittableRandom random) {
+    int[] locations = new int[grid.length];
+    for (int index = 0; index < locations.length; index++) {
+      locations[index] = index;
+    }
+    int locationsWithArrow = (int) Math.ceil(locations.length * percentTreasure / 100d);
+    int picked = pickRandom(locations, locationsWithArrow, random);
+    for (int i = 0; i < picked; i++) {
+      ((MazeLocation) grid[locations[i]]).addItem(new Arrow());
+    }
+  }
+}
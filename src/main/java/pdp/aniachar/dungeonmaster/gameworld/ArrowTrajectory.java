@@ -0,0 +1,139 @@
+package pdp.aniachar.dungeonmaster.gameworld;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import pdp.aniachar.dungeonmaster.action.location.MoveAction;
+import pdp.aniachar.gamekit.Direction;
+
+/**
+ * The path an arrow takes when it is shot from a location in a direction.
+ * An arrow moves straight through caves and follows the bends of tunnels. It never visits a
+ * location twice and it stops in a cave that has no path straight ahead. Because the path does
+ * not depend on how far the arrow is shot, the path of a shot of any distance is a prefix of
+ * the full path, so a trajectory answers every distance with an array read.
+ * Trajectories are only valid as long as the paths of the maze do not change. Every change of a
+ * path of a {@link MazeLocation} is counted by the {@link TopologyVersion} of its world, and a
+ * trajectory that was computed before the last change of its world is stale, see
+ * {@link #isCurrent()}.
+ */
+
+public final class ArrowTrajectory {
+
+  private final TopologyVersion topology;
+  private final long topologyVersion;
+  private final IMazeLocation start;
+  private final boolean startsInCave;
+  private final IMazeLocation[] cavesReached;
+  private final IMazeLocation end;
+
+  private ArrowTrajectory(TopologyVersion topology, long topologyVersion, IMazeLocation start,
+                          IMazeLocation[] cavesReached, IMazeLocation end) {
+    this.topology = topology;
+    this.topologyVersion = topologyVersion;
+    this.start = start;
+    this.startsInCave = start.getNumberOfExits() != 2;
+    this.cavesReached = cavesReached;
+    this.end = end;
+  }
+
+  /**
+   * Follows an arrow shot from the start location in the given direction until it cannot move.
+   *
+   * @param start     The location the arrow is shot from.
+   * @param direction The direction the arrow is shot in.
+   * @return The full path of the arrow.
+   */
+
+  public static ArrowTrajectory compute(@NotNull IMazeLocation start,
+                                        @NotNull Direction direction) {
+    TopologyVersion topology = TopologyVersion.of(start);
+    long version = topology.current();
+    CellIdSet visited = new CellIdSet();
+    List<IMazeLocation> cavesReached = new ArrayList<>();
+    IMazeLocation current = start;
+    Direction currentDirection = direction;
+    visited.add(start.getCellId());
+    while (true) {
+      boolean isCave = current.getNumberOfExits() != 2;
+      if (isCave && current != start) {
+        cavesReached.add(current);
+      }
+      // Always move straight if possible.
+      IMazeLocation next = unvisitedNeighbour(current, currentDirection, visited);
+      // In a cave, no straight path = cannot move any further.
+      if (next == null && !isCave) {
+        for (Direction other : Direction.values()) {
+          if (other != currentDirection) {
+            next = unvisitedNeighbour(current, other, visited);
+            if (next != null) {
+              currentDirection = other;
+              break;
+            }
+          }
+        }
+      }
+      if (next == null) {
+        break;
+      }
+      visited.add(next.getCellId());
+      current = next;
+    }
+    return new ArrowTrajectory(topology, version, start,
+            cavesReached.toArray(new IMazeLocation[0]), current);
+  }
+
+  /**
+   * Gets where an arrow shot the given number of caves lands.
+   *
+   * @param distance The number of caves the arrow is shot.
+   * @return The location where the arrow stops.
+   */
+
+  public IMazeLocation getLanding(int distance) {
+    if (distance == 0 && startsInCave) {
+      return start;
+    }
+    if (distance > 0 && distance <= cavesReached.length) {
+      return cavesReached[distance - 1];
+    }
+    return end;
+  }
+
+  /**
+   * Checks if an arrow shot the given number of caves travels the full distance.
+   *
+   * @param distance The number of caves the arrow is shot.
+   * @return true if the arrow travels the full distance.
+   */
+
+  public boolean reaches(int distance) {
+    if (distance == 0) {
+      return startsInCave;
+    }
+    return distance > 0 && distance <= cavesReached.length;
+  }
+
+  /**
+   * Checks if no path of the world of the start location has changed since this trajectory was
+   * computed.
+   *
+   * @return true if the trajectory can still be used.
+   */
+
+  public boolean isCurrent() {
+    return topologyVersion == topology.current();
+  }
+
+  private static IMazeLocation unvisitedNeighbour(IMazeLocation location, Direction direction,
+                                                  CellIdSet visited) {
+    MoveAction moveAction = location.getMoveAction(direction);
+    if (moveAction == null) {
+      return null;
+    }
+    IMazeLocation neighbour = (IMazeLocation) moveAction.getWhereTo();
+    return visited.contains(neighbour.getCellId()) ? null : neighbour;
+  }
+}
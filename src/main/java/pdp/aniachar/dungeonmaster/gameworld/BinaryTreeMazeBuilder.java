@@ -0,0 +1,60 @@
+package pdp.aniachar.dungeonmaster.gameworld;
+
+import java.util.BitSet;
+import java.util.SplittableRandom;
+
+import pdp.aniachar.RandomService.Subsystem;
+import pdp.aniachar.gamekit.Direction;
+
+/**
+ * A strategy to build a random {@link Maze} using the binary tree algorithm.
+ * Every location gets a path either to the south or to the east, picked at random. The
+ * locations in the last row can only go east and the locations in the last column can only go
+ * south. The algorithm needs no memory besides the grid and is the fastest of the strategies,
+ * but the mazes are biased: the last row and the last column are straight corridors.
+ * The spanning tree never uses the paths that wrap around the grid, so a wrapped maze only gets
+ * those paths as extra paths (see {@link #addInterConnections(BitSet)}).
+ * The post-processing i.e. the items, the monsters, the start and the end, is the same as
+ * {@link RandomMazeBuilder}.
+ */
+
+public class BinaryTreeMazeBuilder extends AbstractMazeBuilder {
+
+  /**
+   * Builds a random {@link Maze} with the specification below.
+   *
+   * @param maxRows                 The maximum number of rows the maze can have.
+   * @param maxCols                 The maximum number of columns the maze can have.
+   * @param isWrapped               If the {@link Maze} should be wrapped or not.
+   * @param degreeOfInterConnection The number of paths that must between locations.
+   *                                Should be a non-negative number.
+   * @param percentTreasure         The percentage of caves with treasures.
+   * @param numberMonsters          The number of monsters other than the one at the end.
+   */
+
+  public BinaryTreeMazeBuilder(int maxRows, int maxCols, boolean isWrapped,
+                               int degreeOfInterConnection, int percentTreasure,
+                               long numberMonsters) {
+    super(maxRows, maxCols, isWrapped, degreeOfInterConnection, percentTreasure, numberMonsters);
+  }
+
+  @Override
+  protected void buildMaze() {
+    SplittableRandom random = getRandomService().getStream(Subsystem.MAZE);
+    BitSet usedEdges = new BitSet(2 * maxRows * maxCols);
+    for (int row = 0; row < maxRows; row++) {
+      for (int col = 0; col < maxCols; col++) {
+        boolean canGoSouth = row < maxRows - 1;
+        boolean canGoEast = col < maxCols - 1;
+        if (!canGoSouth && !canGoEast) {
+          continue;
+        }
+        boolean goSouth = canGoSouth && (!canGoEast || random.nextBoolean());
+        int edge = getEdge(row * maxCols + col, goSouth ? Direction.SOUTH : Direction.EAST);
+        makeAdjacent(edge);
+        usedEdges.set(edge);
+      }
+    }
+    addInterConnections(usedEdges);
+  }
+}
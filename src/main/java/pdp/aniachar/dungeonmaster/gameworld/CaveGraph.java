@@ -0,0 +1,401 @@
+package pdp.aniachar.dungeonmaster.gameworld;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import pdp.aniachar.dungeonmaster.action.location.MoveAction;
+import pdp.aniachar.gamekit.Direction;
+
+/**
+ * The caves of a maze and the tunnels between them.
+ * Every cave is a node of the graph and is identified by its index. Every chain of tunnels that
+ * leads from one cave to another is collapsed into an edge whose weight is the number of steps
+ * between the two caves. An edge also keeps the direction it leaves its cave in, the direction it
+ * enters the other cave in and the tunnels it passes through. A path between two caves that
+ * are next to each other is an edge without tunnels.
+ * As most locations of a sparse maze are tunnels, searching the graph visits far fewer nodes
+ * than searching the maze. The graph is stored in flat arrays, the edges of the cave at index
+ * {@code i} are the edges from {@link #getFirstEdge(int)} up to {@link #getFirstEdge(int)} of
+ * {@code i + 1}.
+ * The index of a cave is looked up by its {@link CellId} in an open addressing table with linear
+ * probing, like {@link CellIdSet}, so looking up a cave does not create any objects.
+ * The graph is a snapshot of the paths of the maze when it is built, see {@link #isCurrent()}.
+ */
+
+public final class CaveGraph {
+
+  private static final Direction[] DIRECTIONS = Direction.values();
+
+  private final TopologyVersion topology;
+  private final long topologyVersion;
+  private final IMazeLocation[] caves;
+  private final long[] caveIds;
+  private final int[] caveIndex;
+  private final int[] firstEdge;
+  private final int[] edgeTarget;
+  private final int[] edgeLength;
+  private final byte[] edgeExit;
+  private final byte[] edgeEntry;
+  private final int[] firstTunnel;
+  private final long[] tunnels;
+
+  private CaveGraph(TopologyVersion topology, long topologyVersion, IMazeLocation[] caves,
+                    long[] caveIds, int[] caveIndex, int[] firstEdge, int[] edgeTarget,
+                    int[] edgeLength, byte[] edgeExit, byte[] edgeEntry, int[] firstTunnel,
+                    long[] tunnels) {
+    this.topology = topology;
+    this.topologyVersion = topologyVersion;
+    this.caves = caves;
+    this.caveIds = caveIds;
+    this.caveIndex = caveIndex;
+    this.firstEdge = firstEdge;
+    this.edgeTarget = edgeTarget;
+    this.edgeLength = edgeLength;
+    this.edgeExit = edgeExit;
+    this.edgeEntry = edgeEntry;
+    this.firstTunnel = firstTunnel;
+    this.tunnels = tunnels;
+  }
+
+  /**
+   * Builds the graph of all the caves that can be reached from the given location.
+   *
+   * @param start Any location of the maze.
+   * @return The graph of the caves.
+   */
+
+  public static CaveGraph build(@NotNull IMazeLocation start) {
+    TopologyVersion topology = TopologyVersion.of(start);
+    long version = topology.current();
+    List<IMazeLocation> foundCaves = new ArrayList<>();
+    IMazeLocationBuilder.visitWithin(start, Integer.MAX_VALUE, (location, distance) -> {
+      if (location.getNumberOfExits() != 2) {
+        foundCaves.add(location);
+      }
+    });
+    IMazeLocation[] caves = foundCaves.toArray(new IMazeLocation[0]);
+    long[] caveIds = new long[caves.length];
+    int numberOfEdges = 0;
+    for (int i = 0; i < caves.length; i++) {
+      caveIds[i] = caves[i].getCellId();
+      numberOfEdges += caves[i].getNumberOfExits();
+    }
+    int[] caveIndex = buildIndex(caveIds);
+
+    int[] firstEdge = new int[caves.length + 1];
+    int[] edgeTarget = new int[numberOfEdges];
+    int[] edgeLength = new int[numberOfEdges];
+    byte[] edgeExit = new byte[numberOfEdges];
+    byte[] edgeEntry = new byte[numberOfEdges];
+    int[] firstTunnel = new int[numberOfEdges + 1];
+    long[] tunnels = new long[16];
+    int edge = 0;
+    int numberOfTunnels = 0;
+    for (int i = 0; i < caves.length; i++) {
+      firstEdge[i] = edge;
+      for (Direction exit : DIRECTIONS) {
+        MoveAction moveAction = caves[i].getMoveAction(exit);
+        if (moveAction == null) {
+          continue;
+        }
+        firstTunnel[edge] = numberOfTunnels;
+        Direction direction = exit;
+        IMazeLocation current = (IMazeLocation) moveAction.getWhereTo();
+        int length = 1;
+        while (current.getNumberOfExits() == 2) {
+          if (numberOfTunnels == tunnels.length) {
+            tunnels = Arrays.copyOf(tunnels, tunnels.length * 2);
+          }
+          tunnels[numberOfTunnels++] = current.getCellId();
+          direction = otherExit(current, IMazeLocationBuilder.getOppositeDirection(direction));
+          current = (IMazeLocation) current.getMoveAction(direction).getWhereTo();
+          length++;
+        }
+        edgeTarget[edge] = find(caveIds, caveIndex, current.getCellId());
+        edgeLength[edge] = length;
+        edgeExit[edge] = (byte) exit.ordinal();
+        edgeEntry[edge] = (byte) direction.ordinal();
+        edge++;
+      }
+    }
+    firstEdge[caves.length] = edge;
+    firstTunnel[edge] = numberOfTunnels;
+    return new CaveGraph(topology, version, caves, caveIds, caveIndex, firstEdge, edgeTarget,
+            edgeLength, edgeExit, edgeEntry, firstTunnel, Arrays.copyOf(tunnels, numberOfTunnels));
+  }
+
+  /**
+   * Checks if no path of the world of the caves has changed since this graph was built.
+   *
+   * @return true if the graph can still be used.
+   */
+
+  public boolean isCurrent() {
+    return topologyVersion == topology.current();
+  }
+
+  /**
+   * Gets the number of caves in the graph.
+   *
+   * @return The number of caves, which are indexed from 0.
+   */
+
+  public int getNumberOfCaves() {
+    return caves.length;
+  }
+
+  /**
+   * Gets the location of a cave.
+   *
+   * @param cave The index of the cave.
+   * @return The location of the cave.
+   */
+
+  public IMazeLocation getCave(int cave) {
+    return caves[cave];
+  }
+
+  /**
+   * Gets the index of a cave in the graph.
+   *
+   * @param location The location of the cave.
+   * @return The index of the cave or -1 if the location is not a cave of the graph.
+   */
+
+  public int indexOf(@NotNull IMazeLocation location) {
+    return find(caveIds, caveIndex, location.getCellId());
+  }
+
+  /**
+   * Gets the index of the first edge of a cave.
+   * The edges of the last cave end at {@link #getFirstEdge(int)} of {@link #getNumberOfCaves()}.
+   *
+   * @param cave The index of the cave, up to and including {@link #getNumberOfCaves()}.
+   * @return The index of the first edge of the cave.
+   */
+
+  public int getFirstEdge(int cave) {
+    return firstEdge[cave];
+  }
+
+  /**
+   * Gets the number of edges in the graph. Every path between two caves is counted once for each
+   * of the two caves.
+   *
+   * @return The number of edges.
+   */
+
+  public int getNumberOfEdges() {
+    return edgeTarget.length;
+  }
+
+  /**
+   * Gets the cave an edge leads to.
+   *
+   * @param edge The index of the edge.
+   * @return The index of the cave at the other end of the edge.
+   */
+
+  public int getEdgeTarget(int edge) {
+    return edgeTarget[edge];
+  }
+
+  /**
+   * Gets the number of steps from the cave of the edge to its target.
+   *
+   * @param edge The index of the edge.
+   * @return One more than the number of tunnels of the edge.
+   */
+
+  public int getEdgeLength(int edge) {
+    return edgeLength[edge];
+  }
+
+  /**
+   * Gets the direction the edge leaves its cave in.
+   *
+   * @param edge The index of the edge.
+   * @return The direction of the first step.
+   */
+
+  public Direction getEdgeExit(int edge) {
+    return DIRECTIONS[edgeExit[edge]];
+  }
+
+  /**
+   * Gets the direction the edge enters its target in.
+   *
+   * @param edge The index of the edge.
+   * @return The direction of the last step.
+   */
+
+  public Direction getEdgeEntry(int edge) {
+    return DIRECTIONS[edgeEntry[edge]];
+  }
+
+  /**
+   * Gets the {@link CellId}s of the tunnels the edge passes through, in order.
+   *
+   * @param edge The index of the edge.
+   * @return A copy of the cell ids of the tunnels.
+   */
+
+  public long[] getEdgeTunnels(int edge) {
+    return Arrays.copyOfRange(tunnels, firstTunnel[edge], firstTunnel[edge + 1]);
+  }
+
+  /**
+   * Gets the number of steps from a cave to every cave of the graph.
+   *
+   * @param source The index of the cave to start from.
+   * @return The distances indexed by cave, {@link Integer#MAX_VALUE} for caves that cannot be
+   *         reached.
+   */
+
+  public int[] distancesFrom(int source) {
+    int[] distances = new int[caves.length];
+    Arrays.fill(distances, Integer.MAX_VALUE);
+    distances[source] = 0;
+    LongHeap heap = new LongHeap(caves.length);
+    heap.add(source);
+    while (!heap.isEmpty()) {
+      long top = heap.poll();
+      int cave = (int) top;
+      int distance = (int) (top >>> 32);
+      if (distance > distances[cave]) {
+        continue;
+      }
+      for (int edge = firstEdge[cave]; edge < firstEdge[cave + 1]; edge++) {
+        int newDistance = distance + edgeLength[edge];
+        int target = edgeTarget[edge];
+        if (newDistance < distances[target]) {
+          distances[target] = newDistance;
+          heap.add(((long) newDistance << 32) | target);
+        }
+      }
+    }
+    return distances;
+  }
+
+  /**
+   * Gets the number of steps between two caves.
+   *
+   * @param from The cave to start from.
+   * @param to   The cave to reach.
+   * @return The length of the shortest path or -1 if there is no path.
+   */
+
+  public int distance(@NotNull IMazeLocation from, @NotNull IMazeLocation to) {
+    int source = indexOf(from);
+    int target = indexOf(to);
+    if (source == -1 || target == -1) {
+      throw new IllegalArgumentException("Both locations should be caves of the graph");
+    }
+    int distance = distancesFrom(source)[target];
+    return distance == Integer.MAX_VALUE ? -1 : distance;
+  }
+
+  /**
+   * Builds the table used to look up the index of a cave.
+   * Every slot holds one more than the index of a cave, 0 marks an empty slot. The table is at
+   * most half full.
+   */
+
+  private static int[] buildIndex(long[] caveIds) {
+    int capacity = 16;
+    while (capacity < caveIds.length * 2L && capacity < (1 << 30)) {
+      capacity <<= 1;
+    }
+    int[] index = new int[capacity];
+    int mask = capacity - 1;
+    for (int cave = 0; cave < caveIds.length; cave++) {
+      int slot = CellId.hash(caveIds[cave]) & mask;
+      while (index[slot] != 0) {
+        slot = (slot + 1) & mask;
+      }
+      index[slot] = cave + 1;
+    }
+    return index;
+  }
+
+  private static int find(long[] caveIds, int[] index, long cellId) {
+    int mask = index.length - 1;
+    int slot = CellId.hash(cellId) & mask;
+    while (index[slot] != 0) {
+      if (caveIds[index[slot] - 1] == cellId) {
+        return index[slot] - 1;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  private static Direction otherExit(IMazeLocation tunnel, Direction cameFrom) {
+    for (Direction direction : DIRECTIONS) {
+      if (direction != cameFrom && tunnel.getMoveAction(direction) != null) {
+        return direction;
+      }
+    }
+    throw new IllegalStateException("Tunnel has a single exit");
+  }
+
+  /**
+   * A binary min heap of primitive longs. The queued caves are ordered by their distance, which
+   * is kept in the upper half of the long.
+   */
+
+  private static final class LongHeap {
+
+    private long[] elements;
+    private int size;
+
+    LongHeap(int expectedSize) {
+      elements = new long[Math.max(expectedSize, 1)];
+    }
+
+    boolean isEmpty() {
+      return size == 0;
+    }
+
+    void add(long element) {
+      if (size == elements.length) {
+        elements = Arrays.copyOf(elements, size * 2);
+      }
+      int child = size++;
+      while (child > 0) {
+        int parent = (child - 1) >>> 1;
+        if (elements[parent] <= element) {
+          break;
+        }
+        elements[child] = elements[parent];
+        child = parent;
+      }
+      elements[child] = element;
+    }
+
+    long poll() {
+      long result = elements[0];
+      long last = elements[--size];
+      int parent = 0;
+      while (true) {
+        int child = 2 * parent + 1;
+        if (child >= size) {
+          break;
+        }
+        if (child + 1 < size && elements[child + 1] < elements[child]) {
+          child++;
+        }
+        if (last <= elements[child]) {
+          break;
+        }
+        elements[parent] = elements[child];
+        parent = child;
+      }
+      elements[parent] = last;
+      return result;
+    }
+  }
+}
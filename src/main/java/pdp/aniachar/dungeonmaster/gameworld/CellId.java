@@ -0,0 +1,67 @@
+package pdp.aniachar.dungeonmaster.gameworld;
+
+import org.jetbrains.annotations.Contract;
+
+/**
+ * Packs the row and the column of a location into a single long.
+ * The row takes the upper 32 bits and the column the lower 32 bits, so every (row, column) pair
+ * has its own id, including negative rows and columns. Comparing two ids is a single primitive
+ * comparison, which makes them cheap keys for the locations visited in a traversal.
+ */
+
+public final class CellId {
+
+  private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+  private CellId() {
+  }
+
+  /**
+   * Gets the id of the location at the given row and column.
+   *
+   * @param row The row of the location.
+   * @param col The column of the location.
+   * @return The packed id.
+   */
+
+  @Contract(pure = true)
+  public static long of(int row, int col) {
+    return ((long) row << 32) | (col & 0xffffffffL);
+  }
+
+  /**
+   * Gets the row of the location.
+   *
+   * @param cellId The packed id.
+   * @return The row.
+   */
+
+  @Contract(pure = true)
+  public static int getRow(long cellId) {
+    return (int) (cellId >> 32);
+  }
+
+  /**
+   * Gets the column of the location.
+   *
+   * @param cellId The packed id.
+   * @return The column.
+   */
+
+  @Contract(pure = true)
+  public static int getCol(long cellId) {
+    return (int) cellId;
+  }
+
+  /**
+   * Gets a hash of the id where both the row and the column affect the lower bits.
+   *
+   * @param cellId The packed id.
+   * @return The hash code.
+   */
+
+  @Contract(pure = true)
+  public static int hash(long cellId) {
+    return Long.hashCode(cellId * HASH_MULTIPLIER);
+  }
+}
@@ -0,0 +1,121 @@
+package pdp.aniachar.dungeonmaster.gameworld;
+
+import java.util.Arrays;
+
+/**
+ * A set of {@link CellId}s stored in a primitive array.
+ * The ids are kept in an open addressing table with linear probing, so adding and looking up an
+ * id does not create any objects. This is used to mark the locations visited in a traversal.
+ */
+
+public final class CellIdSet {
+
+  private static final long EMPTY = Long.MIN_VALUE;
+  private static final int MIN_CAPACITY = 16;
+
+  private long[] table;
+  private int size;
+  private boolean containsEmpty;
+
+  /**
+   * Creates an empty set.
+   */
+
+  public CellIdSet() {
+    this(MIN_CAPACITY);
+  }
+
+  /**
+   * Creates an empty set that can hold the given number of ids without growing.
+   *
+   * @param expectedSize The number of ids that are expected to be added.
+   */
+
+  public CellIdSet(int expectedSize) {
+    if (expectedSize < 0) {
+      throw new IllegalArgumentException("Expected size cannot be negative");
+    }
+    int capacity = MIN_CAPACITY;
+    while (capacity < expectedSize * 2L && capacity < (1 << 30)) {
+      capacity <<= 1;
+    }
+    table = new long[capacity];
+    Arrays.fill(table, EMPTY);
+  }
+
+  /**
+   * Adds the id to the set.
+   *
+   * @param cellId The id to add.
+   * @return true if the id was not in the set.
+   */
+
+  public boolean add(long cellId) {
+    if (cellId == EMPTY) {
+      boolean isNew = !containsEmpty;
+      containsEmpty = true;
+      return isNew;
+    }
+    int mask = table.length - 1;
+    int slot = CellId.hash(cellId) & mask;
+    while (table[slot] != EMPTY) {
+      if (table[slot] == cellId) {
+        return false;
+      }
+      slot = (slot + 1) & mask;
+    }
+    table[slot] = cellId;
+    if (++size * 2 > table.length) {
+      grow();
+    }
+    return true;
+  }
+
+  /**
+   * Checks if the id is in the set.
+   *
+   * @param cellId The id to look for.
+   * @return true if the id is in the set.
+   */
+
+  public boolean contains(long cellId) {
+    if (cellId == EMPTY) {
+      return containsEmpty;
+    }
+    int mask = table.length - 1;
+    int slot = CellId.hash(cellId) & mask;
+    while (table[slot] != EMPTY) {
+      if (table[slot] == cellId) {
+        return true;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return false;
+  }
+
+  /**
+   * Gets the number of ids in the set.
+   *
+   * @return The number of ids.
+   */
+
+  public int size() {
+    return containsEmpty ? size + 1 : size;
+  }
+
+  private void grow() {
+    long[] oldTable = table;
+    table = new long[oldTable.length * 2];
+    Arrays.fill(table, EMPTY);
+    int mask = table.length - 1;
+    for (long cellId : oldTable) {
+      if (cellId != EMPTY) {
+        int slot = CellId.hash(cellId) & mask;
+        while (table[slot] != EMPTY) {
+          slot = (slot + 1) & mask;
+        }
+        table[slot] = cellId;
+      }
+    }
+  }
+}
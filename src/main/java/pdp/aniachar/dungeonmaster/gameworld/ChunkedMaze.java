@@ -0,0 +1,388 @@
+package pdp.aniachar.dungeonmaster.gameworld;
+
+import com.google.common.eventbus.Subscribe;
+
+import org.apache.commons.lang3.tuple.MutablePair;
+import org.apache.commons.lang3.tuple.Pair;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import pdp.aniachar.GameSession;
+import pdp.aniachar.dungeonmaster.comm.PlayerEnterEvent;
+import pdp.aniachar.dungeonmaster.item.Arrow;
+import pdp.aniachar.dungeonmaster.item.Treasure;
+import pdp.aniachar.dungeonmaster.item.TreasureType;
+import pdp.aniachar.gamekit.Direction;
+import pdp.aniachar.gamekit.GameWorld;
+import pdp.aniachar.gamekit.Item;
+import pdp.aniachar.gamekit.ItemType;
+import pdp.aniachar.gamekit.Location;
+
+/**
+ * A {@link GameWorld} without any bounds that is generated in square chunks as the player moves.
+ * Every chunk is a spanning tree built using Kruskal's algorithm with a seed that only depends on
+ * the world seed and the position of the chunk. Two adjacent chunks are joined by exactly one
+ * path on their shared border, which is also picked using a seed that only depends on the world
+ * seed and the border. A chunk is therefore the same every time it is generated and any location
+ * can be reached from any other location.
+ * Only the chunks within the view radius of the chunk the player is in are kept in memory. Chunks
+ * that are more than one chunk further away are dropped. The items that were picked in a dropped
+ * chunk are remembered, so the chunk looks the same when it is visited again.
+ * The locations are encoded the same way as a {@link MazeRow} while a chunk is being generated.
+ * Since the world has no bounds, the number of caves is never known. Instead, a cave has a
+ * treasure and a location has an arrow with the probability given by the percentage of treasure.
+ * There are no monsters in the world.
+ * The player starts at (0, 0) and the end is in the middle of the chunk that is the given number
+ * of chunks to the east.
+ */
+
+public class ChunkedMaze implements GameWorld {
+
+  private static final long CHUNK_SALT = 0x43484e4bL;
+  private static final long EAST_BORDER_SALT = 0x45415354L;
+  private static final long SOUTH_BORDER_SALT = 0x534f5554L;
+
+  private final long worldSeed;
+  private final int chunkSize;
+  private final int viewRadius;
+  private final int percentTreasure;
+  private final IMazeLocation endLocation;
+  private final Map<Long, Chunk> loadedChunks;
+  private final Map<Long, byte[]> changedChunks;
+  private final GameSession session;
+  private final TopologyVersion topologyVersion;
+
+  /**
+   * Creates a world and loads the chunks around the start location.
+   *
+   * @param worldSeed        The seed from which every chunk is generated.
+   * @param chunkSize        The number of rows and columns in a chunk.
+   * @param viewRadius       The number of chunks around the player that are kept in memory.
+   * @param percentTreasure  The percentage of caves with treasures.
+   * @param endChunkDistance The number of chunks between the start and the end.
+   * @param session          The session whose player the world follows.
+   */
+
+  ChunkedMaze(long worldSeed, int chunkSize, int viewRadius, int percentTreasure,
+              int endChunkDistance, @NotNull GameSession session) {
+    this.worldSeed = worldSeed;
+    this.chunkSize = chunkSize;
+    this.viewRadius = viewRadius;
+    this.percentTreasure = percentTreasure;
+    this.topologyVersion = new TopologyVersion();
+    MazeLocation end = new MazeLocation(new MutablePair<>(chunkSize / 2,
+            endChunkDistance * chunkSize + chunkSize / 2));
+    end.setTopologyVersion(topologyVersion);
+    this.endLocation = end;
+    this.loadedChunks = new HashMap<>();
+    this.changedChunks = new HashMap<>();
+    this.session = session;
+    loadChunksAround(0, 0);
+    session.getModelEventBus().register(this);
+  }
+
+  @Override
+  public Location<?> getStartLocation() {
+    loadChunksAround(0, 0);
+    return getLoadedLocation(0, 0);
+  }
+
+  /**
+   * Gets the end location of the world. The end may not be loaded, so the location returned
+   * only has the position of the end.
+   *
+   * @return The end {@link Location} the world.
+   */
+
+  @Override
+  public Location<?> getEndLocation() {
+    return endLocation;
+  }
+
+  /**
+   * Brings back all the items that were picked. The chunks that are loaded are kept, so the
+   * locations that are already known stay valid.
+   */
+
+  @Override
+  public void restart() {
+    changedChunks.clear();
+    for (Chunk chunk : loadedChunks.values()) {
+      chunk.cells = generateCells(chunk.chunkRow, chunk.chunkCol);
+      for (int index = 0; index < chunk.locations.length; index++) {
+        chunk.locations[index].clearItems();
+        addItems(chunk.locations[index], chunk.cells[index]);
+      }
+    }
+    session.getModelEventBus().register(this);
+  }
+
+  /**
+   * Loads the chunks around the player and drops the ones that are too far away.
+   *
+   * @param playerEnterEvent The event emitted when the player moves.
+   */
+
+  @Subscribe
+  public void playerEntered(@NotNull PlayerEnterEvent playerEnterEvent) {
+    Pair<Integer, Integer> position = ((IMazeLocation) playerEnterEvent.getPlayer()
+            .getCurrentLocation()).getLocationDescription();
+    int chunkRow = Math.floorDiv(position.getLeft(), chunkSize);
+    int chunkCol = Math.floorDiv(position.getRight(), chunkSize);
+    loadChunksAround(chunkRow, chunkCol);
+    Iterator<Chunk> chunks = loadedChunks.values().iterator();
+    while (chunks.hasNext()) {
+      Chunk chunk = chunks.next();
+      if (Math.abs(chunk.chunkRow - chunkRow) > viewRadius + 1
+              || Math.abs(chunk.chunkCol - chunkCol) > viewRadius + 1) {
+        chunks.remove();
+        unloadChunk(chunk);
+      }
+    }
+  }
+
+  /**
+   * Gets the number of chunks that are in memory.
+   *
+   * @return The number of chunks loaded.
+   */
+
+  public int getNumberOfLoadedChunks() {
+    return loadedChunks.size();
+  }
+
+  private void loadChunksAround(int chunkRow, int chunkCol) {
+    for (int row = chunkRow - viewRadius; row <= chunkRow + viewRadius; row++) {
+      for (int col = chunkCol - viewRadius; col <= chunkCol + viewRadius; col++) {
+        if (!loadedChunks.containsKey(getChunkKey(row, col))) {
+          loadChunk(row, col);
+        }
+      }
+    }
+  }
+
+  private MazeLocation getLoadedLocation(int row, int col) {
+    Chunk chunk = loadedChunks.get(getChunkKey(Math.floorDiv(row, chunkSize),
+            Math.floorDiv(col, chunkSize)));
+    return chunk.locations[Math.floorMod(row, chunkSize) * chunkSize
+            + Math.floorMod(col, chunkSize)];
+  }
+
+  /**
+   * Builds the locations of a chunk and joins them to the chunks around it that are loaded.
+   */
+
+  private void loadChunk(int chunkRow, int chunkCol) {
+    Chunk chunk = new Chunk(chunkRow, chunkCol);
+    byte[] changedCells = changedChunks.get(getChunkKey(chunkRow, chunkCol));
+    chunk.cells = changedCells != null ? changedCells : generateCells(chunkRow, chunkCol);
+    int firstRow = chunkRow * chunkSize;
+    int firstCol = chunkCol * chunkSize;
+    for (int row = 0; row < chunkSize; row++) {
+      for (int col = 0; col < chunkSize; col++) {
+        int index = row * chunkSize + col;
+        MazeLocation location = new MazeLocation(
+                new MutablePair<>(firstRow + row, firstCol + col));
+        location.setTopologyVersion(topologyVersion);
+        chunk.locations[index] = location;
+        if (col > 0 && (chunk.cells[index] & MazeRow.getDoorBit(Direction.WEST)) != 0) {
+          IMazeLocationBuilder.makeAdjacent(chunk.locations[index - 1], location,
+                  Direction.EAST);
+        }
+        if (row > 0 && (chunk.cells[index] & MazeRow.getDoorBit(Direction.NORTH)) != 0) {
+          IMazeLocationBuilder.makeAdjacent(chunk.locations[index - chunkSize], location,
+                  Direction.SOUTH);
+        }
+        addItems(location, chunk.cells[index]);
+      }
+    }
+    loadedChunks.put(getChunkKey(chunkRow, chunkCol), chunk);
+
+    int eastDoor = getBorderDoor(chunkRow, chunkCol, EAST_BORDER_SALT);
+    int westDoor = getBorderDoor(chunkRow, chunkCol - 1, EAST_BORDER_SALT);
+    int southDoor = getBorderDoor(chunkRow, chunkCol, SOUTH_BORDER_SALT);
+    int northDoor = getBorderDoor(chunkRow - 1, chunkCol, SOUTH_BORDER_SALT);
+    int lastRow = firstRow + chunkSize - 1;
+    int lastCol = firstCol + chunkSize - 1;
+    joinIfLoaded(firstRow + eastDoor, lastCol, firstRow + eastDoor, lastCol + 1,
+            Direction.EAST);
+    joinIfLoaded(firstRow + westDoor, firstCol - 1, firstRow + westDoor, firstCol,
+            Direction.EAST);
+    joinIfLoaded(lastRow, firstCol + southDoor, lastRow + 1, firstCol + southDoor,
+            Direction.SOUTH);
+    joinIfLoaded(firstRow - 1, firstCol + northDoor, firstRow, firstCol + northDoor,
+            Direction.SOUTH);
+  }
+
+  private void joinIfLoaded(int fromRow, int fromCol, int toRow, int toCol,
+                            Direction direction) {
+    if (isLoaded(fromRow, fromCol) && isLoaded(toRow, toCol)) {
+      IMazeLocationBuilder.makeAdjacent(getLoadedLocation(fromRow, fromCol),
+              getLoadedLocation(toRow, toCol), direction);
+    }
+  }
+
+  private boolean isLoaded(int row, int col) {
+    return loadedChunks.containsKey(getChunkKey(Math.floorDiv(row, chunkSize),
+            Math.floorDiv(col, chunkSize)));
+  }
+
+  /**
+   * Remembers the items that were picked in the chunk and removes the paths from the chunks
+   * around it that lead into the chunk.
+   */
+
+  private void unloadChunk(Chunk chunk) {
+    byte[] cells = new byte[chunk.cells.length];
+    boolean isChanged = false;
+    for (int index = 0; index < cells.length; index++) {
+      cells[index] = (byte) (chunk.cells[index] & MazeRow.DOOR_MASK);
+      for (Item item : chunk.locations[index].getItems()) {
+        if (item.getItemType() == ItemType.ARROW) {
+          cells[index] |= MazeRow.ARROW_BIT;
+        } else if (item instanceof Treasure) {
+          cells[index] |= (((Treasure) item).getTreasureType().ordinal() + 1)
+                  << MazeRow.TREASURE_SHIFT;
+        }
+      }
+      isChanged |= cells[index] != chunk.cells[index];
+    }
+    if (isChanged) {
+      changedChunks.put(getChunkKey(chunk.chunkRow, chunk.chunkCol), cells);
+    }
+
+    int firstRow = chunk.chunkRow * chunkSize;
+    int firstCol = chunk.chunkCol * chunkSize;
+    int eastDoor = getBorderDoor(chunk.chunkRow, chunk.chunkCol, EAST_BORDER_SALT);
+    int westDoor = getBorderDoor(chunk.chunkRow, chunk.chunkCol - 1, EAST_BORDER_SALT);
+    int southDoor = getBorderDoor(chunk.chunkRow, chunk.chunkCol, SOUTH_BORDER_SALT);
+    int northDoor = getBorderDoor(chunk.chunkRow - 1, chunk.chunkCol, SOUTH_BORDER_SALT);
+    removePathIfLoaded(firstRow + eastDoor, firstCol + chunkSize, Direction.WEST);
+    removePathIfLoaded(firstRow + westDoor, firstCol - 1, Direction.EAST);
+    removePathIfLoaded(firstRow + chunkSize, firstCol + southDoor, Direction.NORTH);
+    removePathIfLoaded(firstRow - 1, firstCol + northDoor, Direction.SOUTH);
+  }
+
+  private void removePathIfLoaded(int row, int col, Direction direction) {
+    if (isLoaded(row, col)) {
+      getLoadedLocation(row, col).removeMoveAction(direction);
+    }
+  }
+
+  /**
+   * Generates the paths and items of a chunk. Every location is encoded as in {@link MazeRow}.
+   * The paths on the border of the chunk are included even when the chunk next to it is not
+   * loaded, so the caves do not depend on what is loaded.
+   */
+
+  private byte @NotNull [] generateCells(int chunkRow, int chunkCol) {
+    SplittableRandom random = new SplittableRandom(getSeed(chunkRow, chunkCol, CHUNK_SALT));
+    int numberOfLocations = chunkSize * chunkSize;
+    byte[] cells = new byte[numberOfLocations];
+    int[] edges = new int[2 * numberOfLocations];
+    int numberOfEdges = 0;
+    for (int index = 0; index < numberOfLocations; index++) {
+      if (index / chunkSize < chunkSize - 1) {
+        edges[numberOfEdges++] = AbstractMazeBuilder.getEdge(index, Direction.SOUTH);
+      }
+      if (index % chunkSize < chunkSize - 1) {
+        edges[numberOfEdges++] = AbstractMazeBuilder.getEdge(index, Direction.EAST);
+      }
+    }
+    int[] possibleEdges = new int[numberOfEdges];
+    System.arraycopy(edges, 0, possibleEdges, 0, numberOfEdges);
+    AbstractMazeBuilder.shuffle(possibleEdges, random);
+    DisjointSet connected = new DisjointSet(numberOfLocations);
+    for (int edge : possibleEdges) {
+      int start = AbstractMazeBuilder.getEdgeStart(edge);
+      boolean isSouth = (edge & 1) == 0;
+      int end = isSouth ? start + chunkSize : start + 1;
+      if (connected.union(start, end)) {
+        cells[start] |= MazeRow.getDoorBit(isSouth ? Direction.SOUTH : Direction.EAST);
+        cells[end] |= MazeRow.getDoorBit(isSouth ? Direction.NORTH : Direction.WEST);
+      }
+    }
+
+    int last = chunkSize - 1;
+    cells[getBorderDoor(chunkRow, chunkCol, EAST_BORDER_SALT) * chunkSize + last]
+            |= MazeRow.getDoorBit(Direction.EAST);
+    cells[getBorderDoor(chunkRow, chunkCol - 1, EAST_BORDER_SALT) * chunkSize]
+            |= MazeRow.getDoorBit(Direction.WEST);
+    cells[last * chunkSize + getBorderDoor(chunkRow, chunkCol, SOUTH_BORDER_SALT)]
+            |= MazeRow.getDoorBit(Direction.SOUTH);
+    cells[getBorderDoor(chunkRow - 1, chunkCol, SOUTH_BORDER_SALT)]
+            |= MazeRow.getDoorBit(Direction.NORTH);
+
+    TreasureType[] treasureTypes = TreasureType.values();
+    for (int index = 0; index < numberOfLocations; index++) {
+      if (Integer.bitCount(cells[index] & MazeRow.DOOR_MASK) != 2
+              && random.nextInt(100) < percentTreasure) {
+        cells[index] |= (random.nextInt(treasureTypes.length) + 1) << MazeRow.TREASURE_SHIFT;
+      }
+      if (random.nextInt(100) < percentTreasure) {
+        cells[index] |= MazeRow.ARROW_BIT;
+      }
+    }
+    return cells;
+  }
+
+  private static void addItems(@NotNull MazeLocation location, byte cell) {
+    int treasure = (cell & MazeRow.TREASURE_MASK) >>> MazeRow.TREASURE_SHIFT;
+    if (treasure != 0) {
+      location.addItem(new Treasure(TreasureType.values()[treasure - 1]));
+    }
+    if ((cell & MazeRow.ARROW_BIT) != 0) {
+      location.addItem(new Arrow());
+    }
+  }
+
+  /**
+   * Gets the offset of the path on the east or south border of a chunk.
+   */
+
+  private int getBorderDoor(int chunkRow, int chunkCol, long salt) {
+    return (int) Long.remainderUnsigned(getSeed(chunkRow, chunkCol, salt), chunkSize);
+  }
+
+  /**
+   * Mixes the world seed with the position of a chunk so that nearby chunks get unrelated seeds.
+   */
+
+  private long getSeed(int chunkRow, int chunkCol, long salt) {
+    long seed = worldSeed ^ salt * 0x9E3779B97F4A7C15L;
+    seed = mix(seed ^ getChunkKey(chunkRow, chunkCol));
+    return mix(seed + salt);
+  }
+
+  private static long mix(long value) {
+    value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+    value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+    return value ^ (value >>> 31);
+  }
+
+  private static long getChunkKey(int chunkRow, int chunkCol) {
+    return ((long) chunkRow << 32) | (chunkCol & 0xffffffffL);
+  }
+
+  /**
+   * The locations of a chunk that is in memory.
+   */
+
+  private class Chunk {
+
+    private final int chunkRow;
+    private final int chunkCol;
+    private final MazeLocation[] locations;
+    private byte[] cells;
+
+    Chunk(int chunkRow, int chunkCol) {
+      this.chunkRow = chunkRow;
+      this.chunkCol = chunkCol;
+      this.locations = new MazeLocation[chunkSize * chunkSize];
+    }
+  }
+}
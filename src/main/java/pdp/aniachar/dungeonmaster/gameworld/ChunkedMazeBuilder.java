@@ -0,0 +1,71 @@
+package pdp.aniachar.dungeonmaster.gameworld;
+
+import org.jetbrains.annotations.NotNull;
+
+import pdp.aniachar.GameSession;
+import pdp.aniachar.gamekit.GameWorld;
+import pdp.aniachar.gamekit.WorldBuildStrategy;
+
+/**
+ * A strategy to build a {@link ChunkedMaze}, a world without bounds that is generated while the
+ * player explores it. The memory used by the world depends on the view radius and not on how far
+ * the player travels.
+ * A chunk should have at least {@link AbstractMazeBuilder#MIN_DISTANCE_BETWEEN_START_END} rows
+ * and columns so that the start and the end are far enough apart.
+ */
+
+public class ChunkedMazeBuilder implements WorldBuildStrategy {
+
+  private final long worldSeed;
+  private final int chunkSize;
+  private final int viewRadius;
+  private final int percentTreasure;
+  private final int endChunkDistance;
+
+  /**
+   * Builds a {@link ChunkedMaze} with the specification below.
+   *
+   * @param worldSeed        The seed from which the world is generated. The same seed always
+   *                         generates the same world.
+   * @param chunkSize        The number of rows and columns in a chunk.
+   * @param viewRadius       The number of chunks around the player that are kept in memory.
+   *                         Should be at least 1.
+   * @param percentTreasure  The percentage of caves with treasures.
+   * @param endChunkDistance The number of chunks to the east of the start where the end is.
+   *                         Should be at least 1.
+   */
+
+  public ChunkedMazeBuilder(long worldSeed, int chunkSize, int viewRadius, int percentTreasure,
+                            int endChunkDistance) {
+    if (percentTreasure > 100 || percentTreasure < 0) {
+      throw new IllegalArgumentException(
+              "percentTreasure cannot be greater than 100 or less than 0");
+    }
+    if (chunkSize < AbstractMazeBuilder.MIN_DISTANCE_BETWEEN_START_END) {
+      throw new IllegalArgumentException(String.format("Chunk size should be at least %d.",
+              AbstractMazeBuilder.MIN_DISTANCE_BETWEEN_START_END));
+    }
+    if (viewRadius < 1) {
+      throw new IllegalArgumentException("View radius should be at least 1");
+    }
+    if (endChunkDistance < 1) {
+      throw new IllegalArgumentException("End should be at least one chunk away");
+    }
+    this.worldSeed = worldSeed;
+    this.chunkSize = chunkSize;
+    this.viewRadius = viewRadius;
+    this.percentTreasure = percentTreasure;
+    this.endChunkDistance = endChunkDistance;
+  }
+
+  @Override
+  public GameWorld buildWorld() {
+    return buildWorld(GameSession.getDefault());
+  }
+
+  @Override
+  public GameWorld buildWorld(@NotNull GameSession session) {
+    return new ChunkedMaze(worldSeed, chunkSize, viewRadius, percentTreasure, endChunkDistance,
+            session);
+  }
+}
@@ -0,0 +1,308 @@
+package pdp.aniachar.dungeonmaster.gameworld;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import pdp.aniachar.GameSession;
+import pdp.aniachar.dungeonmaster.character.monster.Otyughs;
+import pdp.aniachar.gamekit.Direction;
+import pdp.aniachar.gamekit.GameWorld;
+import pdp.aniachar.gamekit.Location;
+
+/**
+ * A {@link Maze} that is stored in primitive arrays instead of a graph of {@link MazeLocation}s.
+ * Every location is identified by its row-major index i.e. {@code row * maxCols + col}.
+ * The doors of a location take four bits, with the bit {@code 1 << direction.ordinal()} set if
+ * there is a path in that {@link Direction}, and two locations share a byte. The items at a
+ * location take a byte, the lowest four bits are the number of arrows and the next bits are set
+ * for every {@link pdp.aniachar.dungeonmaster.item.TreasureType} at the location. The smell of
+ * the monsters is kept in a {@link SmellField}, which takes a byte per location.
+ * The locations handed out by the maze are views of the arrays that are created when they are
+ * asked for, see {@link CompactMazeLocation}. Two views of the same location are equal.
+ * A path at the edge of the grid leads to the other side of the grid, so wrapped mazes can be
+ * stored too.
+ * The doors and the items the maze starts with never change once the maze is built, so they are
+ * kept in buffers that may be mapped straight from a world file, see {@link WorldFile}. Only a
+ * copy of the items, which are picked up during a game, is kept on the heap.
+ */
+
+public class CompactMaze implements GameWorld {
+
+  static final int ARROW_MASK = 0xF;
+  static final int TREASURE_SHIFT = 4;
+
+  private final int maxRows;
+  private final int maxCols;
+  private final ByteBuffer doors;
+  private final byte[] items;
+  private final ByteBuffer initialItems;
+  private final SmellField smellField;
+  private final List<Otyughs> otyughs;
+  private final List<Integer> monsterIndices;
+  private final GameSession session;
+  private int startIndex;
+  private int endIndex;
+
+  /**
+   * Creates a maze with no paths and no items.
+   *
+   * @param maxRows The number of rows in the maze.
+   * @param maxCols The number of columns in the maze.
+   * @param session The session of the game the monsters of the maze live in.
+   */
+
+  CompactMaze(int maxRows, int maxCols, @NotNull GameSession session) {
+    this(maxRows, maxCols, ByteBuffer.allocate(getDoorBytes(maxRows, maxCols)),
+            ByteBuffer.allocate(getNumberOfLocations(maxRows, maxCols)), session);
+  }
+
+  /**
+   * Creates a maze with the given doors and items and no start or end.
+   * The buffers are not copied, so they should not change while the maze is used.
+   *
+   * @param maxRows      The number of rows in the maze.
+   * @param maxCols      The number of columns in the maze.
+   * @param doors        The doors of every location, two locations to a byte, see
+   *                     {@link #getDoorBytes(int, int)}.
+   * @param initialItems The items of every location when the game starts, a byte per location.
+   * @param session      The session of the game the monsters of the maze live in.
+   */
+
+  CompactMaze(int maxRows, int maxCols, @NotNull ByteBuffer doors,
+              @NotNull ByteBuffer initialItems, @NotNull GameSession session) {
+    int numberOfLocations = getNumberOfLocations(maxRows, maxCols);
+    if (doors.capacity() != getDoorBytes(maxRows, maxCols)
+            || initialItems.capacity() != numberOfLocations) {
+      throw new IllegalArgumentException("Buffers do not match the size of the maze");
+    }
+    this.maxRows = maxRows;
+    this.maxCols = maxCols;
+    this.doors = doors;
+    this.initialItems = initialItems;
+    items = new byte[numberOfLocations];
+    initialItems.duplicate().get(items);
+    smellField = new SmellField(maxRows, maxCols);
+    otyughs = new ArrayList<>();
+    monsterIndices = new ArrayList<>();
+    this.session = session;
+  }
+
+  /**
+   * Gets the number of locations of a maze of the given size.
+   *
+   * @param maxRows The number of rows in the maze.
+   * @param maxCols The number of columns in the maze.
+   * @return The number of locations.
+   */
+
+  static int getNumberOfLocations(int maxRows, int maxCols) {
+    long numberOfLocations = (long) maxRows * maxCols;
+    if (maxRows <= 0 || maxCols <= 0 || numberOfLocations > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Maze is too large");
+    }
+    return (int) numberOfLocations;
+  }
+
+  /**
+   * Gets the number of bytes the doors of a maze of the given size take.
+   *
+   * @param maxRows The number of rows in the maze.
+   * @param maxCols The number of columns in the maze.
+   * @return The number of bytes of the doors.
+   */
+
+  static int getDoorBytes(int maxRows, int maxCols) {
+    return (int) ((getNumberOfLocations(maxRows, maxCols) + 1L) / 2);
+  }
+
+  /**
+   * Sets the start and the end once all the paths and items are added.
+   * The items at this point are the ones that are brought back when the game is restarted.
+   * An {@link Otyughs} is placed at the end.
+   *
+   * @param startIndex The row-major index of the start location.
+   * @param endIndex   The row-major index of the end location.
+   */
+
+  void finishBuilding(int startIndex, int endIndex) {
+    initialItems.duplicate().put(items);
+    setStartEnd(startIndex, endIndex);
+  }
+
+  /**
+   * Sets the start and the end of a maze whose items are already the ones it starts with.
+   * An {@link Otyughs} is placed at the end.
+   *
+   * @param startIndex The row-major index of the start location.
+   * @param endIndex   The row-major index of the end location.
+   */
+
+  void setStartEnd(int startIndex, int endIndex) {
+    if (startIndex < 0 || startIndex >= items.length || endIndex < 0
+            || endIndex >= items.length) {
+      throw new IllegalArgumentException("Start or end is outside the maze");
+    }
+    this.startIndex = startIndex;
+    this.endIndex = endIndex;
+    otyughs.add(new Otyughs(getLocation(endIndex), "Ender", smellField, session));
+  }
+
+  /**
+   * Places an {@link Otyughs} at a location other than the end.
+   *
+   * @param index The row-major index of the location.
+   */
+
+  void addMonster(int index) {
+    if (index < 0 || index >= items.length) {
+      throw new IllegalArgumentException("Monster is outside the maze");
+    }
+    IMazeLocation location = getLocation(index);
+    otyughs.add(new Otyughs(location, String.format("Otyughs at %s", location), smellField,
+            session));
+    monsterIndices.add(index);
+  }
+
+  @Override
+  public Location<?> getStartLocation() {
+    return getLocation(startIndex);
+  }
+
+  @Override
+  public Location<?> getEndLocation() {
+    return getLocation(endIndex);
+  }
+
+  @Override
+  public void restart() {
+    for (Otyughs monster : otyughs) {
+      monster.bringBackToLife();
+    }
+    initialItems.duplicate().get(items);
+  }
+
+  /**
+   * Gets the location at the given row and column.
+   *
+   * @param row The row of the location.
+   * @param col The column of the location.
+   * @return A view of the location.
+   */
+
+  public IMazeLocation getLocation(int row, int col) {
+    if (row < 0 || row >= maxRows || col < 0 || col >= maxCols) {
+      throw new IllegalArgumentException("Location is outside the maze");
+    }
+    return getLocation(row * maxCols + col);
+  }
+
+  public int getMaxRows() {
+    return maxRows;
+  }
+
+  public int getMaxCols() {
+    return maxCols;
+  }
+
+  IMazeLocation getLocation(int index) {
+    return new CompactMazeLocation(this, index);
+  }
+
+  int getRow(int index) {
+    return index / maxCols;
+  }
+
+  int getCol(int index) {
+    return index % maxCols;
+  }
+
+  int getDoors(int index) {
+    return (doors.get(index >>> 1) >>> ((index & 1) << 2)) & MazeRow.DOOR_MASK;
+  }
+
+  void addDoors(int index, int doorBits) {
+    int doorByte = index >>> 1;
+    doors.put(doorByte, (byte) (doors.get(doorByte)
+            | (doorBits & MazeRow.DOOR_MASK) << ((index & 1) << 2)));
+  }
+
+  /**
+   * Gets the location next to the given one. The edges of the grid wrap around.
+   *
+   * @param index     The row-major index of the location.
+   * @param direction The direction of the neighbour.
+   * @return The row-major index of the neighbour.
+   */
+
+  int getNeighbour(int index, @NotNull Direction direction) {
+    int row = getRow(index);
+    int col = getCol(index);
+    switch (direction) {
+      case NORTH:
+        return (row == 0 ? maxRows - 1 : row - 1) * maxCols + col;
+      case SOUTH:
+        return (row == maxRows - 1 ? 0 : row + 1) * maxCols + col;
+      case EAST:
+        return row * maxCols + (col == maxCols - 1 ? 0 : col + 1);
+      case WEST:
+        return row * maxCols + (col == 0 ? maxCols - 1 : col - 1);
+      default:
+        throw new IllegalArgumentException("Not a valid direction");
+    }
+  }
+
+  byte getItems(int index) {
+    return items[index];
+  }
+
+  void setItems(int index, byte itemBits) {
+    items[index] = itemBits;
+  }
+
+  SmellField getSmellField() {
+    return smellField;
+  }
+
+  int getStartIndex() {
+    return startIndex;
+  }
+
+  int getEndIndex() {
+    return endIndex;
+  }
+
+  /**
+   * Gets the doors of every location, as they are laid out in a world file.
+   *
+   * @return A read-only view of the doors.
+   */
+
+  ByteBuffer getDoorBuffer() {
+    return doors.asReadOnlyBuffer();
+  }
+
+  /**
+   * Gets the items every location starts with, as they are laid out in a world file.
+   *
+   * @return A read-only view of the items.
+   */
+
+  ByteBuffer getInitialItemBuffer() {
+    return initialItems.asReadOnlyBuffer();
+  }
+
+  /**
+   * Gets the locations of the monsters other than the one at the end, see
+   * {@link #addMonster(int)}.
+   *
+   * @return The row-major indices of the monsters.
+   */
+
+  List<Integer> getMonsterIndices() {
+    return Collections.unmodifiableList(monsterIndices);
+  }
+}
@@ -0,0 +1,87 @@
+package pdp.aniachar.dungeonmaster.gameworld;
+
+import org.jetbrains.annotations.NotNull;
+
+import pdp.aniachar.GameSession;
+import pdp.aniachar.RandomService.Subsystem;
+import pdp.aniachar.dungeonmaster.item.TreasureType;
+import pdp.aniachar.gamekit.GameWorld;
+import pdp.aniachar.gamekit.WorldBuildStrategy;
+
+/**
+ * A strategy to build a {@link CompactMaze}.
+ * The paths and the items are generated one row at a time by an {@link EllerMazeBuilder} and
+ * written straight into the arrays of the maze, so no {@link MazeLocation} is created while the
+ * maze is built. This makes it possible to build mazes with hundreds of millions of locations.
+ * The maze draws from the {@link Subsystem#MAZE} stream of the session, so the same seed builds
+ * the same maze.
+ */
+
+public class CompactMazeBuilder implements WorldBuildStrategy {
+
+  private final EllerMazeBuilder rowBuilder;
+
+  /**
+   * Builds a random {@link CompactMaze} with the specification below.
+   *
+   * @param maxRows         The number of rows the maze has.
+   * @param maxCols         The number of columns the maze has.
+   * @param percentTreasure The percentage of caves with treasures.
+   */
+
+  public CompactMazeBuilder(int maxRows, int maxCols, int percentTreasure) {
+    rowBuilder = new EllerMazeBuilder(maxRows, maxCols, percentTreasure);
+  }
+
+  @Override
+  public GameWorld buildWorld() {
+    return buildWorld(GameSession.getDefault());
+  }
+
+  @Override
+  public GameWorld buildWorld(@NotNull GameSession session) {
+    CompactMazeSink sink = new CompactMazeSink(session);
+    rowBuilder.generate(sink, session.getRandomService().getStream(Subsystem.MAZE));
+    return sink.maze;
+  }
+
+  /**
+   * Copies every row into the arrays of a {@link CompactMaze}.
+   */
+
+  private static class CompactMazeSink implements MazeRowSink {
+
+    private final GameSession session;
+    private CompactMaze maze;
+    private int maxCols;
+
+    CompactMazeSink(GameSession session) {
+      this.session = session;
+    }
+
+    @Override
+    public void begin(int maxRows, int maxCols) {
+      this.maxCols = maxCols;
+      maze = new CompactMaze(maxRows, maxCols, session);
+    }
+
+    @Override
+    public void acceptRow(@NotNull MazeRow row) {
+      int firstIndex = row.getRow() * maxCols;
+      for (int c = 0; c < maxCols; c++) {
+        maze.addDoors(firstIndex + c, row.getCell(c));
+        int itemBits = row.hasArrow(c) ? 1 : 0;
+        TreasureType treasureType = row.getTreasure(c);
+        if (treasureType != null) {
+          itemBits |= CompactMazeLocation.getTreasureBit(treasureType);
+        }
+        maze.setItems(firstIndex + c, (byte) itemBits);
+      }
+    }
+
+    @Override
+    public void finish(int startRow, int startCol, int endRow, int endCol) {
+      maze.finishBuilding(startRow * maxCols + startCol, endRow * maxCols + endCol);
+    }
+  }
+}
@@ -0,0 +1,202 @@
+package pdp.aniachar.dungeonmaster.gameworld;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import pdp.aniachar.dungeonmaster.action.location.MoveAction;
+import pdp.aniachar.dungeonmaster.action.location.MoveActionBuilder;
+import pdp.aniachar.dungeonmaster.action.location.PickItemAction;
+import pdp.aniachar.dungeonmaster.action.location.PickItemActionBuilder;
+import pdp.aniachar.dungeonmaster.item.Arrow;
+import pdp.aniachar.dungeonmaster.item.Treasure;
+import pdp.aniachar.dungeonmaster.item.TreasureType;
+import pdp.aniachar.gamekit.Action;
+import pdp.aniachar.gamekit.Direction;
+import pdp.aniachar.gamekit.Item;
+import pdp.aniachar.gamekit.ItemType;
+import pdp.aniachar.gamekit.Location;
+
+/**
+ * A view of a single location of a {@link CompactMaze}.
+ * The view only holds the maze and the index of the location, all the state is read from and
+ * written to the arrays of the maze. The items, the move actions and the pick actions are created
+ * every time they are asked for. Items are picked by their type, so any {@link Arrow} or any
+ * {@link Treasure} of the right type that is handed back is removed from the location.
+ */
+
+final class CompactMazeLocation implements IMazeLocation {
+
+  private final CompactMaze maze;
+  private final int index;
+  private Pair<Integer, Integer> locationDescription;
+
+  CompactMazeLocation(@NotNull CompactMaze maze, int index) {
+    this.maze = maze;
+    this.index = index;
+  }
+
+  @Override
+  public long getCellId() {
+    return CellId.of(maze.getRow(index), maze.getCol(index));
+  }
+
+  @Override
+  public List<MoveAction> getMoveAction() {
+    int doors = maze.getDoors(index);
+    List<MoveAction> moveActions = new ArrayList<>(Integer.bitCount(doors));
+    for (Direction direction : Direction.values()) {
+      MoveAction moveAction = getMoveAction(direction);
+      if (moveAction != null) {
+        moveActions.add(moveAction);
+      }
+    }
+    return moveActions;
+  }
+
+  @Override
+  public MoveAction getMoveAction(@NotNull Direction direction) {
+    if ((maze.getDoors(index) & MazeRow.getDoorBit(direction)) == 0) {
+      return null;
+    }
+    return new MoveActionBuilder()
+            .setWhereTo(maze.getLocation(maze.getNeighbour(index, direction)))
+            .setDirection(direction).build();
+  }
+
+  @Override
+  public int getNumberOfExits() {
+    return Integer.bitCount(maze.getDoors(index));
+  }
+
+  @Override
+  public Map<ItemType, PickItemAction> getPickItemActions() {
+    Map<ItemType, PickItemAction> result = new HashMap<>();
+    for (Item item : getItems()) {
+      result.put(item.getItemType(), createPickItemAction(item));
+    }
+    return result;
+  }
+
+  @Override
+  public void addSmell(SmellStrength smellStrength) {
+    maze.getSmellField().addSmellAt(index, SmellField.amountOf(smellStrength));
+  }
+
+  @Override
+  public void removeSmell(SmellStrength smellStrength) {
+    maze.getSmellField().addSmellAt(index, -SmellField.amountOf(smellStrength));
+  }
+
+  @Override
+  public List<Item> getItems() {
+    int itemBits = maze.getItems(index);
+    List<Item> result = new ArrayList<>();
+    for (TreasureType treasureType : TreasureType.values()) {
+      if ((itemBits & getTreasureBit(treasureType)) != 0) {
+        result.add(new Treasure(treasureType));
+      }
+    }
+    for (int i = 0; i < (itemBits & CompactMaze.ARROW_MASK); i++) {
+      result.add(new Arrow());
+    }
+    return result;
+  }
+
+  @Override
+  public List<Action<?>> possibleActions() {
+    List<Action<?>> possibleActions = new ArrayList<>(getMoveAction());
+    for (Item item : getItems()) {
+      possibleActions.add(createPickItemAction(item));
+    }
+    return possibleActions;
+  }
+
+  @Override
+  public Location<Pair<Integer, Integer>> copy() {
+    return new CompactMazeLocation(maze, index);
+  }
+
+  @Override
+  public boolean removeItem(@NotNull Item itemToRemove) {
+    int itemBits = maze.getItems(index);
+    if (itemToRemove.getItemType() == ItemType.ARROW) {
+      if ((itemBits & CompactMaze.ARROW_MASK) == 0) {
+        return false;
+      }
+      maze.setItems(index, (byte) (itemBits - 1));
+      return true;
+    }
+    if (itemToRemove instanceof Treasure) {
+      int treasureBit = getTreasureBit(((Treasure) itemToRemove).getTreasureType());
+      if ((itemBits & treasureBit) == 0) {
+        return false;
+      }
+      maze.setItems(index, (byte) (itemBits & ~treasureBit));
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * The items of the location are brought back by the {@link CompactMaze} for all the locations
+   * at once, so there is nothing to do for a single view.
+   */
+
+  @Override
+  public void restart() {
+    // Items are restored by CompactMaze#restart().
+  }
+
+  @Override
+  public Pair<Integer, Integer> getLocationDescription() {
+    if (locationDescription == null) {
+      locationDescription = new ImmutablePair<>(maze.getRow(index), maze.getCol(index));
+    }
+    return locationDescription;
+  }
+
+  @Override
+  public SmellStrength getSmellStrength() {
+    return SmellField.toSmellStrength(maze.getSmellField().getSmellAt(index));
+  }
+
+  @Override
+  public String toString() {
+    return String.format("Location %s\n", getLocationDescription());
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+
+    if (!(o instanceof CompactMazeLocation)) {
+      return false;
+    }
+
+    CompactMazeLocation that = (CompactMazeLocation) o;
+
+    return maze == that.maze && index == that.index;
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * System.identityHashCode(maze) + index;
+  }
+
+  static int getTreasureBit(@NotNull TreasureType treasureType) {
+    return 1 << (CompactMaze.TREASURE_SHIFT + treasureType.ordinal());
+  }
+
+  private PickItemAction createPickItemAction(Item item) {
+    return new PickItemActionBuilder().setActionLocation(this).setItemToPick(item)
+            .createPickItemAction();
+  }
+}
@@ -0,0 +1,113 @@
+package pdp.aniachar.dungeonmaster.gameworld;
+
+/**
+ * A disjoint set (union-find) over the integer indices 0 to n - 1.
+ * Used as the connectivity engine when building a {@link Maze}. Each location in the grid is
+ * represented by its row-major index i.e. {@code row * maxCols + col}.
+ * Uses path compression and union by rank, which makes both {@link #find(int)} and
+ * {@link #union(int, int)} run in amortized near constant time.
+ */
+
+public class DisjointSet {
+
+  private final int[] parent;
+  private final byte[] rank;
+  private int numberOfSets;
+
+  /**
+   * Creates a disjoint set where every index is in a set of its own.
+   *
+   * @param size The number of indices in the set.
+   */
+
+  public DisjointSet(int size) {
+    if (size < 0) {
+      throw new IllegalArgumentException("Size of a disjoint set cannot be negative");
+    }
+    parent = new int[size];
+    rank = new byte[size];
+    for (int i = 0; i < size; i++) {
+      parent[i] = i;
+    }
+    numberOfSets = size;
+  }
+
+  /**
+   * Finds the representative of the set that the index belongs to.
+   *
+   * @param index The index whose set needs to be found.
+   * @return The representative index of the set.
+   */
+
+  public int find(int index) {
+    int root = index;
+    while (parent[root] != root) {
+      root = parent[root];
+    }
+    // Compress the path so that every node on it points to the root.
+    while (parent[index] != root) {
+      int next = parent[index];
+      parent[index] = root;
+      index = next;
+    }
+    return root;
+  }
+
+  /**
+   * Merges the sets that the two indices belong to.
+   *
+   * @param first  An index in the first set.
+   * @param second An index in the second set.
+   * @return true if the sets were merged, false if the indices were already in the same set.
+   */
+
+  public boolean union(int first, int second) {
+    int firstRoot = find(first);
+    int secondRoot = find(second);
+    if (firstRoot == secondRoot) {
+      return false;
+    }
+    if (rank[firstRoot] < rank[secondRoot]) {
+      parent[firstRoot] = secondRoot;
+    } else if (rank[firstRoot] > rank[secondRoot]) {
+      parent[secondRoot] = firstRoot;
+    } else {
+      parent[secondRoot] = firstRoot;
+      rank[firstRoot]++;
+    }
+    numberOfSets--;
+    return true;
+  }
+
+  /**
+   * Checks if the two indices are in the same set.
+   *
+   * @param first  The first index.
+   * @param second The second index.
+   * @return true if both the indices are connected.
+   */
+
+  public boolean isConnected(int first, int second) {
+    return find(first) == find(second);
+  }
+
+  /**
+   * Gets the number of disjoint sets.
+   *
+   * @return The number of disjoint sets.
+   */
+
+  public int getNumberOfSets() {
+    return numberOfSets;
+  }
+
+  /**
+   * Gets the number of indices in the disjoint set.
+   *
+   * @return The number of indices.
+   */
+
+  public int size() {
+    return parent.length;
+  }
+}
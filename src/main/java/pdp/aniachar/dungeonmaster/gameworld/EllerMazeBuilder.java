@@ -0,0 +1,310 @@
+package pdp.aniachar.dungeonmaster.gameworld;
+
+import org.apache.commons.lang3.tuple.MutablePair;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import pdp.aniachar.GameSession;
+import pdp.aniachar.RandomService.Subsystem;
+import pdp.aniachar.dungeonmaster.character.monster.Otyughs;
+import pdp.aniachar.dungeonmaster.item.Arrow;
+import pdp.aniachar.dungeonmaster.item.Treasure;
+import pdp.aniachar.dungeonmaster.item.TreasureType;
+import pdp.aniachar.gamekit.Direction;
+import pdp.aniachar.gamekit.GameWorld;
+import pdp.aniachar.gamekit.WorldBuildStrategy;
+
+/**
+ * A strategy to build a random {@link Maze} one row at a time using Eller's algorithm.
+ * Only the sets of the current row are kept in memory, so the memory needed to generate a maze
+ * grows with the number of columns and not with the number of rows. The rows are handed to a
+ * {@link MazeRowSink} using {@link #generate(MazeRowSink)}, which can write them to a file
+ * (see {@link MazeRowFileSink}) or render them. {@link #buildWorld()} keeps all the rows and
+ * builds a playable {@link Maze}.
+ * A maze built for a {@link GameSession} draws from the {@link Subsystem#MAZE} stream of the
+ * session, so the same seed builds the same maze. A maze that is only generated draws from a
+ * stream with a random seed.
+ * The maze is a spanning tree of the grid i.e. there is exactly one path between any two
+ * locations. Mazes built this way cannot be wrapped.
+ * As with {@link RandomMazeBuilder}, treasures are only placed in caves and the percentage of
+ * caves with treasure is the same as the percentage of locations with an arrow. Because the total
+ * number of caves is only known at the end, the number of treasures and arrows is within one of
+ * the requested percentage at every row.
+ * The start location is a cave in the first row that has a cave, and the end location is a cave
+ * in the last row that has a cave and is at least
+ * {@link AbstractMazeBuilder#MIN_DISTANCE_BETWEEN_START_END} rows further down. As every path
+ * between two rows visits every row in between, the two are at least that far apart.
+ */
+
+public class EllerMazeBuilder implements WorldBuildStrategy {
+
+  private final int maxRows;
+  private final int maxCols;
+  private final int percentTreasure;
+
+  /**
+   * Builds a random {@link Maze} with the specification below.
+   *
+   * @param maxRows         The number of rows the maze has.
+   * @param maxCols         The number of columns the maze has.
+   * @param percentTreasure The percentage of caves with treasures.
+   */
+
+  public EllerMazeBuilder(int maxRows, int maxCols, int percentTreasure) {
+    if (percentTreasure > 100 || percentTreasure < 0) {
+      throw new IllegalArgumentException(
+              "percentTreasure cannot be greater than 100 or less than 0");
+    }
+    if (maxCols < AbstractMazeBuilder.MIN_GRID_SIZE
+            || maxRows < AbstractMazeBuilder.MIN_GRID_SIZE) {
+      throw new IllegalArgumentException(String
+              .format("Rows and columns should be at least %d.",
+                      AbstractMazeBuilder.MIN_GRID_SIZE));
+    }
+    this.maxRows = maxRows;
+    this.maxCols = maxCols;
+    this.percentTreasure = percentTreasure;
+  }
+
+  @Override
+  public GameWorld buildWorld() {
+    return buildWorld(GameSession.getDefault());
+  }
+
+  @Override
+  public GameWorld buildWorld(@NotNull GameSession session) {
+    MaterializingSink sink = new MaterializingSink(session);
+    generate(sink, session.getRandomService().getStream(Subsystem.MAZE));
+    return sink.maze;
+  }
+
+  /**
+   * Generates the maze and hands it row by row to the sink. The maze is drawn from a stream with
+   * a random seed.
+   *
+   * @param sink The consumer of the rows.
+   */
+
+  public void generate(@NotNull MazeRowSink sink) {
+    generate(sink, new SplittableRandom());
+  }
+
+  /**
+   * Generates the maze from the given stream and hands it row by row to the sink. The same
+   * stream state generates the same maze.
+   *
+   * @param sink   The consumer of the rows.
+   * @param random The stream every random choice is drawn from.
+   */
+
+  public void generate(@NotNull MazeRowSink sink, @NotNull SplittableRandom random) {
+    sink.begin(maxRows, maxCols);
+    MazeRow row = new MazeRow(maxCols);
+    // The set of every location in the previous row, identified by the column of its root.
+    int[] previousSet = new int[maxCols];
+    // If the location in the previous row has a path to the south.
+    boolean[] goesDown = new boolean[maxCols];
+    // Scratch space indexed by the root of a set.
+    int[] firstColumn = new int[maxCols];
+    int[] numberOfMembers = new int[maxCols];
+    int[] chosenMember = new int[maxCols];
+    boolean[] hasPathDown = new boolean[maxCols];
+
+    long numberCaves = 0;
+    long numberTreasure = 0;
+    long numberLocations = 0;
+    long numberArrows = 0;
+    int startRow = -1;
+    int startCol = -1;
+    int endRow = -1;
+    int endCol = -1;
+
+    for (int r = 0; r < maxRows; r++) {
+      row.reset(r);
+      DisjointSet sets = new DisjointSet(maxCols);
+      boolean isLastRow = r == maxRows - 1;
+
+      // Locations joined from the row above stay in the same set.
+      if (r > 0) {
+        Arrays.fill(firstColumn, -1);
+        for (int c = 0; c < maxCols; c++) {
+          if (goesDown[c]) {
+            row.addDoor(c, Direction.NORTH);
+            int set = previousSet[c];
+            if (firstColumn[set] == -1) {
+              firstColumn[set] = c;
+            } else {
+              sets.union(firstColumn[set], c);
+            }
+          }
+        }
+      }
+
+      // Join adjacent locations of different sets. The last row joins all of them.
+      for (int c = 0; c < maxCols - 1; c++) {
+        if (!sets.isConnected(c, c + 1) && (isLastRow || random.nextBoolean())) {
+          sets.union(c, c + 1);
+          row.addDoor(c, Direction.EAST);
+          row.addDoor(c + 1, Direction.WEST);
+        }
+      }
+
+      // Every set needs at least one path to the next row.
+      if (!isLastRow) {
+        Arrays.fill(numberOfMembers, 0);
+        Arrays.fill(hasPathDown, false);
+        for (int c = 0; c < maxCols; c++) {
+          int root = sets.find(c);
+          goesDown[c] = random.nextBoolean();
+          hasPathDown[root] |= goesDown[c];
+          numberOfMembers[root]++;
+          if (random.nextInt(numberOfMembers[root]) == 0) {
+            chosenMember[root] = c;
+          }
+        }
+        for (int c = 0; c < maxCols; c++) {
+          int root = sets.find(c);
+          if (!hasPathDown[root]) {
+            goesDown[chosenMember[root]] = true;
+            hasPathDown[root] = true;
+          }
+        }
+        for (int c = 0; c < maxCols; c++) {
+          previousSet[c] = sets.find(c);
+          if (goesDown[c]) {
+            row.addDoor(c, Direction.SOUTH);
+          }
+        }
+      }
+
+      int cavesInRow = 0;
+      int pickedCave = -1;
+      for (int c = 0; c < maxCols; c++) {
+        if (row.getNumberOfDoors(c) != 2) {
+          numberCaves++;
+          if (shouldPlaceItem(numberCaves, numberTreasure, random)) {
+            row.addTreasure(c, randomTreasure(random));
+            numberTreasure++;
+          }
+          cavesInRow++;
+          if (random.nextInt(cavesInRow) == 0) {
+            pickedCave = c;
+          }
+        }
+        numberLocations++;
+        if (shouldPlaceItem(numberLocations, numberArrows, random)) {
+          row.addArrow(c);
+          numberArrows++;
+        }
+      }
+      if (pickedCave != -1) {
+        if (startRow == -1) {
+          startRow = r;
+          startCol = pickedCave;
+        } else if (r - startRow >= AbstractMazeBuilder.MIN_DISTANCE_BETWEEN_START_END) {
+          endRow = r;
+          endCol = pickedCave;
+        }
+      }
+      sink.acceptRow(row);
+    }
+    if (endRow == -1) {
+      throw new IllegalStateException("No end cave found");
+    }
+    sink.finish(startRow, startCol, endRow, endCol);
+  }
+
+  /**
+   * Decides if the next candidate location gets an item.
+   * After every decision the number of items is between the floor and the ceiling of
+   * {@link #percentTreasure} percent of the candidates seen so far.
+   *
+   * @param numberCandidates The number of candidates seen including this one.
+   * @param numberPlaced     The number of items placed so far.
+   * @param random           The stream of the generation.
+   * @return true if an item should be placed at the candidate.
+   */
+
+  private boolean shouldPlaceItem(long numberCandidates, long numberPlaced,
+                                  SplittableRandom random) {
+    long upperBound = (numberCandidates * percentTreasure + 99) / 100;
+    long lowerBound = numberCandidates * percentTreasure / 100;
+    if (numberPlaced >= upperBound) {
+      return false;
+    }
+    if (numberPlaced < lowerBound) {
+      return true;
+    }
+    return random.nextInt(100) < percentTreasure;
+  }
+
+  private TreasureType randomTreasure(SplittableRandom random) {
+    TreasureType[] treasureTypes = TreasureType.values();
+    return treasureTypes[random.nextInt(treasureTypes.length)];
+  }
+
+  /**
+   * Keeps every row and builds a {@link Maze} out of it.
+   */
+
+  private static class MaterializingSink implements MazeRowSink {
+
+    private final GameSession session;
+    private IMazeLocation[] grid;
+    private int maxCols;
+    private SmellField smellField;
+    private TopologyVersion topologyVersion;
+    private Maze maze;
+
+    MaterializingSink(GameSession session) {
+      this.session = session;
+    }
+
+    @Override
+    public void begin(int maxRows, int maxCols) {
+      this.maxCols = maxCols;
+      grid = new IMazeLocation[maxRows * maxCols];
+      smellField = new SmellField(maxRows, maxCols);
+      topologyVersion = new TopologyVersion();
+    }
+
+    @Override
+    public void acceptRow(@NotNull MazeRow row) {
+      int r = row.getRow();
+      for (int c = 0; c < maxCols; c++) {
+        MazeLocation location = new MazeLocation(new MutablePair<>(r, c));
+        location.setSmellField(smellField);
+        location.setTopologyVersion(topologyVersion);
+        grid[r * maxCols + c] = location;
+        if (row.hasDoor(c, Direction.WEST)) {
+          IMazeLocationBuilder.makeAdjacent(grid[r * maxCols + c - 1], location, Direction.EAST);
+        }
+        if (row.hasDoor(c, Direction.NORTH)) {
+          IMazeLocationBuilder.makeAdjacent(grid[(r - 1) * maxCols + c], location,
+                  Direction.SOUTH);
+        }
+        TreasureType treasureType = row.getTreasure(c);
+        if (treasureType != null) {
+          location.addItem(new Treasure(treasureType));
+        }
+        if (row.hasArrow(c)) {
+          location.addItem(new Arrow());
+        }
+      }
+    }
+
+    @Override
+    public void finish(int startRow, int startCol, int endRow, int endCol) {
+      IMazeLocation end = grid[endRow * maxCols + endCol];
+      List<Otyughs> otyughs = new ArrayList<>();
+      otyughs.add(new Otyughs(end, "Ender", smellField, session));
+      maze = new Maze(grid[startRow * maxCols + startCol], end,
+              new HashSet<>(Arrays.asList(grid)), otyughs);
+    }
+  }
+}
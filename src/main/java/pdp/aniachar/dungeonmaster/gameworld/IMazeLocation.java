@@ -1,32 +1,95 @@
 package pdp.aniachar.dungeonmaster.gameworld;
 
 import org.apache.commons.lang3.tuple.Pair;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 
 import pdp.aniachar.dungeonmaster.action.location.MoveAction;
 import pdp.aniachar.dungeonmaster.action.location.PickItemAction;
+import pdp.aniachar.gamekit.Direction;
 import pdp.aniachar.gamekit.ItemType;
 import pdp.aniachar.gamekit.Location;
 
 /**
  * A specific location that can be used in the maze.
  * A maze location will have smell associated with it.
+ * The identity of a location is its {@link #getCellId()}, the (row, column) pair returned by
+ * {@link #getLocationDescription()} is kept for display.
  */
 
 public interface IMazeLocation extends Location<Pair<Integer, Integer>> {
 
+  /**
+   * Gets the id of the location, see {@link CellId}.
+   * Two locations of the same maze are equal if and only if they have the same id.
+   *
+   * @return The packed row and column of the location.
+   */
+
+  long getCellId();
+
   /**
    * Gets the move actions that are at this location.
+   * The list is ordered by {@link Direction} and cannot be modified. It can be iterated by index
+   * without creating any objects.
    *
    * @return ALl legal move actions that are in the location.
    */
 
   List<MoveAction> getMoveAction();
 
+  /**
+   * Gets the move action that leads in the given direction.
+   *
+   * @param direction The direction to move.
+   * @return The move action or null if there is no path in that direction.
+   */
+
+  @Nullable MoveAction getMoveAction(@NotNull Direction direction);
+
+  /**
+   * Gets the number of paths that lead out of this location.
+   * A location with exactly two paths is a tunnel, any other location is a cave.
+   *
+   * @return The number of move actions at this location.
+   */
+
+  int getNumberOfExits();
+
+  /**
+   * Gets the move actions that are at this location keyed by their direction.
+   * Locations may keep the table until their paths change, so it should not be modified.
+   *
+   * @return All legal move actions that are in the location.
+   */
+
+  default Map<Direction, MoveAction> getMoveActionTable() {
+    Map<Direction, MoveAction> moveActionTable = new EnumMap<>(Direction.class);
+    for (MoveAction moveAction : getMoveAction()) {
+      moveActionTable.put(moveAction.getDirection(), moveAction);
+    }
+    return moveActionTable;
+  }
+
+  /**
+   * Gets the path an arrow shot from this location in the given direction takes.
+   * Locations may keep the trajectory until a path of the maze changes.
+   *
+   * @param direction The direction the arrow is shot in.
+   * @return The trajectory of the arrow.
+   */
+
+  default ArrowTrajectory getArrowTrajectory(@NotNull Direction direction) {
+    return ArrowTrajectory.compute(this, direction);
+  }
+
   /**
    * Gets all legal pick actions in the location.
+   * Locations may keep the map until their items change, so it should not be modified.
    *
    * @return All legal pick action in the location.
    */
@@ -4,12 +4,10 @@ import org.apache.commons.lang3.tuple.MutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.Queue;
-import java.util.Set;
 
 import pdp.aniachar.dungeonmaster.action.location.MoveAction;
 import pdp.aniachar.dungeonmaster.action.location.MoveActionBuilder;
@@ -91,6 +89,46 @@ public class IMazeLocationBuilder {
             .build());
   }
 
+  /**
+   * Makes two {@link IMazeLocation} adjacent when the direction between them is already known.
+   *
+   * @param from      The location from where the path starts.
+   * @param to        The location where the path ends.
+   * @param direction The direction to travel from {@code from} to reach {@code to}.
+   */
+
+  static void makeAdjacent(@NotNull IMazeLocation from, @NotNull IMazeLocation to,
+                           @NotNull Direction direction) {
+    ((MazeLocation) from).addMoveAction(new MoveActionBuilder()
+            .setWhereTo(to)
+            .setDirection(direction).build());
+    ((MazeLocation) to).addMoveAction(new MoveActionBuilder()
+            .setWhereTo(from)
+            .setDirection(getOppositeDirection(direction)).build());
+  }
+
+  /**
+   * Gets the direction that leads back to where one came from.
+   *
+   * @param direction The direction of travel.
+   * @return The opposite direction.
+   */
+
+  static Direction getOppositeDirection(@NotNull Direction direction) {
+    switch (direction) {
+      case NORTH:
+        return Direction.SOUTH;
+      case SOUTH:
+        return Direction.NORTH;
+      case EAST:
+        return Direction.WEST;
+      case WEST:
+        return Direction.EAST;
+      default:
+        throw new IllegalArgumentException("Not a valid direction");
+    }
+  }
+
   /**
    * Calculates the distance to all nodes from the given node.
    * This uses breath first search to traverse the maze.
@@ -100,26 +138,71 @@ public class IMazeLocationBuilder {
    */
 
   public static Map<IMazeLocation, Integer> distanceToAllNodes(IMazeLocation startLocation) {
+    return distanceToNodesWithin(startLocation, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Calculates the distance to the nodes that are at most the given distance away.
+   * This uses breath first search that stops at the given distance, so only the part of the maze
+   * around the start location is visited.
+   *
+   * @param startLocation The start location.
+   * @param maxDistance   The largest distance to calculate.
+   * @return The map of location and distance from start location.
+   */
+
+  public static Map<IMazeLocation, Integer> distanceToNodesWithin(IMazeLocation startLocation,
+                                                                  int maxDistance) {
     var distanceMap = new HashMap<IMazeLocation, Integer>();
-    distanceMap.put(startLocation, 0);
-    Queue<IMazeLocation> queue = new ArrayDeque<>();
-    Set<IMazeLocation> visited = new HashSet<>();
-    queue.add(startLocation);
-    while (!queue.isEmpty()) {
-      IMazeLocation currentLocation = queue.remove();
-
-      visited.add(currentLocation);
-      for (MoveAction action :
-              currentLocation.getMoveAction()) {
-        var adjLocation = (IMazeLocation) action.act().orElseThrow();
-        distanceMap.computeIfAbsent(adjLocation, value -> distanceMap.get(currentLocation) + 1);
-        queue.add((IMazeLocation) action.act().orElseThrow());
-      }
-      queue.removeAll(visited);
-    }
+    visitWithin(startLocation, maxDistance, distanceMap::put);
     return distanceMap;
   }
 
+  /**
+   * Visits every location that is at most the given distance away from the start location,
+   * including the start location itself.
+   * This uses breath first search that goes one distance at a time and stops at the given
+   * distance. The visited locations are marked by their {@link CellId} in a {@link CellIdSet},
+   * so the cost only depends on the number of locations within the distance.
+   *
+   * @param startLocation The start location.
+   * @param maxDistance   The largest distance to visit. Should be a non-negative number.
+   * @param visitor       Called for every location that is reached, in order of distance.
+   */
+
+  public static void visitWithin(@NotNull IMazeLocation startLocation, int maxDistance,
+                                 @NotNull LocationVisitor visitor) {
+    if (maxDistance < 0) {
+      throw new IllegalArgumentException("Distance cannot be negative");
+    }
+    CellIdSet visited = new CellIdSet();
+    List<IMazeLocation> currentLevel = new ArrayList<>();
+    List<IMazeLocation> nextLevel = new ArrayList<>();
+    visited.add(startLocation.getCellId());
+    currentLevel.add(startLocation);
+    int distance = 0;
+    while (!currentLevel.isEmpty()) {
+      for (int i = 0; i < currentLevel.size(); i++) {
+        IMazeLocation currentLocation = currentLevel.get(i);
+        visitor.visit(currentLocation, distance);
+        if (distance == maxDistance) {
+          continue;
+        }
+        List<MoveAction> moveActions = currentLocation.getMoveAction();
+        for (int j = 0; j < moveActions.size(); j++) {
+          var adjLocation = (IMazeLocation) moveActions.get(j).getWhereTo();
+          if (visited.add(adjLocation.getCellId())) {
+            nextLevel.add(adjLocation);
+          }
+        }
+      }
+      List<IMazeLocation> visitedLevel = currentLevel;
+      currentLevel = nextLevel;
+      nextLevel = visitedLevel;
+      nextLevel.clear();
+      distance++;
+    }
+  }
 
   /**
    * Adds treasure to the given location.
@@ -0,0 +1,19 @@
+package pdp.aniachar.dungeonmaster.gameworld;
+
+/**
+ * Receives the locations found by a traversal of the maze, see
+ * {@link IMazeLocationBuilder#visitWithin(IMazeLocation, int, LocationVisitor)}.
+ */
+
+@FunctionalInterface
+public interface LocationVisitor {
+
+  /**
+   * Called once for every location that is reached, in order of distance.
+   *
+   * @param location The location that was reached.
+   * @param distance The number of moves from the start location.
+   */
+
+  void visit(IMazeLocation location, int distance);
+}
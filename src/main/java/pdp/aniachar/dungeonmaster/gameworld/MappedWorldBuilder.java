@@ -0,0 +1,147 @@
+package pdp.aniachar.dungeonmaster.gameworld;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import pdp.aniachar.GameSession;
+import pdp.aniachar.gamekit.Direction;
+import pdp.aniachar.gamekit.GameWorld;
+import pdp.aniachar.gamekit.WorldBuildStrategy;
+
+/**
+ * A strategy to load a {@link CompactMaze} saved in a {@link WorldFile}.
+ * The doors and the items of the file are mapped into memory and used by the maze as they are,
+ * so nothing is parsed and nothing is copied but the items that can be picked up. A world with
+ * millions of locations opens in a few milliseconds, the pages of the file are read when the
+ * player gets to them. The doors are not checked when the world is built, see
+ * {@link #verify()}. Every world built loads the file again, so the file should not change while
+ * a game uses it.
+ */
+
+public class MappedWorldBuilder implements WorldBuildStrategy {
+
+  private final Path file;
+
+  /**
+   * Loads the world saved in the given file.
+   *
+   * @param file The world file, see {@link WorldFile#save(CompactMaze, Path)}.
+   */
+
+  public MappedWorldBuilder(@NotNull Path file) {
+    this.file = file;
+  }
+
+  @Override
+  public GameWorld buildWorld() {
+    return buildWorld(GameSession.getDefault());
+  }
+
+  @Override
+  public GameWorld buildWorld(@NotNull GameSession session) {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return load(channel, session);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Checks that the file holds a world that can be played. On top of what every load checks,
+   * every door must have a matching door on the location it leads to. This reads all the doors
+   * of the file, so it takes as long as the world is large and is not done by
+   * {@link #buildWorld(GameSession)}. A file that was not written by
+   * {@link WorldFile#save(CompactMaze, Path)} should be verified before it is played.
+   *
+   * @throws IllegalArgumentException If the file is not a world file or a door has no matching
+   *                                  door.
+   */
+
+  public void verify() {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      CompactMaze maze = load(channel, new GameSession());
+      checkDoors(maze, CompactMaze.getNumberOfLocations(maze.getMaxRows(), maze.getMaxCols()));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static CompactMaze load(FileChannel channel, GameSession session) throws IOException {
+    ByteBuffer header = read(channel, 0, WorldFile.HEADER_BYTES);
+    if (header.getInt() != WorldFile.MAGIC) {
+      throw new IllegalArgumentException("Not a world file");
+    }
+    int version = header.getInt();
+    if (version != WorldFile.VERSION) {
+      throw new IllegalArgumentException(String.format("Unknown world file version %d",
+              version));
+    }
+    int maxRows = header.getInt();
+    int maxCols = header.getInt();
+    int doorBytes = CompactMaze.getDoorBytes(maxRows, maxCols);
+    int numberOfLocations = CompactMaze.getNumberOfLocations(maxRows, maxCols);
+    long doorsAt = WorldFile.HEADER_BYTES;
+    long itemsAt = doorsAt + doorBytes;
+    long tailAt = itemsAt + numberOfLocations;
+    int numberMonsters = read(channel, tailAt, Integer.BYTES).getInt();
+    if (numberMonsters < 0 || numberMonsters > numberOfLocations
+            || channel.size() != tailAt + (numberMonsters + 3L) * Integer.BYTES) {
+      throw new IllegalArgumentException("World file does not match the size of the world");
+    }
+    ByteBuffer tail = read(channel, tailAt + Integer.BYTES,
+            (numberMonsters + 2) * Integer.BYTES);
+    CompactMaze maze = new CompactMaze(maxRows, maxCols,
+            channel.map(FileChannel.MapMode.READ_ONLY, doorsAt, doorBytes),
+            channel.map(FileChannel.MapMode.READ_ONLY, itemsAt, numberOfLocations), session);
+    int[] monsters = new int[numberMonsters];
+    for (int i = 0; i < numberMonsters; i++) {
+      monsters[i] = tail.getInt();
+    }
+    maze.setStartEnd(tail.getInt(), tail.getInt());
+    for (int monster : monsters) {
+      maze.addMonster(monster);
+    }
+    return maze;
+  }
+
+  /**
+   * Checks that every door of the maze has a matching door on the location it leads to. Only the
+   * doors to the east and to the south are followed, each of them is checked both ways, so every
+   * pair of doors is looked at once. A door at the edge of the grid must be matched on the other
+   * side of the grid, see {@link CompactMaze#getNeighbour(int, Direction)}.
+   */
+
+  private static void checkDoors(CompactMaze maze, int numberOfLocations) {
+    int east = MazeRow.getDoorBit(Direction.EAST);
+    int west = MazeRow.getDoorBit(Direction.WEST);
+    int south = MazeRow.getDoorBit(Direction.SOUTH);
+    int north = MazeRow.getDoorBit(Direction.NORTH);
+    for (int index = 0; index < numberOfLocations; index++) {
+      int doors = maze.getDoors(index);
+      if (((doors & east) == 0)
+              != ((maze.getDoors(maze.getNeighbour(index, Direction.EAST)) & west) == 0)
+              || ((doors & south) == 0)
+              != ((maze.getDoors(maze.getNeighbour(index, Direction.SOUTH)) & north) == 0)) {
+        throw new IllegalArgumentException(String.format(
+                "World file has a door without a matching door at location %d", index));
+      }
+    }
+  }
+
+  private static ByteBuffer read(FileChannel channel, long position, int length)
+          throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(length);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        throw new IllegalArgumentException("World file is cut short");
+      }
+    }
+    return buffer.flip();
+  }
+}
@@ -14,6 +14,8 @@ import pdp.aniachar.gamekit.Location;
  * A cave on the other hand is any {@link Location} that doesn't have two entrances or exits.
  * All the locations in the Maze are underpinned by the {@link MazeLocation}.
  * A Maze will have a start and an end location.
+ * The caves of the maze and the tunnels between them are also kept as a {@link CaveGraph} for
+ * searches that only care about caves.
  */
 
 public class Maze implements GameWorld {
@@ -22,14 +24,21 @@ public class Maze implements GameWorld {
   private final IMazeLocation endLocation;
   private final List<Otyughs> otyughs;
   private final Set<IMazeLocation> mazeLocations;
+  private CaveGraph caveGraph;
 
 
   Maze(IMazeLocation startLocation, IMazeLocation endLocation, Set<IMazeLocation> mazeLocations,
        List<Otyughs> otyughs) {
+    this(startLocation, endLocation, mazeLocations, otyughs, null);
+  }
+
+  Maze(IMazeLocation startLocation, IMazeLocation endLocation, Set<IMazeLocation> mazeLocations,
+       List<Otyughs> otyughs, CaveGraph caveGraph) {
     this.startLocation = startLocation;
     this.endLocation = endLocation;
     this.otyughs = otyughs;
     this.mazeLocations = mazeLocations;
+    this.caveGraph = caveGraph;
   }
 
   @Override
@@ -42,6 +51,21 @@ public class Maze implements GameWorld {
     return endLocation;
   }
 
+  /**
+   * Gets the graph of the caves of the maze.
+   * The graph is built the first time it is asked for and rebuilt if a path of this maze has
+   * changed since. Changes to other worlds do not make the graph stale.
+   *
+   * @return The graph of the caves.
+   */
+
+  public CaveGraph getCaveGraph() {
+    if (caveGraph == null || !caveGraph.isCurrent()) {
+      caveGraph = CaveGraph.build(startLocation);
+    }
+    return caveGraph;
+  }
+
   @Override
   public void restart() {
     for (Otyughs monster : otyughs) {
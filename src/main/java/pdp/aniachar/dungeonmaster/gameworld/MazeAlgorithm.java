@@ -0,0 +1,113 @@
+package pdp.aniachar.dungeonmaster.gameworld;
+
+import pdp.aniachar.gamekit.WorldBuildStrategy;
+
+/**
+ * The algorithms that can carve the paths of a {@link Maze}.
+ * All of them build a spanning tree of the grid and share the same post-processing, so they only
+ * differ in the shape of the mazes, their speed and the memory they need while carving.
+ */
+
+public enum MazeAlgorithm {
+  /**
+   * Randomized Kruskal, see {@link RandomMazeBuilder}.
+   */
+  KRUSKAL {
+    @Override
+    public WorldBuildStrategy createBuilder(int maxRows, int maxCols, boolean isWrapped,
+                                            int degreeOfInterConnection, int percentTreasure,
+                                            long numberMonsters) {
+      return new RandomMazeBuilder(maxRows, maxCols, isWrapped, degreeOfInterConnection,
+              percentTreasure, numberMonsters);
+    }
+  },
+  /**
+   * Randomized Kruskal on tiles in parallel, see {@link ParallelMazeBuilder}.
+   */
+  PARALLEL_KRUSKAL {
+    @Override
+    public WorldBuildStrategy createBuilder(int maxRows, int maxCols, boolean isWrapped,
+                                            int degreeOfInterConnection, int percentTreasure,
+                                            long numberMonsters) {
+      return new ParallelMazeBuilder(maxRows, maxCols, isWrapped, degreeOfInterConnection,
+              percentTreasure, numberMonsters);
+    }
+  },
+  /**
+   * See {@link RecursiveBacktrackerMazeBuilder}.
+   */
+  RECURSIVE_BACKTRACKER {
+    @Override
+    public WorldBuildStrategy createBuilder(int maxRows, int maxCols, boolean isWrapped,
+                                            int degreeOfInterConnection, int percentTreasure,
+                                            long numberMonsters) {
+      return new RecursiveBacktrackerMazeBuilder(maxRows, maxCols, isWrapped,
+              degreeOfInterConnection, percentTreasure, numberMonsters);
+    }
+  },
+  /**
+   * See {@link WilsonMazeBuilder}.
+   */
+  WILSON {
+    @Override
+    public WorldBuildStrategy createBuilder(int maxRows, int maxCols, boolean isWrapped,
+                                            int degreeOfInterConnection, int percentTreasure,
+                                            long numberMonsters) {
+      return new WilsonMazeBuilder(maxRows, maxCols, isWrapped, degreeOfInterConnection,
+              percentTreasure, numberMonsters);
+    }
+  },
+  /**
+   * See {@link PrimMazeBuilder}.
+   */
+  PRIM {
+    @Override
+    public WorldBuildStrategy createBuilder(int maxRows, int maxCols, boolean isWrapped,
+                                            int degreeOfInterConnection, int percentTreasure,
+                                            long numberMonsters) {
+      return new PrimMazeBuilder(maxRows, maxCols, isWrapped, degreeOfInterConnection,
+              percentTreasure, numberMonsters);
+    }
+  },
+  /**
+   * See {@link BinaryTreeMazeBuilder}.
+   */
+  BINARY_TREE {
+    @Override
+    public WorldBuildStrategy createBuilder(int maxRows, int maxCols, boolean isWrapped,
+                                            int degreeOfInterConnection, int percentTreasure,
+                                            long numberMonsters) {
+      return new BinaryTreeMazeBuilder(maxRows, maxCols, isWrapped, degreeOfInterConnection,
+              percentTreasure, numberMonsters);
+    }
+  },
+  /**
+   * See {@link SidewinderMazeBuilder}.
+   */
+  SIDEWINDER {
+    @Override
+    public WorldBuildStrategy createBuilder(int maxRows, int maxCols, boolean isWrapped,
+                                            int degreeOfInterConnection, int percentTreasure,
+                                            long numberMonsters) {
+      return new SidewinderMazeBuilder(maxRows, maxCols, isWrapped, degreeOfInterConnection,
+              percentTreasure, numberMonsters);
+    }
+  };
+
+  /**
+   * Creates a strategy that builds a {@link Maze} with this algorithm.
+   *
+   * @param maxRows                 The maximum number of rows the maze can have.
+   * @param maxCols                 The maximum number of columns the maze can have.
+   * @param isWrapped               If the {@link Maze} should be wrapped or not.
+   * @param degreeOfInterConnection The number of paths that must between locations.
+   *                                Should be a non-negative number.
+   * @param percentTreasure         The percentage of caves with treasures.
+   * @param numberMonsters          The number of monsters other than the one at the end.
+   * @return The strategy.
+   */
+
+  public abstract WorldBuildStrategy createBuilder(int maxRows, int maxCols, boolean isWrapped,
+                                                   int degreeOfInterConnection,
+                                                   int percentTreasure, long numberMonsters);
+}
@@ -1,23 +1,22 @@
 package pdp.aniachar.dungeonmaster.gameworld;
 
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.tuple.Pair;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 import pdp.aniachar.dungeonmaster.action.location.LocationAction;
 import pdp.aniachar.dungeonmaster.action.location.MoveAction;
 import pdp.aniachar.dungeonmaster.action.location.PickItemAction;
 import pdp.aniachar.dungeonmaster.action.location.PickItemActionBuilder;
 import pdp.aniachar.gamekit.Action;
+import pdp.aniachar.gamekit.Direction;
 import pdp.aniachar.gamekit.Item;
 import pdp.aniachar.gamekit.ItemType;
 import pdp.aniachar.gamekit.Location;
@@ -25,19 +24,28 @@ import pdp.aniachar.gamekit.Location;
 /**
  * The 2D grid representation of a {@link Maze}.
  * The grid location is represented using a {@link Pair} of {@link Integer}s x, y (row, column).
+ * Locations are compared using the {@link CellId} of the grid location.
  * MazeLocation can have other maze locations that are adjacent to it. This adjacency is
- * established using the {@link #moveActions}. Each location also has items that can be picked.
+ * established using the {@link #moveActions}, which has a slot for every {@link Direction}.
+ * Each location also has items that can be picked.
  * Once an item is picked, it is removed from the location.
  */
 
 public class MazeLocation implements IMazeLocation {
 
   private final Pair<Integer, Integer> gridLocation;
+  private final long cellId;
   private List<Item> itemsAtLocation;
   private List<PickItemAction> pickupActions;
-  private Set<MoveAction> moveActions;
+  private MoveAction[] moveActions;
+  private List<MoveAction> exits;
+  private Map<Direction, MoveAction> moveActionTable;
+  private ArrowTrajectory[] arrowTrajectories;
   private Map<Item, PickItemAction> itemPickItemActionMap;
+  private Map<ItemType, PickItemAction> pickItemActionTable;
   private int smellStrength;
+  private SmellField smellField;
+  private TopologyVersion topologyVersion;
   private final List<Item> resetCopyItemsAtLocation;
 
 
@@ -48,13 +56,20 @@ public class MazeLocation implements IMazeLocation {
    */
 
   public MazeLocation(@NotNull Pair<Integer, Integer> gridLocation) {
+    if (gridLocation == null) {
+      throw new IllegalArgumentException("Grid location cannot be null");
+    }
     this.gridLocation = gridLocation;
+    this.cellId = CellId.of(gridLocation.getLeft(), gridLocation.getRight());
     this.itemsAtLocation = new ArrayList<>();
     this.pickupActions = new ArrayList<>();
-    this.moveActions = new HashSet<>();
+    this.moveActions = new MoveAction[Direction.values().length];
+    this.exits = List.of();
+    this.moveActionTable = Map.of();
     itemPickItemActionMap = new HashMap<>();
     resetCopyItemsAtLocation = new LinkedList<>();
     smellStrength = 0;
+    topologyVersion = TopologyVersion.DETACHED;
   }
 
   void addItem(Item item) {
@@ -69,10 +84,51 @@ public class MazeLocation implements IMazeLocation {
             .setActionLocation(this).setItemToPick(item).createPickItemAction();
     pickupActions.add(pickupAction);
     itemPickItemActionMap.put(item, pickupAction);
+    pickItemActionTable = null;
   }
 
   void addMoveAction(@NotNull MoveAction action) {
-    moveActions.add(action);
+    int slot = action.getDirection().ordinal();
+    if (moveActions[slot] == null) {
+      moveActions[slot] = action;
+      updateExits();
+    }
+  }
+
+  void removeMoveAction(@NotNull Direction direction) {
+    if (moveActions[direction.ordinal()] != null) {
+      moveActions[direction.ordinal()] = null;
+      updateExits();
+    }
+  }
+
+  /**
+   * Rebuilds the list of exits that is handed out by {@link #getMoveAction()} and the table
+   * handed out by {@link #getMoveActionTable()}.
+   * This only happens when the paths of the location change, so reading the exits is free.
+   * Everything derived from the paths so far goes stale, see {@link TopologyVersion}.
+   */
+
+  private void updateExits() {
+    topologyVersion.changed();
+    List<MoveAction> result = new ArrayList<>(moveActions.length);
+    Map<Direction, MoveAction> table = new EnumMap<>(Direction.class);
+    for (MoveAction action : moveActions) {
+      if (action != null) {
+        result.add(action);
+        table.put(action.getDirection(), action);
+      }
+    }
+    exits = Collections.unmodifiableList(result);
+    moveActionTable = Collections.unmodifiableMap(table);
+  }
+
+  void clearItems() {
+    resetCopyItemsAtLocation.clear();
+    itemsAtLocation.clear();
+    pickupActions.clear();
+    itemPickItemActionMap.clear();
+    pickItemActionTable = null;
   }
 
 
@@ -84,8 +140,8 @@ public class MazeLocation implements IMazeLocation {
   @Override
   public List<Action<?>> possibleActions() {
     List<Action<?>> possibleActions = new ArrayList<>();
-    if (moveActions.size() != 0) {
-      possibleActions.addAll(new ArrayList<>(moveActions));
+    if (exits.size() != 0) {
+      possibleActions.addAll(exits);
     }
     if (pickupActions.size() != 0) {
       possibleActions.addAll(new ArrayList<>(pickupActions));
@@ -110,22 +166,27 @@ public class MazeLocation implements IMazeLocation {
       return false;
     }
 
-    MazeLocation that = (MazeLocation) o;
-
-    return new EqualsBuilder().append(gridLocation, that.gridLocation).isEquals();
+    return cellId == ((MazeLocation) o).cellId;
   }
 
   @Override
   public int hashCode() {
-    return new HashCodeBuilder(17, 37)
-            .append(gridLocation).toHashCode();
+    return CellId.hash(cellId);
+  }
+
+  @Override
+  public long getCellId() {
+    return cellId;
   }
 
   @Override
   public Location<Pair<Integer, Integer>> copy() {
     MazeLocation copyLocation = new MazeLocation(this.gridLocation);
+    copyLocation.topologyVersion = this.topologyVersion;
     copyLocation.itemPickItemActionMap = new HashMap<>(this.itemPickItemActionMap);
-    copyLocation.moveActions = new HashSet<>(this.moveActions);
+    copyLocation.moveActions = this.moveActions.clone();
+    copyLocation.exits = this.exits;
+    copyLocation.moveActionTable = this.moveActionTable;
     copyLocation.pickupActions = new ArrayList<>(this.pickupActions);
     copyLocation.itemsAtLocation = new ArrayList<>(this.itemsAtLocation);
     return copyLocation;
@@ -136,6 +197,7 @@ public class MazeLocation implements IMazeLocation {
     LocationAction<Item> action = itemPickItemActionMap.get(itemToRemove);
     pickupActions.remove(action);
     itemPickItemActionMap.remove(itemToRemove);
+    pickItemActionTable = null;
     return itemsAtLocation.remove(itemToRemove);
   }
 
@@ -151,49 +213,113 @@ public class MazeLocation implements IMazeLocation {
     return gridLocation;
   }
 
+  /**
+   * Keeps the smell of this location in the given field instead of the location itself.
+   * The field must cover the grid location of this location.
+   *
+   * @param smellField The smell field of the world this location is part of.
+   */
+
+  void setSmellField(@NotNull SmellField smellField) {
+    this.smellField = smellField;
+  }
+
+  /**
+   * Counts the changes to the paths of this location in the version of the world it is part of.
+   * Should be set before any path is added to the location.
+   *
+   * @param topologyVersion The version of the world this location is part of.
+   */
+
+  void setTopologyVersion(@NotNull TopologyVersion topologyVersion) {
+    this.topologyVersion = topologyVersion;
+  }
+
+  TopologyVersion getTopologyVersion() {
+    return topologyVersion;
+  }
+
   @Override
   public void addSmell(SmellStrength smellStrength) {
-    if (smellStrength == SmellStrength.STRONG) {
-      this.smellStrength += 2;
-    } else if (smellStrength == SmellStrength.WEAK) {
-      this.smellStrength += 1;
+    if (smellField != null) {
+      smellField.addSmellAt(smellField.indexOf(cellId), SmellField.amountOf(smellStrength));
+    } else {
+      this.smellStrength += SmellField.amountOf(smellStrength);
     }
   }
 
   @Override
   public void removeSmell(SmellStrength smellStrength) {
-    if (smellStrength == SmellStrength.STRONG) {
-      this.smellStrength -= 2;
-    } else if (smellStrength == SmellStrength.WEAK) {
-      this.smellStrength -= 1;
+    if (smellField != null) {
+      smellField.addSmellAt(smellField.indexOf(cellId), -SmellField.amountOf(smellStrength));
+    } else {
+      this.smellStrength -= SmellField.amountOf(smellStrength);
     }
   }
 
 
   @Override
   public List<MoveAction> getMoveAction() {
-    return new ArrayList<>(moveActions);
+    return exits;
+  }
+
+  @Override
+  public MoveAction getMoveAction(@NotNull Direction direction) {
+    return moveActions[direction.ordinal()];
+  }
+
+  @Override
+  public Map<Direction, MoveAction> getMoveActionTable() {
+    return moveActionTable;
+  }
+
+  @Override
+  public int getNumberOfExits() {
+    return exits.size();
+  }
+
+  /**
+   * Gets the path an arrow shot from this location in the given direction takes.
+   * The trajectory is computed the first time it is asked for and kept until a path of the maze
+   * changes.
+   *
+   * @param direction The direction the arrow is shot in.
+   * @return The trajectory of the arrow.
+   */
+
+  @Override
+  public ArrowTrajectory getArrowTrajectory(@NotNull Direction direction) {
+    if (arrowTrajectories == null) {
+      arrowTrajectories = new ArrowTrajectory[Direction.values().length];
+    }
+    ArrowTrajectory trajectory = arrowTrajectories[direction.ordinal()];
+    if (trajectory == null || !trajectory.isCurrent()) {
+      trajectory = ArrowTrajectory.compute(this, direction);
+      arrowTrajectories[direction.ordinal()] = trajectory;
+    }
+    return trajectory;
   }
 
   @Override
   public Map<ItemType, PickItemAction> getPickItemActions() {
-    Map<ItemType, PickItemAction> result = new HashMap<>();
-    for (var pickItem :
-            itemPickItemActionMap.entrySet()) {
-      Item item = pickItem.getKey();
-      result.put(item.getItemType(), pickItem.getValue());
+    if (pickItemActionTable == null) {
+      Map<ItemType, PickItemAction> result = new EnumMap<>(ItemType.class);
+      for (var pickItem :
+              itemPickItemActionMap.entrySet()) {
+        Item item = pickItem.getKey();
+        result.put(item.getItemType(), pickItem.getValue());
+      }
+      pickItemActionTable = Collections.unmodifiableMap(result);
     }
-    return result;
+    return pickItemActionTable;
   }
 
   @Override
   public SmellStrength getSmellStrength() {
-    if (this.smellStrength >= 2) {
-      return SmellStrength.STRONG;
-    } else if (this.smellStrength == 1) {
-      return SmellStrength.WEAK;
+    if (smellField != null) {
+      return smellField.getSmellStrength(cellId);
     }
-    return SmellStrength.NONE;
+    return SmellField.toSmellStrength(this.smellStrength);
   }
 
 }
@@ -0,0 +1,146 @@
+package pdp.aniachar.dungeonmaster.gameworld;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+import pdp.aniachar.dungeonmaster.item.TreasureType;
+import pdp.aniachar.gamekit.Direction;
+
+/**
+ * A single row of a {@link Maze} that is produced by a streaming generator.
+ * Every location in the row is stored in a single byte.
+ * The lowest four bits are the doors of the location, with the bit
+ * {@code 1 << direction.ordinal()} set if there is a path in that {@link Direction}.
+ * Bit {@link #ARROW_BIT} is set when there is an arrow at the location and bits
+ * {@link #TREASURE_SHIFT} and above store the {@link TreasureType} ordinal plus one, or zero when
+ * there is no treasure.
+ * A row is reused by the generator, so it is only valid while it is being consumed.
+ */
+
+public class MazeRow {
+
+  static final int DOOR_MASK = 0xF;
+  static final int ARROW_BIT = 1 << 4;
+  static final int TREASURE_SHIFT = 5;
+  static final int TREASURE_MASK = 0x3 << TREASURE_SHIFT;
+
+  private final byte[] cells;
+  private int row;
+
+  MazeRow(int maxCols) {
+    cells = new byte[maxCols];
+  }
+
+  /**
+   * Gets the bit for a door in the given direction.
+   *
+   * @param direction The direction of the door.
+   * @return The bit that is set for the door.
+   */
+
+  static int getDoorBit(@NotNull Direction direction) {
+    return 1 << direction.ordinal();
+  }
+
+  /**
+   * Gets the row index of this row in the {@link Maze}.
+   *
+   * @return The row index.
+   */
+
+  public int getRow() {
+    return row;
+  }
+
+  /**
+   * Gets the number of locations in the row.
+   *
+   * @return The number of columns.
+   */
+
+  public int getNumberOfColumns() {
+    return cells.length;
+  }
+
+  /**
+   * Checks if the location has a path in the given direction.
+   *
+   * @param col       The column of the location.
+   * @param direction The direction of the path.
+   * @return true if there is a path.
+   */
+
+  public boolean hasDoor(int col, @NotNull Direction direction) {
+    return (cells[col] & getDoorBit(direction)) != 0;
+  }
+
+  /**
+   * Gets the number of paths that lead out of the location.
+   * A location with exactly two paths is a tunnel, any other location is a cave.
+   *
+   * @param col The column of the location.
+   * @return The number of paths.
+   */
+
+  public int getNumberOfDoors(int col) {
+    return Integer.bitCount(cells[col] & DOOR_MASK);
+  }
+
+  /**
+   * Checks if there is an arrow at the location.
+   *
+   * @param col The column of the location.
+   * @return true if there is an arrow.
+   */
+
+  public boolean hasArrow(int col) {
+    return (cells[col] & ARROW_BIT) != 0;
+  }
+
+  /**
+   * Gets the treasure at the location.
+   *
+   * @param col The column of the location.
+   * @return The type of treasure or null if there is no treasure.
+   */
+
+  public @Nullable TreasureType getTreasure(int col) {
+    int treasure = (cells[col] & TREASURE_MASK) >>> TREASURE_SHIFT;
+    return treasure == 0 ? null : TreasureType.values()[treasure - 1];
+  }
+
+  /**
+   * Gets the encoded byte of the location.
+   *
+   * @param col The column of the location.
+   * @return The encoded location.
+   */
+
+  public byte getCell(int col) {
+    return cells[col];
+  }
+
+  byte[] getCells() {
+    return cells;
+  }
+
+  void reset(int row) {
+    this.row = row;
+    Arrays.fill(cells, (byte) 0);
+  }
+
+  void addDoor(int col, @NotNull Direction direction) {
+    cells[col] |= getDoorBit(direction);
+  }
+
+  void addArrow(int col) {
+    cells[col] |= ARROW_BIT;
+  }
+
+  void addTreasure(int col, @NotNull TreasureType treasureType) {
+    cells[col] = (byte) ((cells[col] & ~TREASURE_MASK)
+            | ((treasureType.ordinal() + 1) << TREASURE_SHIFT));
+  }
+}
@@ -0,0 +1,77 @@
+package pdp.aniachar.dungeonmaster.gameworld;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+/**
+ * Writes a streamed {@link Maze} to a compact file.
+ * The file starts with the header {@link #MAGIC}, {@link #VERSION}, the number of rows and the
+ * number of columns. It is followed by one byte per location in row-major order using the
+ * encoding of {@link MazeRow}, and ends with the start row, start column, end row and end column.
+ * All numbers are big endian ints.
+ */
+
+public class MazeRowFileSink implements MazeRowSink, Closeable {
+
+  public static final int MAGIC = 0x444d5257;
+  public static final int VERSION = 1;
+  private final DataOutputStream out;
+
+  /**
+   * Creates a sink that writes to the given file.
+   *
+   * @param file The file to write to. It is created or truncated.
+   * @throws IOException If the file cannot be opened.
+   */
+
+  public MazeRowFileSink(@NotNull Path file) throws IOException {
+    out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file.toFile()),
+            1 << 16));
+  }
+
+  @Override
+  public void begin(int maxRows, int maxCols) {
+    try {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(maxRows);
+      out.writeInt(maxCols);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void acceptRow(@NotNull MazeRow row) {
+    try {
+      out.write(row.getCells());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void finish(int startRow, int startCol, int endRow, int endCol) {
+    try {
+      out.writeInt(startRow);
+      out.writeInt(startCol);
+      out.writeInt(endRow);
+      out.writeInt(endCol);
+      out.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    out.close();
+  }
+}
@@ -0,0 +1,41 @@
+package pdp.aniachar.dungeonmaster.gameworld;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Consumes a {@link Maze} one {@link MazeRow} at a time.
+ * The rows are delivered in order, from the first row to the last. The start and end locations
+ * can only be picked once the whole {@link Maze} has been generated, so they are delivered last.
+ */
+
+public interface MazeRowSink {
+
+  /**
+   * Called once before any row is delivered.
+   *
+   * @param maxRows The number of rows in the maze.
+   * @param maxCols The number of columns in the maze.
+   */
+
+  void begin(int maxRows, int maxCols);
+
+  /**
+   * Consumes the next row of the maze.
+   * The row is reused once this returns, so any data that is needed later must be copied.
+   *
+   * @param row The next row.
+   */
+
+  void acceptRow(@NotNull MazeRow row);
+
+  /**
+   * Called once after all the rows have been delivered.
+   *
+   * @param startRow The row of the start location.
+   * @param startCol The column of the start location.
+   * @param endRow   The row of the end location.
+   * @param endCol   The column of the end location.
+   */
+
+  void finish(int startRow, int startCol, int endRow, int endCol);
+}
@@ -0,0 +1,247 @@
+package pdp.aniachar.dungeonmaster.gameworld;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import pdp.aniachar.RandomService.Subsystem;
+import pdp.aniachar.gamekit.Direction;
+
+/**
+ * A strategy to build a random {@link Maze} using multiple threads.
+ * The grid is split into rectangular tiles. A spanning tree is built for every tile concurrently
+ * on a {@link ForkJoinPool} using Kruskal's algorithm. Once all the tiles are built, the tiles are
+ * stitched together by running Kruskal's algorithm over the paths that cross a tile boundary,
+ * where each tile is treated as a single node.
+ * The result is a spanning tree of the whole grid with the same guarantees as
+ * {@link RandomMazeBuilder} i.e. there is exactly one path between any two locations before the
+ * extra paths for degreeOfInterConnection are added. Wrapped mazes are supported, the paths that
+ * wrap around the grid are treated as any other path.
+ * A tile only changes the locations that it contains, so tiles never share mutable state while
+ * they are being built.
+ * The tiles are built on a pool that is given to the builder, or on the common pool, so no
+ * threads are started or stopped for a world.
+ */
+
+public class ParallelMazeBuilder extends AbstractMazeBuilder {
+
+  private static final int TILES_PER_THREAD = 4;
+  private static final int MIN_TILE_SIZE = 16;
+  private final ForkJoinPool pool;
+  private final int parallelism;
+  private int tileHeight;
+  private int tileWidth;
+  private int tilesPerRow;
+
+  /**
+   * Builds a random {@link Maze} with the specification below on the common pool.
+   *
+   * @param maxRows                 The maximum number of rows the maze can have.
+   * @param maxCols                 The maximum number of columns the maze can have.
+   * @param isWrapped               If the {@link Maze} should be wrapped or not.
+   * @param degreeOfInterConnection The number of paths that must between locations.
+   *                                Should be a non-negative number.
+   * @param percentTreasure         The percentage of caves with treasures.
+   * @param numberMonsters          The number of monsters other than the one at the end.
+   */
+
+  public ParallelMazeBuilder(int maxRows, int maxCols, boolean isWrapped,
+                             int degreeOfInterConnection, int percentTreasure,
+                             long numberMonsters) {
+    this(maxRows, maxCols, isWrapped, degreeOfInterConnection, percentTreasure, numberMonsters,
+            ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Builds a random {@link Maze} with the specification below on the given pool.
+   * The pool is not shut down, so it can be used for any number of worlds.
+   *
+   * @param maxRows                 The maximum number of rows the maze can have.
+   * @param maxCols                 The maximum number of columns the maze can have.
+   * @param isWrapped               If the {@link Maze} should be wrapped or not.
+   * @param degreeOfInterConnection The number of paths that must between locations.
+   *                                Should be a non-negative number.
+   * @param percentTreasure         The percentage of caves with treasures.
+   * @param numberMonsters          The number of monsters other than the one at the end.
+   * @param pool                    The pool the tiles are built on.
+   */
+
+  public ParallelMazeBuilder(int maxRows, int maxCols, boolean isWrapped,
+                             int degreeOfInterConnection, int percentTreasure,
+                             long numberMonsters, @NotNull ForkJoinPool pool) {
+    this(maxRows, maxCols, isWrapped, degreeOfInterConnection, percentTreasure, numberMonsters,
+            pool, pool.getParallelism());
+  }
+
+  /**
+   * Builds a random {@link Maze} with the specification below on the common pool.
+   * The grid is split into tiles for the given number of threads. To also bound the number of
+   * threads that build the tiles, give the builder a pool with that parallelism.
+   *
+   * @param maxRows                 The maximum number of rows the maze can have.
+   * @param maxCols                 The maximum number of columns the maze can have.
+   * @param isWrapped               If the {@link Maze} should be wrapped or not.
+   * @param degreeOfInterConnection The number of paths that must between locations.
+   *                                Should be a non-negative number.
+   * @param percentTreasure         The percentage of caves with treasures.
+   * @param numberMonsters          The number of monsters other than the one at the end.
+   * @param parallelism             The number of threads the tiles are split for.
+   */
+
+  public ParallelMazeBuilder(int maxRows, int maxCols, boolean isWrapped,
+                             int degreeOfInterConnection, int percentTreasure,
+                             long numberMonsters, int parallelism) {
+    this(maxRows, maxCols, isWrapped, degreeOfInterConnection, percentTreasure, numberMonsters,
+            ForkJoinPool.commonPool(), parallelism);
+  }
+
+  private ParallelMazeBuilder(int maxRows, int maxCols, boolean isWrapped,
+                              int degreeOfInterConnection, int percentTreasure,
+                              long numberMonsters, ForkJoinPool pool, int parallelism) {
+    super(maxRows, maxCols, isWrapped, degreeOfInterConnection, percentTreasure, numberMonsters);
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism should be at least 1");
+    }
+    this.pool = pool;
+    this.parallelism = parallelism;
+  }
+
+  @Override
+  protected void buildMaze() {
+    int tilesPerSide = (int) Math.ceil(Math.sqrt(parallelism * TILES_PER_THREAD));
+    tileHeight = Math.max(MIN_TILE_SIZE, (maxRows + tilesPerSide - 1) / tilesPerSide);
+    tileWidth = Math.max(MIN_TILE_SIZE, (maxCols + tilesPerSide - 1) / tilesPerSide);
+    tilesPerRow = (maxCols + tileWidth - 1) / tileWidth;
+    int tilesPerColumn = (maxRows + tileHeight - 1) / tileHeight;
+
+    List<TileTask> tiles = new ArrayList<>();
+    for (int tileRow = 0; tileRow < tilesPerColumn; tileRow++) {
+      for (int tileCol = 0; tileCol < tilesPerRow; tileCol++) {
+        tiles.add(new TileTask(tileRow * tileHeight, tileCol * tileWidth));
+      }
+    }
+    pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tiles)));
+    stitchTiles(tiles, tilesPerRow * tilesPerColumn);
+  }
+
+  /**
+   * Joins the spanning trees of the tiles into a single spanning tree.
+   * Every tile is already connected, so the tiles are the nodes that are joined.
+   *
+   * @param tiles         The tiles that have been built.
+   * @param numberOfTiles The number of tiles.
+   */
+
+  private void stitchTiles(List<TileTask> tiles, int numberOfTiles) {
+    int numberCrossEdges = 0;
+    int numberDiscarded = 0;
+    for (TileTask tile : tiles) {
+      numberCrossEdges += tile.numberCrossEdges;
+      numberDiscarded += tile.numberDiscarded;
+    }
+    int[] crossEdges = new int[numberCrossEdges];
+    int[] discardEdges = new int[numberDiscarded + numberCrossEdges];
+    numberCrossEdges = 0;
+    numberDiscarded = 0;
+    for (TileTask tile : tiles) {
+      System.arraycopy(tile.crossEdges, 0, crossEdges, numberCrossEdges, tile.numberCrossEdges);
+      numberCrossEdges += tile.numberCrossEdges;
+      System.arraycopy(tile.discardEdges, 0, discardEdges, numberDiscarded, tile.numberDiscarded);
+      numberDiscarded += tile.numberDiscarded;
+    }
+
+    DisjointSet connectedTiles = new DisjointSet(numberOfTiles);
+    shuffle(crossEdges, getRandomService().getStream(Subsystem.MAZE));
+    for (int edge : crossEdges) {
+      if (connectedTiles.union(getTile(getEdgeStart(edge)), getTile(getEdgeEnd(edge)))) {
+        makeAdjacent(edge);
+      } else {
+        discardEdges[numberDiscarded++] = edge;
+      }
+    }
+    addInterConnections(discardEdges, numberDiscarded);
+  }
+
+  private int getTile(int index) {
+    return (index / maxCols / tileHeight) * tilesPerRow + (index % maxCols) / tileWidth;
+  }
+
+  /**
+   * Builds the spanning tree of a single tile.
+   * The paths that leave the tile are collected so that they can be used when the tiles are
+   * stitched together.
+   */
+
+  private class TileTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int firstRow;
+    private final int firstCol;
+    private int[] crossEdges;
+    private int numberCrossEdges;
+    private int[] discardEdges;
+    private int numberDiscarded;
+
+    TileTask(int firstRow, int firstCol) {
+      this.firstRow = firstRow;
+      this.firstCol = firstCol;
+    }
+
+    @Override
+    protected void compute() {
+      int lastRow = Math.min(firstRow + tileHeight, maxRows);
+      int lastCol = Math.min(firstCol + tileWidth, maxCols);
+      int width = lastCol - firstCol;
+      int numberOfLocations = (lastRow - firstRow) * width;
+      int tile = getTile(firstRow * maxCols + firstCol);
+
+      int[] tileEdges = new int[2 * numberOfLocations];
+      int numberTileEdges = 0;
+      crossEdges = new int[2 * numberOfLocations];
+      for (int row = firstRow; row < lastRow; row++) {
+        for (int col = firstCol; col < lastCol; col++) {
+          int index = row * maxCols + col;
+          if (hasSouthEdge(index)) {
+            int edge = getEdge(index, Direction.SOUTH);
+            if (getTile(getEdgeEnd(edge)) == tile) {
+              tileEdges[numberTileEdges++] = edge;
+            } else {
+              crossEdges[numberCrossEdges++] = edge;
+            }
+          }
+          if (hasEastEdge(index)) {
+            int edge = getEdge(index, Direction.EAST);
+            if (getTile(getEdgeEnd(edge)) == tile) {
+              tileEdges[numberTileEdges++] = edge;
+            } else {
+              crossEdges[numberCrossEdges++] = edge;
+            }
+          }
+        }
+      }
+      tileEdges = Arrays.copyOf(tileEdges, numberTileEdges);
+
+      discardEdges = new int[numberTileEdges];
+      DisjointSet connected = new DisjointSet(numberOfLocations);
+      shuffle(tileEdges, getRandomService().getWorkerStream(Subsystem.MAZE, tile));
+      for (int edge : tileEdges) {
+        if (connected.union(getTileIndex(getEdgeStart(edge), width),
+                getTileIndex(getEdgeEnd(edge), width))) {
+          makeAdjacent(edge);
+        } else {
+          discardEdges[numberDiscarded++] = edge;
+        }
+      }
+    }
+
+    private int getTileIndex(int index, int width) {
+      return (index / maxCols - firstRow) * width + index % maxCols - firstCol;
+    }
+  }
+}
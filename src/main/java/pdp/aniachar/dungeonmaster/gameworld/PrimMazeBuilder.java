@@ -0,0 +1,83 @@
+package pdp.aniachar.dungeonmaster.gameworld;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.SplittableRandom;
+
+import pdp.aniachar.RandomService.Subsystem;
+
+/**
+ * A strategy to build a random {@link Maze} using a randomized version of Prim's algorithm.
+ * The maze grows from a single location. The edges that leave the maze are kept in a frontier
+ * and a random one of them is added to the maze at every step, unless both of its locations
+ * are in the maze already.
+ * The mazes have many short dead ends and many caves. The frontier holds at most four edges per
+ * location.
+ * The post-processing i.e. the items, the monsters, the start and the end, is the same as
+ * {@link RandomMazeBuilder}.
+ */
+
+public class PrimMazeBuilder extends AbstractMazeBuilder {
+
+  /**
+   * Builds a random {@link Maze} with the specification below.
+   *
+   * @param maxRows                 The maximum number of rows the maze can have.
+   * @param maxCols                 The maximum number of columns the maze can have.
+   * @param isWrapped               If the {@link Maze} should be wrapped or not.
+   * @param degreeOfInterConnection The number of paths that must between locations.
+   *                                Should be a non-negative number.
+   * @param percentTreasure         The percentage of caves with treasures.
+   * @param numberMonsters          The number of monsters other than the one at the end.
+   */
+
+  public PrimMazeBuilder(int maxRows, int maxCols, boolean isWrapped,
+                         int degreeOfInterConnection, int percentTreasure, long numberMonsters) {
+    super(maxRows, maxCols, isWrapped, degreeOfInterConnection, percentTreasure, numberMonsters);
+  }
+
+  @Override
+  protected void buildMaze() {
+    SplittableRandom random = getRandomService().getStream(Subsystem.MAZE);
+    int numberOfLocations = maxRows * maxCols;
+    BitSet inMaze = new BitSet(numberOfLocations);
+    BitSet usedEdges = new BitSet(2 * numberOfLocations);
+    int[] frontier = new int[64];
+    int frontierSize = 0;
+    int[] edges = new int[4];
+    int start = random.nextInt(numberOfLocations);
+    inMaze.set(start);
+    int numberOfEdges = getNeighbourEdges(start, edges);
+    for (int i = 0; i < numberOfEdges; i++) {
+      frontier[frontierSize++] = edges[i];
+    }
+    while (frontierSize > 0) {
+      int pick = random.nextInt(frontierSize);
+      int edge = frontier[pick];
+      frontier[pick] = frontier[--frontierSize];
+      int edgeStart = getEdgeStart(edge);
+      int edgeEnd = getEdgeEnd(edge);
+      int next;
+      if (!inMaze.get(edgeStart)) {
+        next = edgeStart;
+      } else if (!inMaze.get(edgeEnd)) {
+        next = edgeEnd;
+      } else {
+        continue;
+      }
+      makeAdjacent(edge);
+      usedEdges.set(edge);
+      inMaze.set(next);
+      numberOfEdges = getNeighbourEdges(next, edges);
+      if (frontierSize + numberOfEdges > frontier.length) {
+        frontier = Arrays.copyOf(frontier, frontier.length * 2);
+      }
+      for (int i = 0; i < numberOfEdges; i++) {
+        if (!inMaze.get(getOtherEnd(edges[i], next))) {
+          frontier[frontierSize++] = edges[i];
+        }
+      }
+    }
+    addInterConnections(usedEdges);
+  }
+}
@@ -0,0 +1,74 @@
+package pdp.aniachar.dungeonmaster.gameworld;
+
+import java.util.BitSet;
+import java.util.SplittableRandom;
+
+import pdp.aniachar.RandomService.Subsystem;
+
+/**
+ * A strategy to build a random {@link Maze} using a recursive backtracker.
+ * A random walk carves paths to locations that have not been visited yet and backs up to the
+ * last location with an unvisited neighbour when it gets stuck. The walk is kept on an explicit
+ * stack of row-major indices, so large mazes do not overflow the call stack.
+ * The mazes have long, winding tunnels and few caves. The stack can grow to the number of
+ * locations in the grid.
+ * The post-processing i.e. the items, the monsters, the start and the end, is the same as
+ * {@link RandomMazeBuilder}.
+ */
+
+public class RecursiveBacktrackerMazeBuilder extends AbstractMazeBuilder {
+
+  /**
+   * Builds a random {@link Maze} with the specification below.
+   *
+   * @param maxRows                 The maximum number of rows the maze can have.
+   * @param maxCols                 The maximum number of columns the maze can have.
+   * @param isWrapped               If the {@link Maze} should be wrapped or not.
+   * @param degreeOfInterConnection The number of paths that must between locations.
+   *                                Should be a non-negative number.
+   * @param percentTreasure         The percentage of caves with treasures.
+   * @param numberMonsters          The number of monsters other than the one at the end.
+   */
+
+  public RecursiveBacktrackerMazeBuilder(int maxRows, int maxCols, boolean isWrapped,
+                                         int degreeOfInterConnection, int percentTreasure,
+                                         long numberMonsters) {
+    super(maxRows, maxCols, isWrapped, degreeOfInterConnection, percentTreasure, numberMonsters);
+  }
+
+  @Override
+  protected void buildMaze() {
+    SplittableRandom random = getRandomService().getStream(Subsystem.MAZE);
+    int numberOfLocations = maxRows * maxCols;
+    BitSet visited = new BitSet(numberOfLocations);
+    BitSet usedEdges = new BitSet(2 * numberOfLocations);
+    int[] stack = new int[numberOfLocations];
+    int[] edges = new int[4];
+    int[] unvisitedEdges = new int[4];
+    int stackSize = 0;
+    int start = random.nextInt(numberOfLocations);
+    visited.set(start);
+    stack[stackSize++] = start;
+    while (stackSize > 0) {
+      int current = stack[stackSize - 1];
+      int numberOfEdges = getNeighbourEdges(current, edges);
+      int numberUnvisited = 0;
+      for (int i = 0; i < numberOfEdges; i++) {
+        if (!visited.get(getOtherEnd(edges[i], current))) {
+          unvisitedEdges[numberUnvisited++] = edges[i];
+        }
+      }
+      if (numberUnvisited == 0) {
+        stackSize--;
+        continue;
+      }
+      int edge = unvisitedEdges[random.nextInt(numberUnvisited)];
+      int next = getOtherEnd(edge, current);
+      makeAdjacent(edge);
+      usedEdges.set(edge);
+      visited.set(next);
+      stack[stackSize++] = next;
+    }
+    addInterConnections(usedEdges);
+  }
+}
@@ -0,0 +1,69 @@
+package pdp.aniachar.dungeonmaster.gameworld;
+
+import java.util.BitSet;
+import java.util.SplittableRandom;
+
+import pdp.aniachar.RandomService.Subsystem;
+import pdp.aniachar.gamekit.Direction;
+
+/**
+ * A strategy to build a random {@link Maze} using the sidewinder algorithm.
+ * Every row is split into runs of locations joined to the east. When a run ends, a random
+ * location of the run gets a path to the south. The last row is a single run. Like the binary
+ * tree algorithm it works one location at a time and needs no extra memory, but only the last row
+ * is a straight corridor.
+ * The spanning tree never uses the paths that wrap around the grid, so a wrapped maze only gets
+ * those paths as extra paths (see {@link #addInterConnections(BitSet)}).
+ * The post-processing i.e. the items, the monsters, the start and the end, is the same as
+ * {@link RandomMazeBuilder}.
+ */
+
+public class SidewinderMazeBuilder extends AbstractMazeBuilder {
+
+  /**
+   * Builds a random {@link Maze} with the specification below.
+   *
+   * @param maxRows                 The maximum number of rows the maze can have.
+   * @param maxCols                 The maximum number of columns the maze can have.
+   * @param isWrapped               If the {@link Maze} should be wrapped or not.
+   * @param degreeOfInterConnection The number of paths that must between locations.
+   *                                Should be a non-negative number.
+   * @param percentTreasure         The percentage of caves with treasures.
+   * @param numberMonsters          The number of monsters other than the one at the end.
+   */
+
+  public SidewinderMazeBuilder(int maxRows, int maxCols, boolean isWrapped,
+                               int degreeOfInterConnection, int percentTreasure,
+                               long numberMonsters) {
+    super(maxRows, maxCols, isWrapped, degreeOfInterConnection, percentTreasure, numberMonsters);
+  }
+
+  @Override
+  protected void buildMaze() {
+    SplittableRandom random = getRandomService().getStream(Subsystem.MAZE);
+    BitSet usedEdges = new BitSet(2 * maxRows * maxCols);
+    for (int row = 0; row < maxRows; row++) {
+      boolean isLastRow = row == maxRows - 1;
+      int runStart = 0;
+      for (int col = 0; col < maxCols; col++) {
+        int index = row * maxCols + col;
+        boolean isLastCol = col == maxCols - 1;
+        boolean endRun = isLastCol || (!isLastRow && random.nextBoolean());
+        int edge;
+        if (endRun) {
+          if (isLastRow) {
+            continue;
+          }
+          int member = runStart + random.nextInt(col - runStart + 1);
+          edge = getEdge(row * maxCols + member, Direction.SOUTH);
+          runStart = col + 1;
+        } else {
+          edge = getEdge(index, Direction.EAST);
+        }
+        makeAdjacent(edge);
+        usedEdges.set(edge);
+      }
+    }
+    addInterConnections(usedEdges);
+  }
+}
@@ -0,0 +1,183 @@
+package pdp.aniachar.dungeonmaster.gameworld;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+import pdp.aniachar.dungeonmaster.action.location.MoveAction;
+import pdp.aniachar.gamekit.Direction;
+
+/**
+ * The smell of all the monsters of a grid shaped world.
+ * The smell of every location is kept in a single array indexed by the row-major index of the
+ * location, so reading the smell of a location is an array read.
+ * A monster adds a {@link SmellStrength#STRONG} smell to the locations next to it and a
+ * {@link SmellStrength#WEAK} smell to the locations two steps away. The smells of different
+ * monsters add up, so two weak smells make a strong one. Adding or removing the smell of a
+ * monster only visits the locations within two steps of it and does not allocate.
+ * The field is not thread safe.
+ */
+
+public final class SmellField {
+
+  private static final int SMELL_RADIUS = 2;
+  private static final Direction[] DIRECTIONS = Direction.values();
+  // The source, its neighbours and their neighbours.
+  private static final int MAX_NEIGHBOURHOOD = 1 + DIRECTIONS.length
+          + DIRECTIONS.length * DIRECTIONS.length;
+
+  private final int maxRows;
+  private final int maxCols;
+  private final byte[] smell;
+  private final long[] visitedCells;
+  private final IMazeLocation[] visitedLocations;
+
+  /**
+   * Creates a field with no smell for a grid of the given size.
+   *
+   * @param maxRows The number of rows in the grid.
+   * @param maxCols The number of columns in the grid.
+   */
+
+  public SmellField(int maxRows, int maxCols) {
+    if (maxRows <= 0 || maxCols <= 0) {
+      throw new IllegalArgumentException("Rows and columns should be positive");
+    }
+    long numberOfLocations = (long) maxRows * maxCols;
+    if (numberOfLocations > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Grid is too large");
+    }
+    this.maxRows = maxRows;
+    this.maxCols = maxCols;
+    smell = new byte[(int) numberOfLocations];
+    visitedCells = new long[MAX_NEIGHBOURHOOD];
+    visitedLocations = new IMazeLocation[MAX_NEIGHBOURHOOD];
+  }
+
+  /**
+   * Adds the smell of a monster at the given location.
+   *
+   * @param source The location of the monster.
+   */
+
+  public void addSmellAround(@NotNull IMazeLocation source) {
+    spreadSmell(source, 1);
+  }
+
+  /**
+   * Removes the smell of a monster at the given location.
+   * The smell should have been added using {@link #addSmellAround(IMazeLocation)}.
+   *
+   * @param source The location of the monster.
+   */
+
+  public void removeSmellAround(@NotNull IMazeLocation source) {
+    spreadSmell(source, -1);
+  }
+
+  /**
+   * Gets the smell at the location with the given cell id.
+   *
+   * @param cellId The {@link CellId} of the location.
+   * @return The smell at the location.
+   */
+
+  public SmellStrength getSmellStrength(long cellId) {
+    return toSmellStrength(getSmellAt(indexOf(cellId)));
+  }
+
+  int indexOf(long cellId) {
+    int row = CellId.getRow(cellId);
+    int col = CellId.getCol(cellId);
+    if (row < 0 || row >= maxRows || col < 0 || col >= maxCols) {
+      throw new IllegalArgumentException("Location is outside the smell field");
+    }
+    return row * maxCols + col;
+  }
+
+  int getSmellAt(int index) {
+    return smell[index];
+  }
+
+  void addSmellAt(int index, int amount) {
+    int newSmell = smell[index] + amount;
+    if (newSmell < 0 || newSmell > Byte.MAX_VALUE) {
+      throw new IllegalStateException("Smell at a location is out of range");
+    }
+    smell[index] = (byte) newSmell;
+  }
+
+  /**
+   * Gets the amount of smell a {@link SmellStrength} stands for.
+   *
+   * @param smellStrength The strength of the smell.
+   * @return 2 for a strong smell, 1 for a weak smell and 0 otherwise.
+   */
+
+  static int amountOf(SmellStrength smellStrength) {
+    if (smellStrength == SmellStrength.STRONG) {
+      return 2;
+    } else if (smellStrength == SmellStrength.WEAK) {
+      return 1;
+    }
+    return 0;
+  }
+
+  /**
+   * Gets the {@link SmellStrength} of an amount of smell.
+   *
+   * @param amount The amount of smell at a location.
+   * @return The strength of the smell.
+   */
+
+  static SmellStrength toSmellStrength(int amount) {
+    if (amount >= 2) {
+      return SmellStrength.STRONG;
+    } else if (amount == 1) {
+      return SmellStrength.WEAK;
+    }
+    return SmellStrength.NONE;
+  }
+
+  /**
+   * Visits the locations within {@link #SMELL_RADIUS} steps of the source level by level and
+   * changes their smell. The source itself does not smell.
+   */
+
+  private void spreadSmell(IMazeLocation source, int sign) {
+    int numberVisited = 0;
+    visitedCells[numberVisited] = source.getCellId();
+    visitedLocations[numberVisited++] = source;
+    int levelStart = 0;
+    for (int distance = 1; distance <= SMELL_RADIUS; distance++) {
+      int amount = sign * amountOf(distance < 2 ? SmellStrength.STRONG : SmellStrength.WEAK);
+      int levelEnd = numberVisited;
+      for (int i = levelStart; i < levelEnd; i++) {
+        for (Direction direction : DIRECTIONS) {
+          MoveAction moveAction = visitedLocations[i].getMoveAction(direction);
+          if (moveAction == null) {
+            continue;
+          }
+          IMazeLocation neighbour = (IMazeLocation) moveAction.getWhereTo();
+          long cellId = neighbour.getCellId();
+          if (!isVisited(cellId, numberVisited)) {
+            visitedCells[numberVisited] = cellId;
+            visitedLocations[numberVisited++] = neighbour;
+            addSmellAt(indexOf(cellId), amount);
+          }
+        }
+      }
+      levelStart = levelEnd;
+    }
+    Arrays.fill(visitedLocations, 0, numberVisited, null);
+  }
+
+  private boolean isVisited(long cellId, int numberVisited) {
+    for (int i = 0; i < numberVisited; i++) {
+      if (visitedCells[i] == cellId) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,47 @@
+package pdp.aniachar.dungeonmaster.gameworld;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the changes to the paths of the {@link MazeLocation}s of one world.
+ * Anything that is derived from the paths of a maze, like an {@link ArrowTrajectory} or a
+ * {@link CaveGraph}, remembers the version it was derived from and is stale once the version
+ * moves on. Every world has its own version, so building or changing one world never makes what
+ * was derived from another world stale. Locations that are not part of a world share
+ * {@link #DETACHED}.
+ */
+
+final class TopologyVersion {
+
+  /**
+   * The version of the locations that were not built as part of a world.
+   */
+
+  static final TopologyVersion DETACHED = new TopologyVersion();
+
+  private final AtomicLong version = new AtomicLong();
+
+  /**
+   * Gets the version of the world the given location is part of.
+   *
+   * @param location Any location.
+   * @return The version of its world, {@link #DETACHED} if it is not a {@link MazeLocation}.
+   */
+
+  static TopologyVersion of(@NotNull IMazeLocation location) {
+    if (location instanceof MazeLocation) {
+      return ((MazeLocation) location).getTopologyVersion();
+    }
+    return DETACHED;
+  }
+
+  long current() {
+    return version.get();
+  }
+
+  void changed() {
+    version.incrementAndGet();
+  }
+}
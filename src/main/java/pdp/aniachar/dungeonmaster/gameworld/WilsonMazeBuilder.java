@@ -0,0 +1,70 @@
+package pdp.aniachar.dungeonmaster.gameworld;
+
+import java.util.BitSet;
+import java.util.SplittableRandom;
+
+import pdp.aniachar.RandomService.Subsystem;
+
+/**
+ * A strategy to build a random {@link Maze} using Wilson's algorithm.
+ * Starting with a single location in the maze, a random walk is started from every location
+ * that is not in the maze yet until it hits the maze. The walk only remembers the last edge it
+ * left every location by, which erases the loops of the walk, and the remaining path is added
+ * to the maze. Every spanning tree of the grid is equally likely.
+ * Wilson's algorithm is slow to start on large grids as the first walks are long, and it needs
+ * an int per location for the walk.
+ * The post-processing i.e. the items, the monsters, the start and the end, is the same as
+ * {@link RandomMazeBuilder}.
+ */
+
+public class WilsonMazeBuilder extends AbstractMazeBuilder {
+
+  /**
+   * Builds a random {@link Maze} with the specification below.
+   *
+   * @param maxRows                 The maximum number of rows the maze can have.
+   * @param maxCols                 The maximum number of columns the maze can have.
+   * @param isWrapped               If the {@link Maze} should be wrapped or not.
+   * @param degreeOfInterConnection The number of paths that must between locations.
+   *                                Should be a non-negative number.
+   * @param percentTreasure         The percentage of caves with treasures.
+   * @param numberMonsters          The number of monsters other than the one at the end.
+   */
+
+  public WilsonMazeBuilder(int maxRows, int maxCols, boolean isWrapped,
+                           int degreeOfInterConnection, int percentTreasure, long numberMonsters) {
+    super(maxRows, maxCols, isWrapped, degreeOfInterConnection, percentTreasure, numberMonsters);
+  }
+
+  @Override
+  protected void buildMaze() {
+    SplittableRandom random = getRandomService().getStream(Subsystem.MAZE);
+    int numberOfLocations = maxRows * maxCols;
+    BitSet inMaze = new BitSet(numberOfLocations);
+    BitSet usedEdges = new BitSet(2 * numberOfLocations);
+    int[] walkEdge = new int[numberOfLocations];
+    int[] edges = new int[4];
+    inMaze.set(random.nextInt(numberOfLocations));
+    for (int walkStart = 0; walkStart < numberOfLocations; walkStart++) {
+      if (inMaze.get(walkStart)) {
+        continue;
+      }
+      int current = walkStart;
+      while (!inMaze.get(current)) {
+        int numberOfEdges = getNeighbourEdges(current, edges);
+        int edge = edges[random.nextInt(numberOfEdges)];
+        walkEdge[current] = edge;
+        current = getOtherEnd(edge, current);
+      }
+      current = walkStart;
+      while (!inMaze.get(current)) {
+        int edge = walkEdge[current];
+        makeAdjacent(edge);
+        usedEdges.set(edge);
+        inMaze.set(current);
+        current = getOtherEnd(edge, current);
+      }
+    }
+    addInterConnections(usedEdges);
+  }
+}
@@ -0,0 +1,59 @@
+package pdp.aniachar.dungeonmaster.gameworld;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * The binary format a {@link CompactMaze} is saved in, see {@link #save(CompactMaze, Path)}.
+ * The file starts with the header {@link #MAGIC}, {@link #VERSION} and the number of rows and
+ * columns. It is followed by the doors of every location, two locations to a byte as they are
+ * kept by the maze, and by the items every location starts with, a byte per location. Both are
+ * in row-major order and can be mapped into memory as they are, see {@link MappedWorldBuilder}.
+ * The file ends with the number of monsters other than the one at the end, the row-major index of
+ * each of them, and the indices of the start and the end. All numbers are big endian ints.
+ */
+
+public final class WorldFile {
+
+  public static final int MAGIC = 0x44574c44;
+  public static final int VERSION = 1;
+  static final int HEADER_BYTES = 4 * Integer.BYTES;
+
+  private WorldFile() {
+  }
+
+  /**
+   * Saves a maze with the items it starts with.
+   *
+   * @param maze The maze to save.
+   * @param file The file to write to. It should not exist yet.
+   * @throws IOException If the file cannot be created or written.
+   */
+
+  public static void save(@NotNull CompactMaze maze, @NotNull Path file) throws IOException {
+    List<Integer> monsters = maze.getMonsterIndices();
+    ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+    header.putInt(MAGIC).putInt(VERSION).putInt(maze.getMaxRows()).putInt(maze.getMaxCols());
+    ByteBuffer tail = ByteBuffer.allocate((monsters.size() + 3) * Integer.BYTES);
+    tail.putInt(monsters.size());
+    for (int monster : monsters) {
+      tail.putInt(monster);
+    }
+    tail.putInt(maze.getStartIndex()).putInt(maze.getEndIndex());
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.WRITE)) {
+      for (ByteBuffer buffer : new ByteBuffer[]{header.flip(), maze.getDoorBuffer().clear(),
+              maze.getInitialItemBuffer().clear(), tail.flip()}) {
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+      }
+    }
+  }
+}
@@ -1,17 +1,12 @@
 package pdp.aniachar.dungeonmaster.item;
 
-import java.util.HashSet;
-import java.util.List;
 import java.util.Optional;
-import java.util.Set;
-import java.util.stream.Collectors;
 
+import pdp.aniachar.GameSession;
 import pdp.aniachar.dungeonmaster.action.character.PlayerAction;
-import pdp.aniachar.dungeonmaster.action.location.MoveAction;
 import pdp.aniachar.dungeonmaster.character.player.IPlayer;
 import pdp.aniachar.dungeonmaster.comm.ArrowHitEvent;
-import pdp.aniachar.dungeonmaster.comm.EventContainer;
-import pdp.aniachar.dungeonmaster.gameworld.IMazeLocation;
+import pdp.aniachar.dungeonmaster.gameworld.ArrowTrajectory;
 import pdp.aniachar.gamekit.Character;
 import pdp.aniachar.gamekit.Direction;
 
@@ -21,15 +16,18 @@ import pdp.aniachar.gamekit.Direction;
  * then the arrow will follow the tunnel.
  * The distance the arrow can traverse is the number of caves the arrow can visit, if there is a
  * path.
+ * The path of the arrow is looked up in the {@link ArrowTrajectory} of the location it is shot
+ * from, so the arrow does not walk the maze one location at a time.
+ * The hit is published in the session of the player who shoots the arrow, or in the default
+ * session if the action is acted out without a player.
  */
 
 public class ShootArrowAction implements PlayerAction {
 
   private final int distance;
-  private final Set<IMazeLocation> visited;
+  private final Direction direction;
   private Arrow arrow;
-  private Direction direction;
-  private int distanceTravelled;
+  private GameSession session = GameSession.getDefault();
 
   /**
    * Creates a new move action for an  arrow.
@@ -44,84 +42,21 @@ public class ShootArrowAction implements PlayerAction {
     this.arrow = arrow;
     this.direction = direction;
     this.distance = distance;
-    distanceTravelled = 0;
-    visited = new HashSet<>();
   }
 
   ShootArrowAction(Direction direction, int distance) {
     this.direction = direction;
     this.distance = distance;
-    distanceTravelled = 0;
-    visited = new HashSet<>();
   }
 
   @Override
   public Optional<Boolean> act() {
-    visited.add(arrow.getCurrentLocation());
-    boolean hasMoved = nextPossibleMove(true);
-    while (hasMoved) {
-      hasMoved = nextPossibleMove(false);
-    }
-    EventContainer.getModelEventBus().post(new ArrowHitEvent(arrow.getCurrentLocation(), 50d));
-    return Optional.of(distanceTravelled == distance);
-  }
-
-
-  private boolean setNextLocationIfPossible(MoveAction potentialMove) {
-    IMazeLocation nextPotentialLocation = (IMazeLocation) potentialMove.act().orElseThrow();
-    if (!visited.contains(nextPotentialLocation)) {
-      visited.add(nextPotentialLocation);
-      arrow.setCurrentLocation(nextPotentialLocation);
-      return true;
-    }
-    return false;
+    ArrowTrajectory trajectory = arrow.getCurrentLocation().getArrowTrajectory(direction);
+    arrow.setCurrentLocation(trajectory.getLanding(distance));
+    session.getModelEventBus().post(new ArrowHitEvent(arrow.getCurrentLocation(), 50d));
+    return Optional.of(trajectory.reaches(distance));
   }
 
-  private boolean nextPossibleMove(boolean firstMove) {
-
-    List<MoveAction> possibleMoves = arrow.getCurrentLocation().getMoveAction();
-
-    boolean isCave = possibleMoves.size() != 2;
-    if (isCave) {
-      if (!firstMove) {
-        distanceTravelled++;
-      }
-      if (distanceTravelled == distance) {
-        return false;
-      }
-    }
-
-    // Always move straight if possible
-    MoveAction moveInStraightPath = possibleMoves.stream()
-            .filter(possibleMove -> possibleMove.getDirection().equals(direction))
-            .findFirst().orElse(null);
-
-    if (moveInStraightPath != null) {
-      if (setNextLocationIfPossible(moveInStraightPath)) {
-        return true;
-      }
-    }
-
-    //In a cave, no straight path = cannot move any further.
-    if (isCave) {
-      return false;
-    }
-
-    List<MoveAction> otherPotentialMoveActions = possibleMoves.stream()
-            .filter(moveAction -> !moveAction.equals(moveInStraightPath))
-            .collect(Collectors.toList());
-
-    for (MoveAction otherPotentialMoveAction :
-            otherPotentialMoveActions) {
-      if (setNextLocationIfPossible(otherPotentialMoveAction)) {
-        this.direction = otherPotentialMoveAction.getDirection();
-        return true;
-      }
-    }
-    return false;
-  }
-
-
   @Override
   public String describe() {
     return String.format("Shooting an arrow %d caves in the %s direction", distance, direction);
@@ -137,6 +72,7 @@ public class ShootArrowAction implements PlayerAction {
       throw new IndexOutOfBoundsException("Player has no more arrows.");
     }
     this.arrow = player.removeArrow();
+    this.session = player.getSession();
     act();
     return Optional.empty();
   }
@@ -40,4 +40,14 @@ public interface ImmutableCharacter {
    */
   List<Item> getAllItems() throws NoSuchMethodException;
 
+  /**
+   * Gets the number of items that a Character possesses.
+   *
+   * @return The size of {@link #getAllItems()}.
+   */
+
+  default int getNumberOfItems() throws NoSuchMethodException {
+    return getAllItems().size();
+  }
+
 }
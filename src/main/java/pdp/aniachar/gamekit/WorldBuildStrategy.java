@@ -1,5 +1,9 @@
 package pdp.aniachar.gamekit;
 
+import org.jetbrains.annotations.NotNull;
+
+import pdp.aniachar.GameSession;
+
 /**
  * A strategy to build the {@link GameWorld}.
  * The implementer decides how the world should be built and what items need
@@ -16,4 +20,18 @@ public interface WorldBuildStrategy {
    */
 
   GameWorld buildWorld();
+
+  /**
+   * Builds the world for a game that is played in the given session.
+   * Anything in the world that publishes or listens to events uses the buses of the session.
+   * Strategies that build worlds without such parts may keep the default, which ignores the
+   * session.
+   *
+   * @param session The session of the game the world is built for.
+   * @return The {@link GameWorld} that was built.
+   */
+
+  default GameWorld buildWorld(@NotNull GameSession session) {
+    return buildWorld();
+  }
 }
@@ -0,0 +1,251 @@
+package pdp.aniachar.view;
+
+import com.google.common.eventbus.Subscribe;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import lombok.extern.flogger.Flogger;
+import pdp.aniachar.EventDispatcher;
+import pdp.aniachar.view.ViewModel.IErrorViewModel;
+import pdp.aniachar.view.ViewModel.IEvent;
+import pdp.aniachar.view.ViewModel.ILocationViewModel;
+import pdp.aniachar.view.ViewModel.IPlayerViewModel;
+import pdp.aniachar.view.ViewModel.IQuit;
+import pdp.aniachar.view.ViewModel.LocationViewModel;
+import pdp.aniachar.view.ViewModel.PlayerViewModel;
+import pdp.aniachar.view.ViewModel.ReusableLocationViewModel;
+import pdp.aniachar.view.ViewModel.ReusablePlayerViewModel;
+
+/**
+ * A view that hands the view models it receives to another view in batches, on the thread of
+ * an {@link Executor}, so the thread that posts the view models never waits for them to be
+ * rendered.
+ * The view models that arrive before a batch is rendered are coalesced. Only the latest player
+ * view model is rendered, and only the latest location view model of every location, with the
+ * location the player is at rendered last. Locations the player passed through are still
+ * rendered once, so a view that reveals the locations the player visited misses none of them.
+ * Events and errors are never coalesced and are rendered in the order they arrived, before the
+ * view models of the batch. A quit is rendered after everything that arrived before it and the
+ * view takes no updates after it.
+ * A batch is scheduled when the first update arrives after the previous batch was taken, so
+ * there is never more than one batch waiting on the executor. The view models are kept until
+ * the batch is rendered. A {@link ReusablePlayerViewModel} or a
+ * {@link ReusableLocationViewModel} is changed by the controller after it is posted, see
+ * {@link pdp.aniachar.controller.Controller#Controller(pdp.aniachar.gamekit.Game, IView,
+ * boolean)}, so it is copied when it arrives and the copy is kept instead.
+ */
+
+@Flogger
+public class CoalescingView implements IView {
+
+  private final IView target;
+  private final EventDispatcher viewBus;
+  private final Executor renderExecutor;
+  private final Map<Object, ILocationViewModel> pendingLocations;
+  private final List<Object> pendingMessages;
+  private IPlayerViewModel pendingPlayer;
+  private IQuit pendingQuit;
+  private boolean batchScheduled;
+  private boolean quit;
+  private long received;
+  private long coalesced;
+  private long batches;
+
+  /**
+   * Builds a view that renders on the given executor and registers it on the view bus.
+   *
+   * @param target         The view that renders the view models.
+   * @param viewBus        The bus the view models are posted on.
+   * @param renderExecutor The executor that runs the batches, for example
+   *                       {@link javax.swing.SwingUtilities#invokeLater(Runnable)} for a Swing
+   *                       view.
+   */
+
+  public CoalescingView(@NotNull IView target, @NotNull EventDispatcher viewBus,
+                        @NotNull Executor renderExecutor) {
+    this.target = target;
+    this.viewBus = viewBus;
+    this.renderExecutor = renderExecutor;
+    pendingLocations = new LinkedHashMap<>();
+    pendingMessages = new ArrayList<>();
+    viewBus.register(this);
+  }
+
+  @Subscribe
+  @Override
+  public void renderPlayerViewModelListener(@NotNull IPlayerViewModel playerViewModel) {
+    if (playerViewModel instanceof ReusablePlayerViewModel) {
+      playerViewModel = new PlayerViewModel(playerViewModel.getName(),
+              playerViewModel.getHealth(), Map.copyOf(playerViewModel.getInventory()));
+    }
+    synchronized (this) {
+      if (quit) {
+        return;
+      }
+      received++;
+      if (pendingPlayer != null) {
+        coalesced++;
+      }
+      pendingPlayer = playerViewModel;
+      scheduleBatch();
+    }
+  }
+
+  @Subscribe
+  @Override
+  public void renderLocationViewModelListener(@NotNull ILocationViewModel locationViewModel) {
+    if (locationViewModel instanceof ReusableLocationViewModel) {
+      // The maps of the model are replaced, not changed, when the location changes.
+      locationViewModel = new LocationViewModel(locationViewModel.getPossibleMoves(),
+              locationViewModel.getCurrentLocation(), locationViewModel.getItems());
+    }
+    Object location = locationViewModel.getCurrentLocation().getLocationDescription();
+    synchronized (this) {
+      if (quit) {
+        return;
+      }
+      received++;
+      // Removed and put back so that the location the player is at is rendered last.
+      if (pendingLocations.remove(location) != null) {
+        coalesced++;
+      }
+      pendingLocations.put(location, locationViewModel);
+      scheduleBatch();
+    }
+  }
+
+  @Subscribe
+  @Override
+  public void renderEventDescriptionListener(@NotNull IEvent eventDescription) {
+    addMessage(eventDescription);
+  }
+
+  @Subscribe
+  @Override
+  public void renderErrorViewModelListener(@NotNull IErrorViewModel errorViewModel) {
+    addMessage(errorViewModel);
+  }
+
+  /**
+   * Stops taking updates and renders the quit after the updates that arrived before it.
+   * The view is unregistered from the view bus.
+   *
+   * @param quit The quit to render.
+   */
+
+  @Subscribe
+  @Override
+  public void quitListener(@NotNull IQuit quit) {
+    synchronized (this) {
+      if (this.quit) {
+        return;
+      }
+      received++;
+      this.quit = true;
+      pendingQuit = quit;
+      scheduleBatch();
+    }
+    viewBus.unregister(this);
+    log.atFine().log("Rendered %d of %d updates in %d batches", received - coalesced, received,
+            batches);
+  }
+
+  @Override
+  public void start() {
+    target.start();
+  }
+
+  @Override
+  public void stop() {
+    target.stop();
+  }
+
+  /**
+   * Gets the number of updates received, including the coalesced ones.
+   *
+   * @return The number of updates received.
+   */
+
+  public synchronized long getReceived() {
+    return received;
+  }
+
+  /**
+   * Gets the number of view models that were replaced by a newer one before they were rendered.
+   *
+   * @return The number of updates that were not rendered.
+   */
+
+  public synchronized long getCoalesced() {
+    return coalesced;
+  }
+
+  /**
+   * Gets the number of batches handed to the executor.
+   *
+   * @return The number of batches.
+   */
+
+  public synchronized long getBatches() {
+    return batches;
+  }
+
+  private void addMessage(Object message) {
+    synchronized (this) {
+      if (quit) {
+        return;
+      }
+      received++;
+      pendingMessages.add(message);
+      scheduleBatch();
+    }
+  }
+
+  private void scheduleBatch() {
+    if (!batchScheduled) {
+      batchScheduled = true;
+      batches++;
+      renderExecutor.execute(this::renderBatch);
+    }
+  }
+
+  private void renderBatch() {
+    List<Object> messages;
+    List<ILocationViewModel> locations;
+    IPlayerViewModel player;
+    IQuit quitToRender;
+    synchronized (this) {
+      messages = new ArrayList<>(pendingMessages);
+      locations = new ArrayList<>(pendingLocations.values());
+      player = pendingPlayer;
+      pendingMessages.clear();
+      pendingLocations.clear();
+      quitToRender = pendingQuit;
+      pendingPlayer = null;
+      pendingQuit = null;
+      batchScheduled = false;
+    }
+    for (Object message : messages) {
+      if (message instanceof IEvent) {
+        target.renderEventDescriptionListener((IEvent) message);
+      } else {
+        target.renderErrorViewModelListener((IErrorViewModel) message);
+      }
+    }
+    if (player != null) {
+      target.renderPlayerViewModelListener(player);
+    }
+    for (ILocationViewModel location : locations) {
+      target.renderLocationViewModelListener(location);
+    }
+    if (quitToRender != null) {
+      target.quitListener(quitToRender);
+    }
+  }
+}
@@ -14,7 +14,7 @@ import javax.swing.JMenuItem;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.flogger.Flogger;
-import pdp.aniachar.Communication;
+import pdp.aniachar.GameSession;
 import pdp.aniachar.view.ViewModel.RestartGame;
 
 /**
@@ -26,6 +26,7 @@ import pdp.aniachar.view.ViewModel.RestartGame;
 public class GameFrame extends JFrame {
   private final int maxRows;
   private final int maxCols;
+  private final GameSession session;
   @Getter(AccessLevel.PACKAGE)
   private final MazeViewPanel mazeViewPanel;
   @Getter(AccessLevel.PACKAGE)
@@ -42,7 +43,20 @@ public class GameFrame extends JFrame {
    */
 
   public GameFrame(int maxRow, int maxCol) {
+    this(maxRow, maxCol, GameSession.getDefault());
+  }
+
+  /**
+   * Builds the view of a game that is played in the given session.
+   *
+   * @param maxRow  The number of rows.
+   * @param maxCol  The number of columns.
+   * @param session The session whose view controller bus the menus post to.
+   */
+
+  public GameFrame(int maxRow, int maxCol, @NotNull GameSession session) {
     super();
+    this.session = session;
     setExtendedState(JFrame.MAXIMIZED_BOTH);
     this.maxRows = maxRow;
     this.maxCols = maxCol;
@@ -80,14 +94,14 @@ public class GameFrame extends JFrame {
 
   private @NotNull JMenuItem buildRestartMenuItem() {
     JMenuItem restartGame = new JMenuItem("Restart");
-    restartGame.addActionListener(e -> Communication.getViewControllerBus()
+    restartGame.addActionListener(e -> session.getViewControllerBus()
             .post(new RestartGame<>(true)));
     return restartGame;
   }
 
   private @NotNull JMenuItem buildNewGameMenuItem() {
     JMenuItem newGame = new JMenuItem("New game");
-    NewGameDialog dialog = new NewGameDialog();
+    NewGameDialog dialog = new NewGameDialog(session);
     newGame.addActionListener(e -> dialog.setVisible(true));
     return newGame;
   }
@@ -105,7 +119,7 @@ public class GameFrame extends JFrame {
 
   @Contract(" -> new")
   private @NotNull MazeViewPanel buildMazeView() {
-    return new MazeViewPanel(maxRows, maxCols);
+    return new MazeViewPanel(maxRows, maxCols, session);
   }
 
 }
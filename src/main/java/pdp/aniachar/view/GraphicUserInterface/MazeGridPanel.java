@@ -20,7 +20,7 @@ import java.util.Optional;
 import javax.swing.*;
 
 import lombok.extern.flogger.Flogger;
-import pdp.aniachar.Communication;
+import pdp.aniachar.GameSession;
 import pdp.aniachar.dungeonmaster.action.location.MoveAction;
 import pdp.aniachar.dungeonmaster.action.location.PickItemAction;
 import pdp.aniachar.dungeonmaster.gameworld.SmellStrength;
@@ -43,6 +43,7 @@ import pdp.aniachar.view.ViewModel.Verbs;
 public class MazeGridPanel extends JPanel {
   private final int maxRows, maxCols;
   private final GridBagConstraints gridBagConstraints;
+  private final GameSession session;
   List<List<MazeLocationPanel>> mazeLocationButtons;
   private MazePopupMenu contextMenu;
   private MutablePair<Integer, Integer> currentLocation;
@@ -57,7 +58,21 @@ public class MazeGridPanel extends JPanel {
    */
 
   public MazeGridPanel(int maxRows, int maxCols) {
+    this(maxRows, maxCols, GameSession.getDefault());
+  }
+
+  /**
+   * Builds the maze location with the size specified for a game that is played in the given
+   * session.
+   *
+   * @param maxRows The number of rows in the grid.
+   * @param maxCols The number of rows in the grid.
+   * @param session The session whose view controller bus the player interactions are posted to.
+   */
+
+  public MazeGridPanel(int maxRows, int maxCols, @NotNull GameSession session) {
     super();
+    this.session = session;
     this.maxRows = maxRows;
     this.maxCols = maxCols;
     mazeLocationButtons = new ArrayList<>();
@@ -68,7 +83,7 @@ public class MazeGridPanel extends JPanel {
     gridBagConstraints = new GridBagConstraints();
     gridBagConstraints.fill = GridBagConstraints.HORIZONTAL;
     buildMaze();
-    contextMenu = new MazePopupMenu();
+    contextMenu = new MazePopupMenu(session);
     handleRightClickToShowPopup();
     setupKeyboardActionListener();
     playerDead = false;
@@ -158,7 +173,7 @@ public class MazeGridPanel extends JPanel {
   }
 
   private void updatePopUpMenu(Map<ItemType, PickItemAction> items) {
-    contextMenu = new MazePopupMenu(items);
+    contextMenu = new MazePopupMenu(items, session);
     setComponentPopupMenu(contextMenu);
   }
 
@@ -210,19 +225,19 @@ public class MazeGridPanel extends JPanel {
 
     keyboardActions.put(e -> {
       log.atFine().log("Up arrow pressed");
-      Communication.getViewControllerBus().post(new PlayerInteraction(Verbs.MOVE, Nouns.NORTH));
+      session.getViewControllerBus().post(new PlayerInteraction(Verbs.MOVE, Nouns.NORTH));
     }, KeyStroke.getKeyStroke(KeyEvent.VK_UP, 0));
     keyboardActions.put(e -> {
       log.atFine().log("Down arrow pressed");
-      Communication.getViewControllerBus().post(new PlayerInteraction(Verbs.MOVE, Nouns.SOUTH));
+      session.getViewControllerBus().post(new PlayerInteraction(Verbs.MOVE, Nouns.SOUTH));
     }, KeyStroke.getKeyStroke(KeyEvent.VK_DOWN, 0));
     keyboardActions.put(e -> {
       log.atFine().log("Left arrow pressed");
-      Communication.getViewControllerBus().post(new PlayerInteraction(Verbs.MOVE, Nouns.WEST));
+      session.getViewControllerBus().post(new PlayerInteraction(Verbs.MOVE, Nouns.WEST));
     }, KeyStroke.getKeyStroke(KeyEvent.VK_LEFT, 0));
     keyboardActions.put(e -> {
       log.atFine().log("Right arrow pressed");
-      Communication.getViewControllerBus().post(new PlayerInteraction(Verbs.MOVE, Nouns.EAST));
+      session.getViewControllerBus().post(new PlayerInteraction(Verbs.MOVE, Nouns.EAST));
     }, KeyStroke.getKeyStroke(KeyEvent.VK_RIGHT, 0));
 
     return keyboardActions;
@@ -230,7 +245,7 @@ public class MazeGridPanel extends JPanel {
 
   void movePlayerOnClick(ImmutablePair<Integer, Integer> clickLocation) {
     Optional<Nouns> direction = getDirection(clickLocation);
-    direction.ifPresent(nouns -> Communication.getViewControllerBus()
+    direction.ifPresent(nouns -> session.getViewControllerBus()
             .post(new PlayerInteraction(Verbs.MOVE, nouns)));
   }
 
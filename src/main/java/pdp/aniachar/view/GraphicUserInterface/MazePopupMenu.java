@@ -12,7 +12,7 @@ import javax.swing.JMenuItem;
 import javax.swing.JPopupMenu;
 
 import lombok.extern.flogger.Flogger;
-import pdp.aniachar.Communication;
+import pdp.aniachar.GameSession;
 import pdp.aniachar.dungeonmaster.action.location.PickItemAction;
 import pdp.aniachar.gamekit.Direction;
 import pdp.aniachar.gamekit.ItemType;
@@ -27,6 +27,7 @@ import pdp.aniachar.view.ViewModel.Verbs;
 
 @Flogger
 public class MazePopupMenu extends JPopupMenu {
+  private final GameSession session;
   private Map<ItemType, PickItemAction> possiblePickActions;
 
 
@@ -37,6 +38,20 @@ public class MazePopupMenu extends JPopupMenu {
    */
 
   public MazePopupMenu(Map<ItemType, PickItemAction> possiblePickActions) {
+    this(possiblePickActions, GameSession.getDefault());
+  }
+
+  /**
+   * Builds the popup menu with the actions specified for a game that is played in the given
+   * session.
+   *
+   * @param possiblePickActions The actions that can be performed with the popup menu.
+   * @param session             The session whose view controller bus the actions are posted to.
+   */
+
+  public MazePopupMenu(Map<ItemType, PickItemAction> possiblePickActions,
+                       @NotNull GameSession session) {
+    this.session = session;
     this.possiblePickActions = possiblePickActions;
     log.atFine().log("Building a new context menu.");
     populateShootMenu();
@@ -48,6 +63,18 @@ public class MazePopupMenu extends JPopupMenu {
    */
 
   public MazePopupMenu() {
+    this(GameSession.getDefault());
+  }
+
+  /**
+   * Builds the popup menu with only the shoot actions for a game that is played in the given
+   * session.
+   *
+   * @param session The session whose view controller bus the actions are posted to.
+   */
+
+  public MazePopupMenu(@NotNull GameSession session) {
+    this.session = session;
     populateShootMenu();
   }
 
@@ -72,7 +99,7 @@ public class MazePopupMenu extends JPopupMenu {
       itemMenuItem.addActionListener(e -> {
         Nouns pickNoun = translatorViewModel(itemType);
         log.atFine().log("Pick clicked. Sending %s to IView model.", pickNoun);
-        Communication.getViewControllerBus().post(new PlayerInteraction(Verbs.PICK, pickNoun));
+        session.getViewControllerBus().post(new PlayerInteraction(Verbs.PICK, pickNoun));
       });
       pickMenu.add(itemMenuItem);
     }
@@ -89,7 +116,7 @@ public class MazePopupMenu extends JPopupMenu {
       distanceMenu.addActionListener(e -> {
         Nouns directionNoun = translatorViewModel(direction);
         log.atFine().log("Shoot selected. Shooting %d caves %s", finalI, directionNoun);
-        Communication.getViewControllerBus()
+        session.getViewControllerBus()
                 .post(new PlayerInteraction(Verbs.SHOOT, directionNoun, finalI));
       });
       var x = direction.toString().toLowerCase(Locale.ROOT);
@@ -1,5 +1,7 @@
 package pdp.aniachar.view.GraphicUserInterface;
 
+import org.jetbrains.annotations.NotNull;
+
 import java.awt.Dimension;
 
 import javax.swing.JScrollPane;
@@ -7,6 +9,7 @@ import javax.swing.JScrollPane;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.flogger.Flogger;
+import pdp.aniachar.GameSession;
 import pdp.aniachar.view.ViewModel.ILocationViewModel;
 
 
@@ -28,13 +31,25 @@ public class MazeViewPanel extends JScrollPane {
    */
 
   public MazeViewPanel(int maxRows, int maxCol) {
+    this(maxRows, maxCol, GameSession.getDefault());
+  }
+
+  /**
+   * Builds the scroll panel to hold the grid view of a game that is played in the given session.
+   *
+   * @param maxRows The number of rows this panel will house.
+   * @param maxCol  The number of columns this panel will house.
+   * @param session The session whose view controller bus the grid posts to.
+   */
+
+  public MazeViewPanel(int maxRows, int maxCol, @NotNull GameSession session) {
     super();
     //Always show the scroll bars.
     setVerticalScrollBarPolicy(VERTICAL_SCROLLBAR_ALWAYS);
     setHorizontalScrollBarPolicy(HORIZONTAL_SCROLLBAR_ALWAYS);
     setMinimumSize(new Dimension(64 * maxRows, 64 * maxCol));
     setMaximumSize(new Dimension(64 * maxRows, 64 * maxCol));
-    mazeGridPanel = new MazeGridPanel(maxRows, maxCol);
+    mazeGridPanel = new MazeGridPanel(maxRows, maxCol, session);
     setViewportView(mazeGridPanel);
   }
 
@@ -1,5 +1,7 @@
 package pdp.aniachar.view.GraphicUserInterface;
 
+import org.jetbrains.annotations.NotNull;
+
 import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Component;
@@ -23,7 +25,7 @@ import javax.swing.SpinnerNumberModel;
 import javax.swing.SwingUtilities;
 
 import lombok.extern.flogger.Flogger;
-import pdp.aniachar.Communication;
+import pdp.aniachar.GameSession;
 import pdp.aniachar.view.ViewModel.INewGameState;
 import pdp.aniachar.view.ViewModel.NewGameState;
 
@@ -44,6 +46,7 @@ public class NewGameDialog extends JDialog {
   private final JTextField degreeOfInterConnectivityText;
   private final JTextField numberOfMonsterText;
   private final JComboBox<Boolean> isWrappedComboBox;
+  private final GameSession session;
 
 
   /**
@@ -51,7 +54,18 @@ public class NewGameDialog extends JDialog {
    */
 
   public NewGameDialog() {
+    this(GameSession.getDefault());
+  }
+
+  /**
+   * Builds a new-game dialog that asks the controller of the given session for the new game.
+   *
+   * @param session The session whose view controller bus the new game is posted to.
+   */
+
+  public NewGameDialog(@NotNull GameSession session) {
     super();
+    this.session = session;
     setTitle("New game!");
     setLayout(new BorderLayout());
 
@@ -162,7 +176,7 @@ public class NewGameDialog extends JDialog {
             .numberMonsters(numberOfMonsters)
             .percentTreasure(percentTreasure).build();
     log.atFine().log("Sending new restart event to controller");
-    Communication.getViewControllerBus().post(newGameState);
+    session.getViewControllerBus().post(newGameState);
   }
 
 
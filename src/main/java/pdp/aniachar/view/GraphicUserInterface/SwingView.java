@@ -1,15 +1,16 @@
 package pdp.aniachar.view.GraphicUserInterface;
 
-import com.google.common.eventbus.Subscribe;
-
 import org.apache.commons.lang3.tuple.MutablePair;
 import org.jetbrains.annotations.NotNull;
 
 import java.awt.Toolkit;
 
+import javax.swing.SwingUtilities;
+
 import lombok.Getter;
 import lombok.extern.flogger.Flogger;
-import pdp.aniachar.Communication;
+import pdp.aniachar.GameSession;
+import pdp.aniachar.view.CoalescingView;
 import pdp.aniachar.view.IView;
 import pdp.aniachar.view.ViewModel.IErrorViewModel;
 import pdp.aniachar.view.ViewModel.IEvent;
@@ -20,6 +21,8 @@ import pdp.aniachar.view.ViewModel.IQuit;
 
 /**
  * A view built using Java swing.
+ * The view models reach the view through a {@link CoalescingView} that renders them on the event
+ * dispatch thread, so the game does not wait for the frame to be painted.
  */
 
 @Flogger
@@ -28,6 +31,7 @@ public class SwingView implements IView {
   @Getter
   private final int maxRow, maxCol;
   private final GameFrame gameFrame;
+  private final GameSession session;
 
   /**
    * Builds the Java swing view.
@@ -37,26 +41,37 @@ public class SwingView implements IView {
    */
 
   public SwingView(int maxRow, int maxCol) {
+    this(maxRow, maxCol, GameSession.getDefault());
+  }
+
+  /**
+   * Builds the Java swing view for a game that is played in the given session.
+   * The view listens to the view controller bus through a {@link CoalescingView}.
+   *
+   * @param maxRow  The number of rows of the maze.
+   * @param maxCol  The number of columns of the maze.
+   * @param session The session whose view controller bus the view uses.
+   */
+
+  public SwingView(int maxRow, int maxCol, @NotNull GameSession session) {
     this.maxRow = maxRow;
     this.maxCol = maxCol;
-    gameFrame = new GameFrame(maxRow, maxCol);
-    Communication.getViewControllerBus().register(this);
+    this.session = session;
+    gameFrame = new GameFrame(maxRow, maxCol, session);
+    new CoalescingView(this, session.getViewControllerBus(), SwingUtilities::invokeLater);
   }
 
-  @Subscribe
   @Override
   public void renderPlayerViewModelListener(@NotNull IPlayerViewModel playerViewModel) {
     gameFrame.getPlayerViewPanel().updateView(playerViewModel);
   }
 
-  @Subscribe
   @Override
   public void renderLocationViewModelListener(@NotNull ILocationViewModel locationViewModel) {
     log.atFine().log("Received a new location model");
     gameFrame.getMazeViewPanel().updateView(locationViewModel);
   }
 
-  @Subscribe
   @Override
   public void renderEventDescriptionListener(@NotNull IEvent eventDescription) {
     gameFrame.getEventViewPanel().updateView(eventDescription);
@@ -85,7 +100,6 @@ public class SwingView implements IView {
 
   }
 
-  @Subscribe
   @Override
   public void renderErrorViewModelListener(@NotNull IErrorViewModel errorViewModel) {
     log.atWarning().log(errorViewModel.getErrorMessage());
@@ -106,7 +120,6 @@ public class SwingView implements IView {
 
   }
 
-  @Subscribe
   @Override
   public void quitListener(@NotNull IQuit quit) {
     gameFrame.dispose();
@@ -9,7 +9,7 @@ import java.io.IOException;
 import java.util.Locale;
 import java.util.Scanner;
 
-import pdp.aniachar.Communication;
+import pdp.aniachar.GameSession;
 import pdp.aniachar.controller.CommandLineParser;
 import pdp.aniachar.dungeonmaster.gameworld.SmellStrength;
 import pdp.aniachar.view.ViewModel.IErrorViewModel;
@@ -28,6 +28,7 @@ public class TextView implements IView {
   private final Scanner scanner;
   private final CommandLineParser parser;
   private final Appendable out;
+  private final GameSession session;
   private boolean quit = false;
 
   /**
@@ -38,10 +39,25 @@ public class TextView implements IView {
    */
 
   public TextView(@NotNull Appendable out, @NotNull Readable in, CommandLineParser parser) {
+    this(out, in, parser, GameSession.getDefault());
+  }
+
+  /**
+   * Builds a Text view for a game that is played in the given session.
+   *
+   * @param out     The consumer.
+   * @param in      The producer.
+   * @param parser  The parser of the commands read from the producer.
+   * @param session The session whose view controller bus the view uses.
+   */
+
+  public TextView(@NotNull Appendable out, @NotNull Readable in, CommandLineParser parser,
+                  @NotNull GameSession session) {
     this.out = out;
     scanner = new Scanner(in);
     this.parser = parser;
-    Communication.getViewControllerBus().register(this);
+    this.session = session;
+    session.getViewControllerBus().register(this);
 
   }
 
@@ -112,7 +128,7 @@ public class TextView implements IView {
   private void emitPlayerInteraction() {
     try {
       IPlayerInteraction interaction = parser.parseCommand(scanner.nextLine());
-      Communication.getViewControllerBus().post(interaction);
+      session.getViewControllerBus().post(interaction);
     } catch (IllegalArgumentException e) {
       renderToOutput(String
               .format("%s\n Use the 'help' command to get instructions on how to play the game\n",
@@ -0,0 +1,55 @@
+package pdp.aniachar.view.ViewModel;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+
+import pdp.aniachar.dungeonmaster.action.location.MoveAction;
+import pdp.aniachar.dungeonmaster.action.location.PickItemAction;
+import pdp.aniachar.gamekit.Direction;
+import pdp.aniachar.gamekit.ImmutableLocation;
+import pdp.aniachar.gamekit.ItemType;
+
+/**
+ * A location view model that is updated in place every turn instead of being built again.
+ * The same instance is published every turn, so it can only be used with views that render it
+ * when it is published and do not keep it. The maps are the ones handed out by the model and are
+ * not copied.
+ */
+
+public class ReusableLocationViewModel implements ILocationViewModel {
+  private Map<Direction, MoveAction> possibleMoves;
+  private ImmutableLocation<?> currentLocation;
+  private Map<ItemType, PickItemAction> items;
+
+  /**
+   * Updates the view model to the location the player is in.
+   *
+   * @param possibleMoves   The moves the player can make.
+   * @param currentLocation The location of the player.
+   * @param items           The items the player can pick.
+   */
+
+  public void update(@NotNull Map<Direction, MoveAction> possibleMoves,
+                     @NotNull ImmutableLocation<?> currentLocation,
+                     @NotNull Map<ItemType, PickItemAction> items) {
+    this.possibleMoves = possibleMoves;
+    this.currentLocation = currentLocation;
+    this.items = items;
+  }
+
+  @Override
+  public Map<Direction, MoveAction> getPossibleMoves() {
+    return possibleMoves;
+  }
+
+  @Override
+  public ImmutableLocation<?> getCurrentLocation() {
+    return currentLocation;
+  }
+
+  @Override
+  public Map<ItemType, PickItemAction> getItems() {
+    return items;
+  }
+}
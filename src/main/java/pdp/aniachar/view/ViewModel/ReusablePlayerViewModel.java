@@ -0,0 +1,73 @@
+package pdp.aniachar.view.ViewModel;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import pdp.aniachar.gamekit.Item;
+
+/**
+ * A player view model that is updated in place every turn instead of being built again.
+ * The same instance is published every turn, so it can only be used with views that render it
+ * when it is published and do not keep it. The inventory is only counted again when it is asked
+ * to, see {@link #updateInventory(List)}.
+ */
+
+public class ReusablePlayerViewModel implements IPlayerViewModel {
+  private final Map<String, Long> inventory;
+  private final Map<String, Long> readOnlyInventory;
+  private String name;
+  private double health;
+
+  /**
+   * Creates an empty view model.
+   */
+
+  public ReusablePlayerViewModel() {
+    inventory = new HashMap<>();
+    readOnlyInventory = Collections.unmodifiableMap(inventory);
+  }
+
+  /**
+   * Updates the name and the health of the player.
+   *
+   * @param name   The name of the player.
+   * @param health The health of the player.
+   */
+
+  public void update(String name, double health) {
+    this.name = name;
+    this.health = health;
+  }
+
+  /**
+   * Counts the items the player has by their name.
+   *
+   * @param items All the items the player has.
+   */
+
+  public void updateInventory(@NotNull List<Item> items) {
+    inventory.clear();
+    for (Item item : items) {
+      inventory.merge(item.getName(), 1L, Long::sum);
+    }
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public double getHealth() {
+    return health;
+  }
+
+  @Override
+  public Map<String, Long> getInventory() {
+    return readOnlyInventory;
+  }
+}
@@ -0,0 +1,115 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+
+import pdp.aniachar.dungeonmaster.comm.EventContainer;
+import pdp.aniachar.dungeonmaster.gameworld.CaveGraph;
+import pdp.aniachar.dungeonmaster.gameworld.IMazeLocation;
+import pdp.aniachar.dungeonmaster.gameworld.IMazeLocationBuilder;
+import pdp.aniachar.dungeonmaster.gameworld.Maze;
+import pdp.aniachar.dungeonmaster.gameworld.RandomMazeBuilder;
+import pdp.aniachar.gamekit.Direction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the functionalities of {@link CaveGraph}.
+ * Tests if searching the caves gives the same distances as searching the whole maze.
+ */
+
+public class CaveGraphTest {
+
+  private Maze maze;
+  private CaveGraph caveGraph;
+
+  @Before
+  public void setup() {
+    EventContainer.reset();
+    maze = (Maze) new RandomMazeBuilder(20, 30, true, 10, 20, 0).buildWorld();
+    caveGraph = maze.getCaveGraph();
+  }
+
+  @Test
+  public void testGraphIsKept() {
+    assertSame(caveGraph, maze.getCaveGraph());
+    assertTrue(caveGraph.isCurrent());
+  }
+
+  @Test
+  public void testGraphIsKeptWhenOtherWorldIsBuilt() {
+    new RandomMazeBuilder(20, 30, true, 10, 20, 0).buildWorld();
+    assertTrue(caveGraph.isCurrent());
+    assertSame(caveGraph, maze.getCaveGraph());
+  }
+
+  @Test
+  public void testStartAndEndAreCaves() {
+    IMazeLocation start = (IMazeLocation) maze.getStartLocation();
+    IMazeLocation end = (IMazeLocation) maze.getEndLocation();
+    assertNotEquals(-1, caveGraph.indexOf(start));
+    assertNotEquals(-1, caveGraph.indexOf(end));
+    assertTrue(caveGraph.distance(start, end) >= 5);
+  }
+
+  @Test
+  public void testOnlyCaves() {
+    Map<IMazeLocation, Integer> distances = IMazeLocationBuilder
+            .distanceToAllNodes((IMazeLocation) maze.getStartLocation());
+    int numberOfCaves = 0;
+    for (IMazeLocation location : distances.keySet()) {
+      if (location.getNumberOfExits() != 2) {
+        numberOfCaves++;
+        assertEquals(location, caveGraph.getCave(caveGraph.indexOf(location)));
+      } else {
+        assertEquals(-1, caveGraph.indexOf(location));
+      }
+    }
+    assertEquals(numberOfCaves, caveGraph.getNumberOfCaves());
+  }
+
+  @Test
+  public void testDistances() {
+    for (int cave = 0; cave < caveGraph.getNumberOfCaves(); cave += 7) {
+      Map<IMazeLocation, Integer> expected = IMazeLocationBuilder
+              .distanceToAllNodes(caveGraph.getCave(cave));
+      int[] distances = caveGraph.distancesFrom(cave);
+      for (int other = 0; other < caveGraph.getNumberOfCaves(); other++) {
+        assertEquals((int) expected.get(caveGraph.getCave(other)), distances[other]);
+      }
+    }
+  }
+
+  @Test
+  public void testEdges() {
+    for (int cave = 0; cave < caveGraph.getNumberOfCaves(); cave++) {
+      IMazeLocation location = caveGraph.getCave(cave);
+      assertEquals(location.getNumberOfExits(),
+              caveGraph.getFirstEdge(cave + 1) - caveGraph.getFirstEdge(cave));
+      for (int edge = caveGraph.getFirstEdge(cave); edge < caveGraph.getFirstEdge(cave + 1);
+           edge++) {
+        long[] tunnels = caveGraph.getEdgeTunnels(edge);
+        assertEquals(tunnels.length + 1, caveGraph.getEdgeLength(edge));
+        Direction direction = caveGraph.getEdgeExit(edge);
+        IMazeLocation current = location;
+        for (int step = 0; step < caveGraph.getEdgeLength(edge); step++) {
+          IMazeLocation next = (IMazeLocation) current.getMoveAction(direction).getWhereTo();
+          if (step < tunnels.length) {
+            assertEquals(tunnels[step], next.getCellId());
+            for (Direction exit : Direction.values()) {
+              if (next.getMoveAction(exit) != null
+                      && !next.getMoveAction(exit).getWhereTo().equals(current)) {
+                direction = exit;
+              }
+            }
+          }
+          current = next;
+        }
+        assertEquals(caveGraph.getCave(caveGraph.getEdgeTarget(edge)), current);
+      }
+    }
+  }
+}
@@ -0,0 +1,62 @@
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import pdp.aniachar.dungeonmaster.gameworld.CellId;
+import pdp.aniachar.dungeonmaster.gameworld.CellIdSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the functionalities of {@link CellIdSet}.
+ * Tests if the set behaves like a set of boxed ids while it grows.
+ */
+
+public class CellIdSetTest {
+
+  @Test
+  public void testBadInit() {
+    try {
+      new CellIdSet(-1);
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertEquals("Expected size cannot be negative", e.getMessage());
+    }
+  }
+
+  @Test
+  public void testAddAndContains() {
+    CellIdSet set = new CellIdSet();
+    assertTrue(set.add(CellId.of(0, 0)));
+    assertFalse(set.add(CellId.of(0, 0)));
+    assertTrue(set.contains(CellId.of(0, 0)));
+    assertFalse(set.contains(CellId.of(0, 1)));
+    assertTrue(set.add(CellId.of(-3, 7)));
+    assertTrue(set.contains(CellId.of(-3, 7)));
+    assertTrue(set.add(Long.MIN_VALUE));
+    assertFalse(set.add(Long.MIN_VALUE));
+    assertEquals(3, set.size());
+  }
+
+  @Test
+  public void testGrow() {
+    CellIdSet set = new CellIdSet();
+    Set<Long> expected = new HashSet<>();
+    Random random = new Random(5);
+    for (int i = 0; i < 10000; i++) {
+      long cellId = CellId.of(random.nextInt(200) - 100, random.nextInt(200) - 100);
+      assertEquals(expected.add(cellId), set.add(cellId));
+    }
+    assertEquals(expected.size(), set.size());
+    for (long cellId : expected) {
+      assertTrue(set.contains(cellId));
+    }
+    assertEquals(-100, CellId.getRow(CellId.of(-100, 5)));
+    assertEquals(-5, CellId.getCol(CellId.of(100, -5)));
+  }
+}
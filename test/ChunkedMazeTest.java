@@ -0,0 +1,114 @@
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import pdp.aniachar.dungeonmaster.DungeonGame;
+import pdp.aniachar.dungeonmaster.action.location.MoveAction;
+import pdp.aniachar.dungeonmaster.comm.EventContainer;
+import pdp.aniachar.dungeonmaster.gameworld.ChunkedMaze;
+import pdp.aniachar.dungeonmaster.gameworld.ChunkedMazeBuilder;
+import pdp.aniachar.dungeonmaster.gameworld.IMazeLocation;
+import pdp.aniachar.gamekit.Direction;
+import pdp.aniachar.gamekit.Game;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the functionalities of {@link ChunkedMaze}.
+ * Tests if the chunks are generated the same way every time and if far chunks are dropped.
+ */
+
+public class ChunkedMazeTest {
+
+  @Before
+  public void setup() {
+    EventContainer.reset();
+  }
+
+  @Test
+  public void testBadInit() {
+    try {
+      new ChunkedMazeBuilder(1, 4, 1, 10, 1);
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertTrue(e.getMessage().contains("Chunk size should be at least"));
+    }
+    try {
+      new ChunkedMazeBuilder(1, 8, 0, 10, 1);
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertEquals("View radius should be at least 1", e.getMessage());
+    }
+  }
+
+  @Test
+  public void testSameSeedSameWorld() throws Exception {
+    List<Direction> first = walk(new ChunkedMazeBuilder(42, 8, 1, 20, 3), 200);
+    List<Direction> second = walk(new ChunkedMazeBuilder(42, 8, 1, 20, 3), 200);
+    assertEquals(first, second);
+  }
+
+  @Test
+  public void testFarChunksAreDropped() throws Exception {
+    ChunkedMaze world = (ChunkedMaze) new ChunkedMazeBuilder(7, 6, 1, 20, 50).buildWorld();
+    assertEquals(9, world.getNumberOfLoadedChunks());
+    Game game = new DungeonGame(() -> world);
+    for (int i = 0; i < 2000; i++) {
+      List<MoveAction> moves = ((IMazeLocation) game.getActivePlayer().getCurrentLocation())
+              .getMoveAction();
+      assertTrue(moves.size() > 0);
+      game.interact(moves.get(i * 7 % moves.size()));
+      assertTrue(world.getNumberOfLoadedChunks() <= 25);
+    }
+  }
+
+  @Test
+  public void testBordersAreJoined() {
+    ChunkedMaze world = (ChunkedMaze) new ChunkedMazeBuilder(3, 5, 1, 0, 2).buildWorld();
+    IMazeLocation start = (IMazeLocation) world.getStartLocation();
+    int crossings = 0;
+    List<IMazeLocation> toVisit = new ArrayList<>(List.of(start));
+    Set<Pair<Integer, Integer>> visited = new HashSet<>();
+    while (!toVisit.isEmpty()) {
+      IMazeLocation location = toVisit.remove(toVisit.size() - 1);
+      if (!visited.add(location.getLocationDescription())) {
+        continue;
+      }
+      for (MoveAction action : location.getMoveAction()) {
+        IMazeLocation next = (IMazeLocation) action.act().orElseThrow();
+        toVisit.add(next);
+        if (Math.floorDiv(next.getLocationDescription().getLeft(), 5)
+                != Math.floorDiv(location.getLocationDescription().getLeft(), 5)
+                || Math.floorDiv(next.getLocationDescription().getRight(), 5)
+                != Math.floorDiv(location.getLocationDescription().getRight(), 5)) {
+          crossings++;
+        }
+      }
+    }
+    // All nine chunks are loaded, joined by twelve borders that are crossed both ways.
+    assertEquals(9 * 25, visited.size());
+    assertEquals(24, crossings);
+  }
+
+  private List<Direction> walk(ChunkedMazeBuilder builder, int steps) throws Exception {
+    EventContainer.reset();
+    Game game = new DungeonGame(builder);
+    List<Direction> path = new ArrayList<>();
+    for (int i = 0; i < steps; i++) {
+      List<MoveAction> moves = new ArrayList<>(((IMazeLocation) game.getActivePlayer()
+              .getCurrentLocation()).getMoveAction());
+      moves.sort((a, b) -> a.getDirection().compareTo(b.getDirection()));
+      MoveAction move = moves.get(i % moves.size());
+      path.add(move.getDirection());
+      game.interact(move);
+    }
+    return path;
+  }
+}
@@ -0,0 +1,176 @@
+import org.apache.commons.lang3.tuple.MutablePair;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import pdp.aniachar.EventDispatcher;
+import pdp.aniachar.dungeonmaster.gameworld.MazeLocation;
+import pdp.aniachar.view.CoalescingView;
+import pdp.aniachar.view.IView;
+import pdp.aniachar.view.ViewModel.ErrorViewModel;
+import pdp.aniachar.view.ViewModel.IErrorViewModel;
+import pdp.aniachar.view.ViewModel.IEvent;
+import pdp.aniachar.view.ViewModel.ILocationViewModel;
+import pdp.aniachar.view.ViewModel.IPlayerViewModel;
+import pdp.aniachar.view.ViewModel.IQuit;
+import pdp.aniachar.view.ViewModel.LocationViewModel;
+import pdp.aniachar.view.ViewModel.PlayerViewModel;
+import pdp.aniachar.view.ViewModel.Quit;
+import pdp.aniachar.view.ViewModel.ReusableLocationViewModel;
+import pdp.aniachar.view.ViewModel.ReusablePlayerViewModel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that the {@link CoalescingView} renders only the latest view models of a batch.
+ */
+
+public class CoalescingViewTest {
+
+  private EventDispatcher viewBus;
+  private List<Runnable> batches;
+  private List<String> rendered;
+  private CoalescingView coalescingView;
+
+  @Before
+  public void setup() {
+    viewBus = new EventDispatcher();
+    batches = new ArrayList<>();
+    rendered = new ArrayList<>();
+    coalescingView = new CoalescingView(new RecordingView(), viewBus, batches::add);
+  }
+
+  @Test
+  public void testLatestPlayerRendered() {
+    viewBus.post(player(100));
+    viewBus.post(player(90));
+    viewBus.post(player(80));
+    assertEquals(1, batches.size());
+    assertTrue(rendered.isEmpty());
+    renderBatches();
+    assertEquals(List.of("player 80.0"), rendered);
+    assertEquals(3, coalescingView.getReceived());
+    assertEquals(2, coalescingView.getCoalesced());
+  }
+
+  @Test
+  public void testEveryLocationRenderedOnce() {
+    viewBus.post(location(0, 0));
+    viewBus.post(location(0, 1));
+    viewBus.post(location(0, 0));
+    renderBatches();
+    // The location the player is at now is rendered last.
+    assertEquals(List.of("location (0,1)", "location (0,0)"), rendered);
+    assertEquals(1, coalescingView.getCoalesced());
+  }
+
+  @Test
+  public void testMessagesNeverCoalesced() {
+    viewBus.post(location(0, 0));
+    viewBus.post(new ErrorViewModel("first"));
+    viewBus.post(player(100));
+    viewBus.post(new ErrorViewModel("second"));
+    renderBatches();
+    assertEquals(List.of("error first", "error second", "player 100.0", "location (0,0)"),
+            rendered);
+    assertEquals(0, coalescingView.getCoalesced());
+  }
+
+  @Test
+  public void testNewBatchAfterRender() {
+    viewBus.post(player(100));
+    renderBatches();
+    viewBus.post(player(90));
+    renderBatches();
+    assertEquals(List.of("player 100.0", "player 90.0"), rendered);
+    assertEquals(2, coalescingView.getBatches());
+  }
+
+  @Test
+  public void testQuitStopsUpdates() {
+    viewBus.post(player(100));
+    viewBus.post(new Quit(false));
+    viewBus.post(player(90));
+    renderBatches();
+    assertEquals(List.of("player 100.0", "quit"), rendered);
+    assertEquals(2, coalescingView.getReceived());
+  }
+
+  @Test
+  public void testReusedViewModelsAreCopied() {
+    ReusablePlayerViewModel reusedPlayer = new ReusablePlayerViewModel();
+    ReusableLocationViewModel reusedLocation = new ReusableLocationViewModel();
+    reusedPlayer.update("player", 100);
+    viewBus.post(reusedPlayer);
+    reusedLocation.update(Map.of(), new MazeLocation(new MutablePair<>(0, 0)), Map.of());
+    viewBus.post(reusedLocation);
+    // The controller changes the same instances on the next turn before the batch is rendered.
+    reusedLocation.update(Map.of(), new MazeLocation(new MutablePair<>(0, 1)), Map.of());
+    viewBus.post(reusedLocation);
+    reusedPlayer.update("player", 50);
+    renderBatches();
+    assertEquals(List.of("player 100.0", "location (0,0)", "location (0,1)"), rendered);
+  }
+
+  private void renderBatches() {
+    List<Runnable> scheduled = new ArrayList<>(batches);
+    batches.clear();
+    scheduled.forEach(Runnable::run);
+  }
+
+  private static IPlayerViewModel player(double health) {
+    return new PlayerViewModel("player", health, Map.of());
+  }
+
+  private static ILocationViewModel location(int row, int col) {
+    return new LocationViewModel(Map.of(), new MazeLocation(new MutablePair<>(row, col)),
+            Map.of());
+  }
+
+  /**
+   * Records what it is asked to render.
+   */
+
+  public class RecordingView implements IView {
+
+    @Override
+    public void renderPlayerViewModelListener(@NotNull IPlayerViewModel playerViewModel) {
+      rendered.add("player " + playerViewModel.getHealth());
+    }
+
+    @Override
+    public void renderLocationViewModelListener(@NotNull ILocationViewModel locationViewModel) {
+      rendered.add("location " + locationViewModel.getCurrentLocation().getLocationDescription());
+    }
+
+    @Override
+    public void renderEventDescriptionListener(@NotNull IEvent eventDescription) {
+      rendered.add("event " + eventDescription.getDescription());
+    }
+
+    @Override
+    public void renderErrorViewModelListener(@NotNull IErrorViewModel errorViewModel) {
+      rendered.add("error " + errorViewModel.getErrorMessage());
+    }
+
+    @Override
+    public void start() {
+      rendered.add("start");
+    }
+
+    @Override
+    public void stop() {
+      rendered.add("stop");
+    }
+
+    @Override
+    public void quitListener(@NotNull IQuit quit) {
+      rendered.add("quit");
+    }
+  }
+}
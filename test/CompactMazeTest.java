@@ -0,0 +1,107 @@
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import pdp.aniachar.dungeonmaster.action.location.MoveAction;
+import pdp.aniachar.dungeonmaster.action.location.PickItemAction;
+import pdp.aniachar.dungeonmaster.comm.EventContainer;
+import pdp.aniachar.dungeonmaster.gameworld.CompactMaze;
+import pdp.aniachar.dungeonmaster.gameworld.CompactMazeBuilder;
+import pdp.aniachar.dungeonmaster.gameworld.IMazeLocation;
+import pdp.aniachar.dungeonmaster.gameworld.IMazeLocationBuilder;
+import pdp.aniachar.dungeonmaster.gameworld.SmellStrength;
+import pdp.aniachar.gamekit.Direction;
+import pdp.aniachar.gamekit.Item;
+import pdp.aniachar.gamekit.ItemType;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the functionalities of {@link CompactMaze}.
+ * Tests if the views of the locations behave like the locations of a regular maze.
+ */
+
+public class CompactMazeTest {
+
+  private CompactMaze maze;
+
+  @Before
+  public void setup() {
+    EventContainer.reset();
+    maze = (CompactMaze) new CompactMazeBuilder(20, 30, 100).buildWorld();
+  }
+
+  @Test
+  public void testSpanningTree() {
+    Map<IMazeLocation, Integer> distances = IMazeLocationBuilder
+            .distanceToAllNodes((IMazeLocation) maze.getStartLocation());
+    assertEquals(20 * 30, distances.size());
+    int exits = 0;
+    for (IMazeLocation location : distances.keySet()) {
+      exits += location.getMoveAction().size();
+    }
+    assertEquals(20 * 30 - 1, exits / 2);
+    assertTrue(distances.get((IMazeLocation) maze.getEndLocation()) >= 5);
+  }
+
+  @Test
+  public void testViewsAreEqual() {
+    IMazeLocation location = maze.getLocation(3, 4);
+    assertEquals(location, maze.getLocation(3, 4));
+    assertEquals(location.hashCode(), maze.getLocation(3, 4).hashCode());
+    assertEquals(location, location.copy());
+    assertNotEquals(location, maze.getLocation(4, 3));
+    assertEquals(Pair.of(3, 4), location.getLocationDescription());
+    for (MoveAction action : location.getMoveAction()) {
+      IMazeLocation neighbour = (IMazeLocation) action.act().orElseThrow();
+      boolean leadsBack = false;
+      for (MoveAction back : neighbour.getMoveAction()) {
+        leadsBack |= back.act().orElseThrow().equals(location);
+      }
+      assertTrue(leadsBack);
+    }
+    try {
+      maze.getLocation(20, 0);
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertEquals("Location is outside the maze", e.getMessage());
+    }
+  }
+
+  @Test
+  public void testPickAndRestart() {
+    IMazeLocation location = maze.getLocation(0, 0);
+    List<Item> items = location.getItems();
+    assertTrue(items.stream().anyMatch(item -> item.getItemType() == ItemType.ARROW));
+    PickItemAction pickArrow = location.getPickItemActions().get(ItemType.ARROW);
+    assertTrue(pickArrow.act().isPresent());
+    assertFalse(pickArrow.act().isPresent());
+    assertEquals(items.size() - 1, maze.getLocation(0, 0).getItems().size());
+    maze.restart();
+    assertEquals(items.size(), maze.getLocation(0, 0).getItems().size());
+  }
+
+  @Test
+  public void testSmellAroundEnd() {
+    IMazeLocation end = (IMazeLocation) maze.getEndLocation();
+    for (MoveAction action : end.getMoveAction()) {
+      IMazeLocation neighbour = (IMazeLocation) action.act().orElseThrow();
+      assertEquals(SmellStrength.STRONG, neighbour.getSmellStrength());
+    }
+  }
+
+  @Test
+  public void testNoPathsWrapAround() {
+    List<MoveAction> moves = maze.getLocation(0, 0).getMoveAction();
+    for (MoveAction move : moves) {
+      assertTrue(move.getDirection() == Direction.EAST || move.getDirection() == Direction.SOUTH);
+    }
+  }
+}
@@ -0,0 +1,68 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import pdp.aniachar.dungeonmaster.gameworld.DisjointSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the behaviour of {@link DisjointSet}.
+ * Tests if the functionalities work as defined.
+ */
+
+public class DisjointSetTest {
+  DisjointSet disjointSet;
+
+  @Before
+  public void setup() {
+    disjointSet = new DisjointSet(10);
+  }
+
+  @Test
+  public void creation() {
+    try {
+      new DisjointSet(-1);
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertTrue(e.getMessage().contains("negative"));
+    }
+    assertEquals(10, disjointSet.size());
+    assertEquals(10, disjointSet.getNumberOfSets());
+    for (int i = 0; i < 10; i++) {
+      assertEquals(i, disjointSet.find(i));
+    }
+  }
+
+  @Test
+  public void union() {
+    assertTrue(disjointSet.union(0, 1));
+    assertTrue(disjointSet.union(2, 3));
+    assertFalse(disjointSet.union(1, 0));
+    assertEquals(8, disjointSet.getNumberOfSets());
+    assertTrue(disjointSet.isConnected(0, 1));
+    assertFalse(disjointSet.isConnected(1, 2));
+    assertTrue(disjointSet.union(1, 3));
+    assertTrue(disjointSet.isConnected(0, 2));
+    assertEquals(disjointSet.find(0), disjointSet.find(3));
+    assertEquals(7, disjointSet.getNumberOfSets());
+  }
+
+  @Test
+  public void spanningTree() {
+    DisjointSet grid = new DisjointSet(100);
+    int treeEdges = 0;
+    for (int i = 0; i < 100; i++) {
+      if (i % 10 < 9 && grid.union(i, i + 1)) {
+        treeEdges++;
+      }
+      if (i < 90 && grid.union(i, i + 10)) {
+        treeEdges++;
+      }
+    }
+    assertEquals(99, treeEdges);
+    assertEquals(1, grid.getNumberOfSets());
+  }
+}
@@ -0,0 +1,126 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import pdp.aniachar.dungeonmaster.comm.EventContainer;
+import pdp.aniachar.dungeonmaster.gameworld.EllerMazeBuilder;
+import pdp.aniachar.dungeonmaster.gameworld.IMazeLocation;
+import pdp.aniachar.dungeonmaster.gameworld.IMazeLocationBuilder;
+import pdp.aniachar.dungeonmaster.gameworld.MazeRow;
+import pdp.aniachar.dungeonmaster.gameworld.MazeRowFileSink;
+import pdp.aniachar.dungeonmaster.gameworld.MazeRowSink;
+import pdp.aniachar.gamekit.Direction;
+import pdp.aniachar.gamekit.GameWorld;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the functionalities of {@link EllerMazeBuilder}.
+ * Tests if the maze built one row at a time is a spanning tree and if the rows are streamed.
+ */
+
+public class EllerMazeBuilderTest {
+
+  @Before
+  public void setup() {
+    EventContainer.reset();
+  }
+
+  @Test
+  public void testBadInit() {
+    try {
+      new EllerMazeBuilder(5, 40, 0);
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertTrue(e.getMessage().contains("Rows and columns should be at least"));
+    }
+    try {
+      new EllerMazeBuilder(40, 40, 101);
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertTrue(e.getMessage().contains("percentTreasure cannot be greater than 100"));
+    }
+  }
+
+  @Test
+  public void testSpanningTree() {
+    GameWorld world = new EllerMazeBuilder(30, 50, 20).buildWorld();
+    Map<IMazeLocation, Integer> distances = IMazeLocationBuilder
+            .distanceToAllNodes((IMazeLocation) world.getStartLocation());
+    assertEquals(30 * 50, distances.size());
+    int exits = 0;
+    for (IMazeLocation location : distances.keySet()) {
+      exits += location.getMoveAction().size();
+    }
+    assertEquals(30 * 50 - 1, exits / 2);
+    assertTrue(distances.get((IMazeLocation) world.getEndLocation()) >= 5);
+  }
+
+  @Test
+  public void testStreamedRows() {
+    int[] rowsSeen = new int[1];
+    int[] treasure = new int[2];
+    new EllerMazeBuilder(20, 10, 50).generate(new MazeRowSink() {
+      @Override
+      public void begin(int maxRows, int maxCols) {
+        assertEquals(20, maxRows);
+        assertEquals(10, maxCols);
+      }
+
+      @Override
+      public void acceptRow(MazeRow row) {
+        assertEquals(rowsSeen[0]++, row.getRow());
+        for (int c = 0; c < row.getNumberOfColumns(); c++) {
+          assertTrue(row.getNumberOfDoors(c) > 0);
+          if (row.getRow() == 0) {
+            assertTrue(!row.hasDoor(c, Direction.NORTH));
+          }
+          if (c == 0) {
+            assertTrue(!row.hasDoor(c, Direction.WEST));
+          }
+          if (row.getNumberOfDoors(c) != 2) {
+            treasure[0]++;
+            if (row.getTreasure(c) != null) {
+              treasure[1]++;
+            }
+          } else {
+            assertEquals(null, row.getTreasure(c));
+          }
+        }
+      }
+
+      @Override
+      public void finish(int startRow, int startCol, int endRow, int endCol) {
+        assertTrue(endRow - startRow >= 5);
+      }
+    });
+    assertEquals(20, rowsSeen[0]);
+    assertTrue(Math.abs(treasure[0] * 50 / 100 - treasure[1]) <= 1);
+  }
+
+  @Test
+  public void testFileSink() throws IOException {
+    Path file = Files.createTempFile("maze", ".bin");
+    try {
+      try (MazeRowFileSink sink = new MazeRowFileSink(file)) {
+        new EllerMazeBuilder(12, 15, 20).generate(sink);
+      }
+      try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+        assertEquals(MazeRowFileSink.MAGIC, in.readInt());
+        assertEquals(MazeRowFileSink.VERSION, in.readInt());
+        assertEquals(12, in.readInt());
+        assertEquals(15, in.readInt());
+      }
+      assertEquals(4 * 4 + 12 * 15 + 4 * 4, Files.size(file));
+    } finally {
+      Files.delete(file);
+    }
+  }
+}
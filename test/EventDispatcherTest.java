@@ -0,0 +1,271 @@
+import com.google.common.eventbus.DeadEvent;
+import com.google.common.eventbus.Subscribe;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import pdp.aniachar.EventDispatcher;
+import pdp.aniachar.LocatedEvent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that the {@link EventDispatcher} delivers events the way the Guava event bus does.
+ */
+
+public class EventDispatcherTest {
+
+  private EventDispatcher dispatcher;
+  private List<String> received;
+
+  @Before
+  public void setup() {
+    dispatcher = new EventDispatcher();
+    received = new ArrayList<>();
+  }
+
+  @Test
+  public void testSuperTypesReceiveEvents() {
+    dispatcher.register(new Recorder("recorder"));
+    dispatcher.post("event");
+    dispatcher.post(42);
+    assertEquals(List.of("recorder string event", "recorder object event",
+            "recorder object 42"), received);
+  }
+
+  @Test
+  public void testRegisterTwice() {
+    Recorder recorder = new Recorder("recorder");
+    dispatcher.register(recorder);
+    dispatcher.register(recorder);
+    dispatcher.post(42);
+    assertEquals(List.of("recorder object 42"), received);
+  }
+
+  @Test
+  public void testUnregister() {
+    Recorder recorder = new Recorder("recorder");
+    dispatcher.register(recorder);
+    dispatcher.unregister(recorder);
+    dispatcher.post(42);
+    assertTrue(received.isEmpty());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnregisterUnknownListener() {
+    dispatcher.unregister(new Recorder("recorder"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidSubscriber() {
+    dispatcher.register(new Object() {
+      @Subscribe
+      public void twoEvents(String first, String second) {
+        // Never called.
+      }
+    });
+  }
+
+  @Test
+  public void testEventsPostedWhileDispatchingAreQueued() {
+    dispatcher.register(new Reposter());
+    dispatcher.register(new Recorder("recorder"));
+    dispatcher.post("event");
+    // Both subscribers get the first event before anyone gets the second.
+    assertEquals(List.of("reposter event", "recorder string event", "recorder object event",
+            "recorder object 1"), received);
+  }
+
+  @Test
+  public void testSubscribersFixedWhenPosted() {
+    Recorder late = new Recorder("late");
+    dispatcher.register(new Object() {
+      @Subscribe
+      public void registerLate(String event) {
+        dispatcher.register(late);
+      }
+    });
+    dispatcher.post("event");
+    assertTrue(received.isEmpty());
+    dispatcher.post("event");
+    assertEquals(List.of("late string event", "late object event"), received);
+  }
+
+  @Test
+  public void testFailingSubscriberDoesNotStopDispatch() {
+    dispatcher.register(new Object() {
+      @Subscribe
+      public void fail(Integer event) {
+        throw new IllegalStateException("Subscriber failed");
+      }
+    });
+    dispatcher.register(new Recorder("recorder"));
+    dispatcher.post(42);
+    assertEquals(List.of("recorder object 42"), received);
+  }
+
+  @Test
+  public void testDeadEvent() {
+    List<Object> deadEvents = new ArrayList<>();
+    dispatcher.register(new Object() {
+      @Subscribe
+      public void dead(DeadEvent event) {
+        deadEvents.add(event.getEvent());
+      }
+    });
+    dispatcher.post("unheard");
+    assertEquals(List.of("unheard"), deadEvents);
+  }
+
+  @Test
+  public void testLocatedEventOnlyReachesItsCell() {
+    dispatcher.registerAt(new CellRecorder("first"), 1);
+    dispatcher.registerAt(new CellRecorder("second"), 2);
+    dispatcher.post(new Hit(1));
+    assertEquals(List.of("first hit 1"), received);
+    received.clear();
+    // Events that are not located reach the listener wherever it is.
+    dispatcher.post("event");
+    assertEquals(List.of("first string event", "second string event"), received);
+  }
+
+  @Test
+  public void testLocatedEventReachesEveryEventListeners() {
+    dispatcher.registerAt(new CellRecorder("cell"), 1);
+    dispatcher.register(new Recorder("recorder"));
+    dispatcher.post(new Hit(1));
+    assertEquals(List.of("recorder object hit 1", "cell hit 1"), received);
+    received.clear();
+    dispatcher.post(new Hit(3));
+    assertEquals(List.of("recorder object hit 3"), received);
+  }
+
+  @Test
+  public void testUnregisterAtCell() {
+    CellRecorder first = new CellRecorder("first");
+    dispatcher.registerAt(first, 1);
+    dispatcher.registerAt(new CellRecorder("second"), 1);
+    dispatcher.unregister(first);
+    dispatcher.post(new Hit(1));
+    assertEquals(List.of("second hit 1"), received);
+  }
+
+  @Test
+  public void testManyCells() {
+    for (int cell = 0; cell < 1000; cell++) {
+      dispatcher.registerAt(new CellRecorder("cell " + cell), cell * 7919L);
+    }
+    dispatcher.post(new Hit(500 * 7919L));
+    assertEquals(List.of(String.format("cell 500 hit %d", 500 * 7919L)), received);
+  }
+
+  @Test
+  public void testErrorInSubscriberDoesNotStopQueue() {
+    dispatcher.register(new Failing());
+    dispatcher.register(new Recorder("recorder"));
+    dispatcher.register(new Reposter());
+    dispatcher.post("event");
+    dispatcher.post("again");
+    // The other subscribers of both strings and the events they queued are still dispatched.
+    assertEquals(2, received.stream().filter("recorder object 1"::equals).count());
+    assertTrue(received.containsAll(List.of("failing event", "recorder object event",
+            "failing again", "recorder object again")));
+    assertEquals("recorder object 1", received.get(received.size() - 1));
+  }
+
+  /**
+   * An event at a cell.
+   */
+
+  public static class Hit implements LocatedEvent {
+    private final long cellId;
+
+    Hit(long cellId) {
+      this.cellId = cellId;
+    }
+
+    @Override
+    public long getCellId() {
+      return cellId;
+    }
+
+    @Override
+    public String toString() {
+      return "hit " + cellId;
+    }
+  }
+
+  /**
+   * Records the hits of its cell and every string.
+   */
+
+  public class CellRecorder {
+    private final String name;
+
+    CellRecorder(String name) {
+      this.name = name;
+    }
+
+    @Subscribe
+    public void hit(Hit event) {
+      received.add(String.format("%s %s", name, event));
+    }
+
+    @Subscribe
+    public void string(String event) {
+      received.add(String.format("%s string %s", name, event));
+    }
+  }
+
+  /**
+   * Records the events it receives, as strings and as objects.
+   */
+
+  public class Recorder {
+    private final String name;
+
+    Recorder(String name) {
+      this.name = name;
+    }
+
+    @Subscribe
+    public void string(String event) {
+      received.add(String.format("%s string %s", name, event));
+    }
+
+    @Subscribe
+    public void object(Object event) {
+      received.add(String.format("%s object %s", name, event));
+    }
+  }
+
+  /**
+   * Throws an error for every string it receives.
+   */
+
+  public class Failing {
+
+    @Subscribe
+    public void fail(String event) {
+      received.add("failing " + event);
+      throw new AssertionError("failing subscriber");
+    }
+  }
+
+  /**
+   * Posts another event for every string it receives.
+   */
+
+  public class Reposter {
+
+    @Subscribe
+    public void repost(String event) {
+      received.add("reposter " + event);
+      dispatcher.post(1);
+    }
+  }
+}
@@ -0,0 +1,109 @@
+import com.google.common.eventbus.Subscribe;
+
+import org.apache.commons.lang3.tuple.MutablePair;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import pdp.aniachar.Communication;
+import pdp.aniachar.GameSession;
+import pdp.aniachar.controller.Controller;
+import pdp.aniachar.dungeonmaster.DungeonGame;
+import pdp.aniachar.dungeonmaster.character.monster.Otyughs;
+import pdp.aniachar.dungeonmaster.comm.ArrowHitEvent;
+import pdp.aniachar.dungeonmaster.comm.DeathEvent;
+import pdp.aniachar.dungeonmaster.comm.EventContainer;
+import pdp.aniachar.dungeonmaster.gameworld.IMazeLocation;
+import pdp.aniachar.dungeonmaster.gameworld.MazeLocation;
+import pdp.aniachar.dungeonmaster.gameworld.RandomMazeBuilder;
+import pdp.aniachar.view.ViewModel.Nouns;
+import pdp.aniachar.view.ViewModel.PlayerInteraction;
+import pdp.aniachar.view.ViewModel.Verbs;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that games played in different {@link GameSession}s do not see each other's events.
+ */
+
+public class GameSessionTest {
+
+  private GameSession first;
+  private GameSession second;
+
+  @Before
+  public void setup() {
+    first = new GameSession();
+    second = new GameSession();
+  }
+
+  @Test
+  public void testDefaultSessionBuses() {
+    GameSession session = GameSession.getDefault();
+    assertSame(session.getModelEventBus(), EventContainer.getModelEventBus());
+    assertSame(session.getModelControllerBus(), Communication.getModelControllerBus());
+    assertSame(session.getViewControllerBus(), Communication.getViewControllerBus());
+    EventContainer.reset();
+    assertSame(session.getModelEventBus(), EventContainer.getModelEventBus());
+  }
+
+  @Test
+  public void testMonsterOnlyHitInItsSession() {
+    // Both monsters are at the same position, so only the bus tells them apart.
+    Otyughs firstMonster = new Otyughs(new MazeLocation(new MutablePair<>(0, 0)), "first",
+            first);
+    Otyughs secondMonster = new Otyughs(new MazeLocation(new MutablePair<>(0, 0)), "second",
+            second);
+    DeathCounter firstDeaths = new DeathCounter();
+    DeathCounter secondDeaths = new DeathCounter();
+    first.getModelEventBus().register(firstDeaths);
+    second.getModelEventBus().register(secondDeaths);
+
+    IMazeLocation firstLocation = (IMazeLocation) firstMonster.getCurrentLocation();
+    first.getModelEventBus().post(new ArrowHitEvent(firstLocation, 50d));
+    first.getModelEventBus().post(new ArrowHitEvent(firstLocation, 50d));
+
+    assertEquals(1, firstDeaths.deaths.size());
+    assertSame(firstMonster, firstDeaths.deaths.get(0));
+    assertTrue(secondDeaths.deaths.isEmpty());
+    assertEquals(100d, secondMonster.getCurrentHealth(), 0.0001);
+  }
+
+  @Test
+  public void testTwoGamesInOneProcess() {
+    DungeonGame firstGame = new DungeonGame(new RandomMazeBuilder(10, 10, false, 0, 20, 0),
+            first);
+    DungeonGame secondGame = new DungeonGame(new RandomMazeBuilder(10, 10, false, 0, 20, 0),
+            second);
+    MoveAllocationTest.SilentView firstView =
+            new MoveAllocationTest.SilentView(first.getViewControllerBus());
+    MoveAllocationTest.SilentView secondView =
+            new MoveAllocationTest.SilentView(second.getViewControllerBus());
+    new Controller(firstGame, firstView, false, first);
+    new Controller(secondGame, secondView, false, second);
+
+    IMazeLocation start = (IMazeLocation) firstGame.getActivePlayer().getCurrentLocation();
+    Nouns direction = Nouns.valueOf(start.getMoveAction().get(0).getDirection().name());
+    first.getViewControllerBus().post(new PlayerInteraction(Verbs.MOVE, direction));
+
+    assertEquals(2, firstView.getRendered());
+    assertEquals(0, secondView.getRendered());
+  }
+
+  /**
+   * Keeps every monster that dies.
+   */
+
+  public static class DeathCounter {
+    private final List<Object> deaths = new ArrayList<>();
+
+    @Subscribe
+    public void monsterDied(DeathEvent<Otyughs> deathEvent) {
+      deaths.add(deathEvent.getPayload());
+    }
+  }
+}
@@ -0,0 +1,74 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+
+import pdp.aniachar.dungeonmaster.comm.EventContainer;
+import pdp.aniachar.dungeonmaster.gameworld.IMazeLocation;
+import pdp.aniachar.dungeonmaster.gameworld.IMazeLocationBuilder;
+import pdp.aniachar.dungeonmaster.gameworld.MazeAlgorithm;
+import pdp.aniachar.gamekit.GameWorld;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the functionalities of every {@link MazeAlgorithm}.
+ * Tests if every algorithm builds a spanning tree of the grid with the requested extra paths.
+ */
+
+public class MazeAlgorithmTest {
+
+  @Before
+  public void setup() {
+    EventContainer.reset();
+  }
+
+  @Test
+  public void testSpanningTree() {
+    for (MazeAlgorithm algorithm : MazeAlgorithm.values()) {
+      for (boolean isWrapped : new boolean[]{false, true}) {
+        GameWorld world = algorithm.createBuilder(20, 25, isWrapped, 0, 20, 0).buildWorld();
+        assertEquals(algorithm + " " + isWrapped, 20 * 25 - 1, countPaths(world, 20 * 25));
+      }
+    }
+  }
+
+  @Test
+  public void testInterConnections() {
+    for (MazeAlgorithm algorithm : MazeAlgorithm.values()) {
+      for (boolean isWrapped : new boolean[]{false, true}) {
+        GameWorld world = algorithm.createBuilder(20, 25, isWrapped, 9, 20, 3).buildWorld();
+        assertEquals(algorithm + " " + isWrapped, 20 * 25 - 1 + 9,
+                countPaths(world, 20 * 25));
+      }
+    }
+  }
+
+  @Test
+  public void testStartAndEnd() {
+    for (MazeAlgorithm algorithm : MazeAlgorithm.values()) {
+      GameWorld world = algorithm.createBuilder(12, 12, false, 0, 0, 0).buildWorld();
+      IMazeLocation start = (IMazeLocation) world.getStartLocation();
+      IMazeLocation end = (IMazeLocation) world.getEndLocation();
+      assertNotEquals(2, start.getNumberOfExits());
+      assertNotEquals(2, end.getNumberOfExits());
+      assertTrue(IMazeLocationBuilder.distanceToAllNodes(start).get(end) >= 5);
+    }
+  }
+
+  /**
+   * Counts the paths in the world after checking that every location can be reached.
+   */
+  private int countPaths(GameWorld world, int numberOfLocations) {
+    Map<IMazeLocation, Integer> distances = IMazeLocationBuilder
+            .distanceToAllNodes((IMazeLocation) world.getStartLocation());
+    assertEquals(numberOfLocations, distances.size());
+    int exits = 0;
+    for (IMazeLocation location : distances.keySet()) {
+      exits += location.getMoveAction().size();
+    }
+    return exits / 2;
+  }
+}
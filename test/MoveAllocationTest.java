@@ -0,0 +1,159 @@
+import com.google.common.eventbus.Subscribe;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import pdp.aniachar.Communication;
+import pdp.aniachar.EventDispatcher;
+import pdp.aniachar.controller.Controller;
+import pdp.aniachar.dungeonmaster.DungeonGame;
+import pdp.aniachar.dungeonmaster.comm.EventContainer;
+import pdp.aniachar.dungeonmaster.gameworld.IMazeLocation;
+import pdp.aniachar.dungeonmaster.gameworld.RandomMazeBuilder;
+import pdp.aniachar.gamekit.Direction;
+import pdp.aniachar.view.IView;
+import pdp.aniachar.view.ViewModel.IErrorViewModel;
+import pdp.aniachar.view.ViewModel.IEvent;
+import pdp.aniachar.view.ViewModel.ILocationViewModel;
+import pdp.aniachar.view.ViewModel.IPlayerInteraction;
+import pdp.aniachar.view.ViewModel.IPlayerViewModel;
+import pdp.aniachar.view.ViewModel.IQuit;
+import pdp.aniachar.view.ViewModel.Nouns;
+import pdp.aniachar.view.ViewModel.PlayerInteraction;
+import pdp.aniachar.view.ViewModel.Verbs;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the heap allocated by a move once the game is warmed up.
+ * The model and the controller do not allocate during a move and neither does the
+ * {@link EventDispatcher} when the player entering the new location, and the player and location
+ * view models are posted, so a move should not allocate at all.
+ */
+
+public class MoveAllocationTest {
+
+  private static final int WARM_UP_MOVES = 50_000;
+  private static final int MEASURED_MOVES = 10_000;
+
+  private com.sun.management.ThreadMXBean threadMxBean;
+  private DungeonGame game;
+  private Controller controller;
+  private SilentView view;
+
+  @Before
+  public void setup() {
+    Assume.assumeTrue(ManagementFactory.getThreadMXBean()
+            instanceof com.sun.management.ThreadMXBean);
+    threadMxBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    Assume.assumeTrue(threadMxBean.isThreadAllocatedMemorySupported());
+    threadMxBean.setThreadAllocatedMemoryEnabled(true);
+    EventContainer.reset();
+    Communication.reset();
+    game = new DungeonGame(new RandomMazeBuilder(10, 10, false, 0, 20, 0));
+    view = new SilentView(Communication.getViewControllerBus());
+    controller = new Controller(game, view, true);
+  }
+
+  @Test
+  public void testMoveAllocationBudget() {
+    IPlayerInteraction[] moves = getMovesBackAndForth();
+    for (int i = 0; i < WARM_UP_MOVES; i++) {
+      controller.playerInteractionEventListener(moves[i % 2]);
+    }
+    long threadId = Thread.currentThread().getId();
+    long before = threadMxBean.getThreadAllocatedBytes(threadId);
+    for (int i = 0; i < MEASURED_MOVES; i++) {
+      controller.playerInteractionEventListener(moves[i % 2]);
+    }
+    long bytesPerMove = (threadMxBean.getThreadAllocatedBytes(threadId) - before)
+            / MEASURED_MOVES;
+    assertEquals(2L * (WARM_UP_MOVES + MEASURED_MOVES), view.getRendered());
+    assertEquals("Bytes allocated by a move", 0L, bytesPerMove);
+  }
+
+  private IPlayerInteraction[] getMovesBackAndForth() {
+    IMazeLocation start = (IMazeLocation) game.getActivePlayer().getCurrentLocation();
+    Direction there = start.getMoveAction().get(0).getDirection();
+    return new IPlayerInteraction[]{
+        new PlayerInteraction(Verbs.MOVE, toNoun(there)),
+        new PlayerInteraction(Verbs.MOVE, toNoun(oppositeOf(there)))};
+  }
+
+  private static Direction oppositeOf(Direction direction) {
+    switch (direction) {
+      case NORTH:
+        return Direction.SOUTH;
+      case SOUTH:
+        return Direction.NORTH;
+      case EAST:
+        return Direction.WEST;
+      default:
+        return Direction.EAST;
+    }
+  }
+
+  private static Nouns toNoun(Direction direction) {
+    return Nouns.valueOf(direction.name());
+  }
+
+  /**
+   * A view that only counts what it is asked to render.
+   */
+
+  public static class SilentView implements IView {
+    private long rendered;
+
+    SilentView(EventDispatcher eventBus) {
+      eventBus.register(this);
+    }
+
+    long getRendered() {
+      return rendered;
+    }
+
+    @Subscribe
+    @Override
+    public void renderPlayerViewModelListener(@NotNull IPlayerViewModel playerViewModel) {
+      rendered++;
+    }
+
+    @Subscribe
+    @Override
+    public void renderLocationViewModelListener(@NotNull ILocationViewModel locationViewModel) {
+      rendered++;
+    }
+
+    @Subscribe
+    @Override
+    public void renderEventDescriptionListener(@NotNull IEvent eventDescription) {
+      rendered++;
+    }
+
+    @Subscribe
+    @Override
+    public void renderErrorViewModelListener(@NotNull IErrorViewModel errorViewModel) {
+      rendered++;
+    }
+
+    @Override
+    public void start() {
+      // Moves are made by the test.
+    }
+
+    @Override
+    public void stop() {
+      // Nothing to stop.
+    }
+
+    @Subscribe
+    @Override
+    public void quitListener(@NotNull IQuit quit) {
+      // The test never quits.
+    }
+  }
+}
@@ -15,6 +15,7 @@ import pdp.aniachar.dungeonmaster.comm.DeathEvent;
 import pdp.aniachar.dungeonmaster.comm.EventContainer;
 import pdp.aniachar.dungeonmaster.gameworld.IMazeLocationBuilder;
 import pdp.aniachar.dungeonmaster.gameworld.MazeLocation;
+import pdp.aniachar.dungeonmaster.gameworld.SmellField;
 import pdp.aniachar.dungeonmaster.gameworld.SmellStrength;
 import pdp.aniachar.dungeonmaster.item.Arrow;
 import pdp.aniachar.dungeonmaster.item.ShootArrowAction;
@@ -151,6 +152,60 @@ public class OtyughsTest {
     assertEquals(SmellStrength.STRONG, locations.get(1).getSmellStrength());
   }
 
+  @Test
+  public void testSmellField() {
+    IMazeLocationBuilder.makeAdjacent(new MutablePair<>(locations.get(0), locations.get(1)), 6, 6);
+    IMazeLocationBuilder.makeAdjacent(new MutablePair<>(locations.get(0), locations.get(6)), 6, 6);
+    IMazeLocationBuilder.makeAdjacent(new MutablePair<>(locations.get(1), locations.get(2)), 6, 6);
+    IMazeLocationBuilder.makeAdjacent(new MutablePair<>(locations.get(2), locations.get(3)), 6, 6);
+    IMazeLocationBuilder.makeAdjacent(new MutablePair<>(locations.get(2), locations.get(8)), 6, 6);
+    IMazeLocationBuilder.makeAdjacent(new MutablePair<>(locations.get(3), locations.get(4)), 6, 6);
+    IMazeLocationBuilder.makeAdjacent(new MutablePair<>(locations.get(3), locations.get(9)), 6, 6);
+    IMazeLocationBuilder.makeAdjacent(new MutablePair<>(locations.get(4), locations.get(5)), 6, 6);
+    IMazeLocationBuilder.makeAdjacent(new MutablePair<>(locations.get(5), locations.get(11)), 6, 6);
+    SmellField smellField = new SmellField(6, 6);
+    new Otyughs(locations.get(3), "foo", smellField);
+    assertEquals(SmellStrength.STRONG, smellField.getSmellStrength(locations.get(2).getCellId()));
+    assertEquals(SmellStrength.NONE, smellField.getSmellStrength(locations.get(0).getCellId()));
+    assertEquals(SmellStrength.WEAK, smellField.getSmellStrength(locations.get(1).getCellId()));
+    assertEquals(SmellStrength.NONE, smellField.getSmellStrength(locations.get(3).getCellId()));
+    // The smell of the location itself is not touched.
+    assertEquals(SmellStrength.NONE, locations.get(2).getSmellStrength());
+
+    new Otyughs(locations.get(8), "bar", smellField);
+    assertEquals(SmellStrength.STRONG, smellField.getSmellStrength(locations.get(1).getCellId()));
+  }
+
+  @Test
+  public void testSmellFieldAfterDeath() {
+    IMazeLocationBuilder.makeAdjacent(new MutablePair<>(locations.get(0), locations.get(1)), 6, 6);
+    IMazeLocationBuilder.makeAdjacent(new MutablePair<>(locations.get(0), locations.get(6)), 6, 6);
+    IMazeLocationBuilder.makeAdjacent(new MutablePair<>(locations.get(1), locations.get(2)), 6, 6);
+    IMazeLocationBuilder.makeAdjacent(new MutablePair<>(locations.get(2), locations.get(3)), 6, 6);
+    IMazeLocationBuilder.makeAdjacent(new MutablePair<>(locations.get(2), locations.get(8)), 6, 6);
+    IMazeLocationBuilder.makeAdjacent(new MutablePair<>(locations.get(3), locations.get(4)), 6, 6);
+    IMazeLocationBuilder.makeAdjacent(new MutablePair<>(locations.get(3), locations.get(9)), 6, 6);
+    IMazeLocationBuilder.makeAdjacent(new MutablePair<>(locations.get(4), locations.get(5)), 6, 6);
+    IMazeLocationBuilder.makeAdjacent(new MutablePair<>(locations.get(5), locations.get(11)), 6, 6);
+    SmellField smellField = new SmellField(6, 6);
+    monster = new Otyughs(locations.get(3), "foo", smellField);
+    for (int i = 0; i < 2; i++) {
+      arrow.setCurrentLocation(locations.get(0));
+      new ShootArrowActionBuilder().withArrow(arrow)
+              .withDirection(Direction.EAST).withDistance(2).build().act();
+    }
+    assertEquals(new MutableBoolean(true), death);
+    for (MazeLocation location : locations) {
+      assertEquals(SmellStrength.NONE, smellField.getSmellStrength(location.getCellId()));
+    }
+
+    monster.bringBackToLife();
+    monster.bringBackToLife();
+    assertEquals(SmellStrength.STRONG, smellField.getSmellStrength(locations.get(2).getCellId()));
+    assertEquals(SmellStrength.WEAK, smellField.getSmellStrength(locations.get(1).getCellId()));
+    assertEquals(SmellStrength.WEAK, smellField.getSmellStrength(locations.get(5).getCellId()));
+  }
+
   @Subscribe
   public void getDeathNotification(DeathEvent<Otyughs> otyughsDeathEvent) {
     death.setValue(true);
@@ -0,0 +1,130 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+
+import pdp.aniachar.GameSession;
+import pdp.aniachar.dungeonmaster.action.location.MoveAction;
+import pdp.aniachar.dungeonmaster.comm.EventContainer;
+import pdp.aniachar.dungeonmaster.gameworld.IMazeLocation;
+import pdp.aniachar.dungeonmaster.gameworld.IMazeLocationBuilder;
+import pdp.aniachar.dungeonmaster.gameworld.ParallelMazeBuilder;
+import pdp.aniachar.gamekit.GameWorld;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the functionalities of {@link ParallelMazeBuilder}.
+ * Tests if the maze built using multiple threads has the same guarantees as a random maze.
+ */
+
+public class ParallelMazeBuilderTest {
+
+  @Before
+  public void setup() {
+    EventContainer.reset();
+  }
+
+  @Test
+  public void testBadInit() {
+    try {
+      new ParallelMazeBuilder(40, 40, false, 0, 0, 0, 0);
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertTrue(e.getMessage().contains("Parallelism should be at least 1"));
+    }
+    try {
+      new ParallelMazeBuilder(5, 40, false, 0, 0, 0, 2);
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertTrue(e.getMessage().contains("Rows and columns should be at least"));
+    }
+  }
+
+  @Test
+  public void testSpanningTree() {
+    GameWorld world = new ParallelMazeBuilder(40, 45, false, 0, 0, 0, 4).buildWorld();
+    assertEquals(40 * 45 - 1, countPaths(world, 40 * 45));
+  }
+
+  @Test
+  public void testSingleThread() {
+    GameWorld world = new ParallelMazeBuilder(20, 20, false, 0, 0, 0, 1).buildWorld();
+    assertEquals(20 * 20 - 1, countPaths(world, 20 * 20));
+  }
+
+  @Test
+  public void testInterConnectedWrappedWorld() {
+    GameWorld world = new ParallelMazeBuilder(40, 40, true, 7, 0, 0, 4).buildWorld();
+    assertEquals(40 * 40 - 1 + 7, countPaths(world, 40 * 40));
+  }
+
+  @Test(timeout = 30000)
+  public void testManyMonsters() {
+    GameWorld world = new ParallelMazeBuilder(200, 200, false, 0, 20, 1000, 2).buildWorld();
+    assertEquals(200 * 200 - 1, countPaths(world, 200 * 200));
+  }
+
+  @Test
+  public void testSameSeedBuildsSameMaze() {
+    GameWorld first = new ParallelMazeBuilder(60, 60, true, 5, 20, 10, 4)
+            .buildWorld(new GameSession(11L));
+    GameWorld second = new ParallelMazeBuilder(60, 60, true, 5, 20, 10, 4)
+            .buildWorld(new GameSession(11L));
+    assertEquals(first.getStartLocation().getLocationDescription(),
+            second.getStartLocation().getLocationDescription());
+    assertEquals(first.getEndLocation().getLocationDescription(),
+            second.getEndLocation().getLocationDescription());
+    assertEquals(getPaths(first), getPaths(second));
+  }
+
+  @Test
+  public void testPoolIsReusedForEveryWorld() {
+    ForkJoinPool pool = new ForkJoinPool(3);
+    try {
+      ParallelMazeBuilder builder = new ParallelMazeBuilder(60, 60, false, 0, 0, 0, pool);
+      assertEquals(60 * 60 - 1, countPaths(builder.buildWorld(), 60 * 60));
+      assertEquals(60 * 60 - 1, countPaths(builder.buildWorld(), 60 * 60));
+      assertFalse(pool.isShutdown());
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * Gets the directions of the paths out of every location of the world.
+   */
+  private Map<Object, Set<String>> getPaths(GameWorld world) {
+    Map<Object, Set<String>> paths = new HashMap<>();
+    for (IMazeLocation location : IMazeLocationBuilder
+            .distanceToAllNodes((IMazeLocation) world.getStartLocation()).keySet()) {
+      Set<String> directions = new TreeSet<>();
+      for (MoveAction move : location.getMoveAction()) {
+        directions.add(move.getDirection().name());
+      }
+      paths.put(location.getLocationDescription().toString(), directions);
+    }
+    return paths;
+  }
+
+  /**
+   * Counts the paths in the world after checking that every location can be reached.
+   */
+  private int countPaths(GameWorld world, int numberOfLocations) {
+    Map<IMazeLocation, Integer> distances = IMazeLocationBuilder
+            .distanceToAllNodes((IMazeLocation) world.getStartLocation());
+    assertEquals(numberOfLocations, distances.size());
+    int exits = 0;
+    for (IMazeLocation location : distances.keySet()) {
+      exits += location.getMoveAction().size();
+    }
+    return exits / 2;
+  }
+}
@@ -7,6 +7,7 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -17,12 +18,15 @@ import pdp.aniachar.dungeonmaster.character.player.IPlayer;
 import pdp.aniachar.dungeonmaster.character.player.PlayerBuilder;
 import pdp.aniachar.dungeonmaster.comm.DeathEvent;
 import pdp.aniachar.dungeonmaster.comm.EventContainer;
+import pdp.aniachar.dungeonmaster.comm.PlayerEnterEvent;
 import pdp.aniachar.dungeonmaster.gameworld.IMazeLocation;
 import pdp.aniachar.dungeonmaster.gameworld.IMazeLocationBuilder;
 import pdp.aniachar.dungeonmaster.gameworld.MazeLocation;
+import pdp.aniachar.dungeonmaster.gameworld.SmellStrength;
 import pdp.aniachar.dungeonmaster.item.Arrow;
 import pdp.aniachar.dungeonmaster.item.Treasure;
 import pdp.aniachar.dungeonmaster.item.TreasureType;
+import pdp.aniachar.gamekit.Action;
 import pdp.aniachar.gamekit.Character;
 import pdp.aniachar.gamekit.Item;
 import pdp.aniachar.gamekit.Location;
@@ -49,6 +53,7 @@ public class PlayerTest {
   Character monster;
   IPlayer player2;
   MutableBoolean deathNoticeReceived;
+  MutableBoolean enterNoticeReceived;
 
   @Before
   public void setup() {
@@ -65,6 +70,7 @@ public class PlayerTest {
             new MutablePair<>(location, location2), 6, 6);
 
     deathNoticeReceived = new MutableBoolean(false);
+    enterNoticeReceived = new MutableBoolean(false);
 
     player = new PlayerBuilder(location).setName("elrick").createPlayer();
     player2 = (IPlayer) new PlayerBuilder(location2).setRegister(true).setName("Player 2")
@@ -207,6 +213,19 @@ public class PlayerTest {
     deathNoticeReceived.setValue(true);
   }
 
+  @Subscribe
+  public void playerEnterNotification(PlayerEnterEvent playerEnterEvent) {
+    enterNoticeReceived.setValue(true);
+  }
+
+  @Test
+  public void makeMoveOutsideMaze() {
+    Location<?> outside = new OutsideLocation();
+    assertTrue(player.makeMove(outside));
+    assertEquals(outside, player.getCurrentLocation());
+    assertTrue(enterNoticeReceived.getValue());
+  }
+
   @Test
   public void removeArrow() {
     player2.removeArrow();
@@ -221,4 +240,45 @@ public class PlayerTest {
     }
   }
 
-}
\ No newline at end of file
+  /**
+   * A location that is not part of a maze.
+   */
+
+  private static class OutsideLocation implements Location<String> {
+
+    @Override
+    public List<Item> getItems() {
+      return new ArrayList<>();
+    }
+
+    @Override
+    public List<Action<?>> possibleActions() {
+      return new ArrayList<>();
+    }
+
+    @Override
+    public Location<String> copy() {
+      return this;
+    }
+
+    @Override
+    public boolean removeItem(Item itemToRemove) {
+      return false;
+    }
+
+    @Override
+    public void restart() {
+      // Nothing to restore.
+    }
+
+    @Override
+    public String getLocationDescription() {
+      return "outside";
+    }
+
+    @Override
+    public SmellStrength getSmellStrength() {
+      return SmellStrength.NONE;
+    }
+  }
+}
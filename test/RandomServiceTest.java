@@ -0,0 +1,93 @@
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import pdp.aniachar.GameSession;
+import pdp.aniachar.RandomService;
+import pdp.aniachar.RandomService.Subsystem;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests that the streams of a {@link RandomService} are reproducible and independent.
+ */
+
+public class RandomServiceTest {
+
+  @Test
+  public void testSameSeedSameStreams() {
+    RandomService first = new RandomService(5L);
+    RandomService second = new RandomService(5L);
+    for (Subsystem subsystem : Subsystem.values()) {
+      assertArrayEquals(draw(first.getStream(subsystem)), draw(second.getStream(subsystem)));
+    }
+    assertEquals(5L, first.getSeed());
+  }
+
+  @Test
+  public void testStreamOfSubsystemIsShared() {
+    RandomService service = new RandomService(5L);
+    assertSame(service.getStream(Subsystem.BATTLE), service.getStream(Subsystem.BATTLE));
+  }
+
+  @Test
+  public void testSubsystemsIndependent() {
+    RandomService service = new RandomService(5L);
+    RandomService other = new RandomService(5L);
+    // Drawing from one stream does not change what another stream draws.
+    draw(service.getStream(Subsystem.MAZE));
+    assertArrayEquals(draw(other.getStream(Subsystem.BATTLE)),
+            draw(service.getStream(Subsystem.BATTLE)));
+    assertFalse(Arrays.equals(draw(new RandomService(5L).getStream(Subsystem.MAZE)),
+            draw(new RandomService(5L).getStream(Subsystem.ITEMS))));
+  }
+
+  @Test
+  public void testWorkerStreamsDoNotDependOnOrder() {
+    RandomService service = new RandomService(9L);
+    long[] third = draw(service.getWorkerStream(Subsystem.MAZE, 3));
+    long[] first = draw(service.getWorkerStream(Subsystem.MAZE, 1));
+    RandomService other = new RandomService(9L);
+    assertArrayEquals(first, draw(other.getWorkerStream(Subsystem.MAZE, 1)));
+    assertArrayEquals(third, draw(other.getWorkerStream(Subsystem.MAZE, 3)));
+    assertFalse(Arrays.equals(first, third));
+    assertFalse(Arrays.equals(first,
+            draw(other.getWorkerStream(Subsystem.ITEMS, 1))));
+  }
+
+  @Test
+  public void testSharedServiceGivesEveryThreadItsOwnStreams() throws InterruptedException {
+    RandomService shared = RandomService.shared(5L);
+    SplittableRandom mine = shared.getStream(Subsystem.MAZE);
+    assertSame(mine, shared.getStream(Subsystem.MAZE));
+    SplittableRandom[] theirs = new SplittableRandom[1];
+    Thread other = new Thread(() -> theirs[0] = shared.getStream(Subsystem.MAZE));
+    other.start();
+    other.join();
+    assertNotSame(mine, theirs[0]);
+    assertArrayEquals(draw(new RandomService(5L).getStream(Subsystem.MAZE)), draw(mine));
+  }
+
+  @Test
+  public void testDefaultSessionStreamsArePerThread() throws InterruptedException {
+    RandomService service = GameSession.getDefault().getRandomService();
+    SplittableRandom[] theirs = new SplittableRandom[1];
+    Thread other = new Thread(() -> theirs[0] = service.getStream(Subsystem.BATTLE));
+    other.start();
+    other.join();
+    assertNotSame(service.getStream(Subsystem.BATTLE), theirs[0]);
+  }
+
+  private static long[] draw(SplittableRandom random) {
+    long[] numbers = new long[8];
+    for (int i = 0; i < numbers.length; i++) {
+      numbers[i] = random.nextLong();
+    }
+    return numbers;
+  }
+}
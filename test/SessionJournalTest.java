@@ -0,0 +1,152 @@
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import pdp.aniachar.GameSession;
+import pdp.aniachar.controller.Controller;
+import pdp.aniachar.controller.JournalReplayer;
+import pdp.aniachar.controller.SessionJournal;
+import pdp.aniachar.dungeonmaster.DungeonGame;
+import pdp.aniachar.dungeonmaster.gameworld.MazeAlgorithm;
+import pdp.aniachar.gamekit.Direction;
+import pdp.aniachar.gamekit.Game;
+import pdp.aniachar.view.ViewModel.INewGameState;
+import pdp.aniachar.view.ViewModel.NewGameState;
+import pdp.aniachar.view.ViewModel.Nouns;
+import pdp.aniachar.view.ViewModel.PlayerInteraction;
+import pdp.aniachar.view.ViewModel.Verbs;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests that a game recorded by a {@link SessionJournal} is played the same way by the
+ * {@link JournalReplayer}.
+ */
+
+public class SessionJournalTest {
+
+  private static final long SEED = 42L;
+  private static final INewGameState WORLD = NewGameState.builder().maxRows(10).maxCols(12)
+          .isWrapped(true).degreeOfInterConnection(5).percentTreasure(50).numberMonsters(4)
+          .build();
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private Path file;
+  private GameSession session;
+  private Game game;
+
+  @Before
+  public void setup() throws IOException {
+    file = folder.getRoot().toPath().resolve("game.journal");
+    session = new GameSession(SEED);
+    game = new DungeonGame(MazeAlgorithm.KRUSKAL.createBuilder(WORLD.getMaxRows(),
+            WORLD.getMaxCols(), WORLD.getIsWrapped(), WORLD.getDegreeOfInterConnection(),
+            WORLD.getPercentTreasure(), WORLD.getNumberMonsters()), session);
+    Controller controller = new Controller(game, new MoveAllocationTest.SilentView(
+            session.getViewControllerBus()), false, session);
+    try (SessionJournal journal = new SessionJournal(file, SEED, MazeAlgorithm.KRUSKAL, WORLD)) {
+      controller.setJournal(journal);
+      playRandomly(new Random(7), 200);
+    }
+  }
+
+  @Test
+  public void testReplayEndsInSameState() throws IOException {
+    assertSameState(game, JournalReplayer.replay(file));
+  }
+
+  @Test
+  public void testSameSeedBuildsSameWorld() {
+    Game other = new DungeonGame(MazeAlgorithm.KRUSKAL.createBuilder(10, 12, true, 5, 50, 4),
+            new GameSession(SEED));
+    Game first = new DungeonGame(MazeAlgorithm.KRUSKAL.createBuilder(10, 12, true, 5, 50, 4),
+            new GameSession(SEED));
+    assertSameState(first, other);
+  }
+
+  @Test
+  public void testCutShortRecordIgnored() throws IOException {
+    byte[] journal = Files.readAllBytes(file);
+    // The last record is an interaction, cutting a byte off leaves all the ones before it.
+    Game replayed = JournalReplayer.replay(new ByteArrayInputStream(
+            Arrays.copyOf(journal, journal.length - 1)));
+    Game full = JournalReplayer.replay(new ByteArrayInputStream(
+            Arrays.copyOf(journal, journal.length - 7)));
+    assertSameState(full, replayed);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNotAJournal() throws IOException {
+    JournalReplayer.replay(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5, 6, 7, 8}));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnknownVerb() throws IOException {
+    byte[] journal = Files.readAllBytes(file);
+    // The verb of the last interaction.
+    journal[journal.length - 6] = (byte) 0xff;
+    JournalReplayer.replay(new ByteArrayInputStream(journal));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnknownAlgorithm() throws IOException {
+    byte[] journal = Files.readAllBytes(file);
+    // The algorithm follows the magic, the version and the seed.
+    journal[16] = (byte) 0xff;
+    JournalReplayer.replay(new ByteArrayInputStream(journal));
+  }
+
+  @Test(expected = IOException.class)
+  public void testJournalNotOverwritten() throws IOException {
+    new SessionJournal(file, SEED, MazeAlgorithm.KRUSKAL, WORLD);
+  }
+
+  private void playRandomly(Random random, int interactions) {
+    Nouns[] directions = {Nouns.NORTH, Nouns.SOUTH, Nouns.EAST, Nouns.WEST};
+    Nouns[] items = {Nouns.ARROW, Nouns.TREASURE};
+    for (int i = 0; i < interactions; i++) {
+      PlayerInteraction interaction;
+      switch (random.nextInt(4)) {
+        case 0:
+          interaction = new PlayerInteraction(Verbs.PICK, items[random.nextInt(2)]);
+          break;
+        case 1:
+          interaction = new PlayerInteraction(Verbs.SHOOT, directions[random.nextInt(4)],
+                  1 + random.nextInt(3));
+          break;
+        default:
+          interaction = new PlayerInteraction(Verbs.MOVE, directions[random.nextInt(4)]);
+          break;
+      }
+      session.getViewControllerBus().post(interaction);
+    }
+  }
+
+  private static void assertSameState(Game expected, Game actual) {
+    try {
+      assertEquals(expected.getActivePlayer().getCurrentLocation().getLocationDescription(),
+              actual.getActivePlayer().getCurrentLocation().getLocationDescription());
+      assertEquals(expected.getActivePlayer().getCurrentHealth(),
+              actual.getActivePlayer().getCurrentHealth(), 0);
+      assertEquals(expected.getActivePlayer().getNumberOfItems(),
+              actual.getActivePlayer().getNumberOfItems());
+      assertEquals(expected.isGameOver(), actual.isGameOver());
+      for (Direction direction : Direction.values()) {
+        assertEquals(expected.getAllMoveActions().containsKey(direction),
+                actual.getAllMoveActions().containsKey(direction));
+      }
+    } catch (NoSuchMethodException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
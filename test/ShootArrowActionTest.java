@@ -11,9 +11,11 @@ import java.util.List;
 
 import pdp.aniachar.dungeonmaster.comm.ArrowHitEvent;
 import pdp.aniachar.dungeonmaster.comm.EventContainer;
+import pdp.aniachar.dungeonmaster.gameworld.ArrowTrajectory;
 import pdp.aniachar.dungeonmaster.gameworld.IMazeLocation;
 import pdp.aniachar.dungeonmaster.gameworld.IMazeLocationBuilder;
 import pdp.aniachar.dungeonmaster.gameworld.MazeLocation;
+import pdp.aniachar.dungeonmaster.gameworld.RandomMazeBuilder;
 import pdp.aniachar.dungeonmaster.item.Arrow;
 import pdp.aniachar.dungeonmaster.item.ShootArrowAction;
 import pdp.aniachar.dungeonmaster.item.ShootArrowActionBuilder;
@@ -21,6 +23,7 @@ import pdp.aniachar.gamekit.Direction;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -187,6 +190,39 @@ public class ShootArrowActionTest {
 
   }
 
+  @Test
+  public void trajectoryIsKeptUntilPathsChange() {
+    IMazeLocationBuilder.makeAdjacent(new MutablePair<>(locations.get(0), locations.get(1)), 6, 6);
+    IMazeLocationBuilder.makeAdjacent(new MutablePair<>(locations.get(1), locations.get(2)), 6, 6);
+
+    ArrowTrajectory trajectory = locations.get(0).getArrowTrajectory(Direction.EAST);
+    assertSame(trajectory, locations.get(0).getArrowTrajectory(Direction.EAST));
+    assertEquals(locations.get(2), trajectory.getLanding(1));
+    assertTrue(trajectory.reaches(1));
+    assertEquals(locations.get(2), trajectory.getLanding(2));
+    assertFalse(trajectory.reaches(2));
+
+    IMazeLocationBuilder.makeAdjacent(new MutablePair<>(locations.get(2), locations.get(3)), 6, 6);
+    IMazeLocationBuilder.makeAdjacent(new MutablePair<>(locations.get(3), locations.get(4)), 6, 6);
+    assertFalse(trajectory.isCurrent());
+    ShootArrowAction action = new ShootArrowActionBuilder().withArrow(arrow)
+            .withDirection(Direction.EAST).withDistance(1).build();
+    assertTrue(action.act().orElseThrow());
+    assertEquals(locations.get(4), arrow.getCurrentLocation());
+  }
+
+  @Test
+  public void trajectoryIsKeptWhenOtherWorldIsBuilt() {
+    IMazeLocation start = (IMazeLocation) new RandomMazeBuilder(10, 10, false, 2, 0, 0)
+            .buildWorld().getStartLocation();
+    Direction direction = start.getMoveAction().get(0).getDirection();
+    ArrowTrajectory trajectory = start.getArrowTrajectory(direction);
+    new RandomMazeBuilder(10, 10, false, 2, 0, 0).buildWorld();
+    IMazeLocationBuilder.makeAdjacent(new MutablePair<>(locations.get(0), locations.get(1)), 6, 6);
+    assertTrue(trajectory.isCurrent());
+    assertSame(trajectory, start.getArrowTrajectory(direction));
+  }
+
   @Test
   public void overShootArrow() {
     IMazeLocationBuilder.makeAdjacent(new MutablePair<>(locations.get(0), locations.get(1)), 6, 6);
@@ -0,0 +1,84 @@
+import com.google.common.eventbus.Subscribe;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import pdp.aniachar.GameSession;
+import pdp.aniachar.dungeonmaster.DungeonGame;
+import pdp.aniachar.dungeonmaster.action.location.MoveAction;
+import pdp.aniachar.dungeonmaster.character.monster.Otyughs;
+import pdp.aniachar.dungeonmaster.comm.PlayerDeathEvent;
+import pdp.aniachar.dungeonmaster.comm.TurnResult;
+import pdp.aniachar.dungeonmaster.gameworld.IMazeLocation;
+import pdp.aniachar.dungeonmaster.gameworld.RandomMazeBuilder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that the game sends what happened in a turn to the controller as one {@link TurnResult}.
+ */
+
+public class TurnResultTest {
+
+  private GameSession session;
+  private DungeonGame game;
+  private List<TurnResult> turnResults;
+  private List<PlayerDeathEvent> playerDeaths;
+
+  @Before
+  public void setup() {
+    session = new GameSession();
+    game = new DungeonGame(new RandomMazeBuilder(10, 10, false, 0, 20, 0), session);
+    turnResults = new ArrayList<>();
+    playerDeaths = new ArrayList<>();
+    session.getModelControllerBus().register(this);
+  }
+
+  @Test
+  public void testNothingSentForQuietTurn() {
+    game.interact(getFirstMove());
+    assertTrue(turnResults.isEmpty());
+  }
+
+  @Test
+  public void testPlayerDeathSentInTurnResult() {
+    MoveAction move = getFirstMove();
+    new Otyughs(move.getWhereTo(), "waiting", session);
+    game.interact(move);
+    assertEquals(1, turnResults.size());
+    TurnResult turnResult = turnResults.get(0);
+    assertTrue(turnResult.getPlayerDeath().isPresent());
+    assertTrue(turnResult.getMonsterHits().isEmpty());
+    assertTrue(turnResult.getMonsterDeaths().isEmpty());
+    // The death is only sent as part of the turn.
+    assertTrue(playerDeaths.isEmpty());
+    assertTrue(game.isGameOver());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testTurnResultIsImmutable() {
+    MoveAction move = getFirstMove();
+    new Otyughs(move.getWhereTo(), "waiting", session);
+    game.interact(move);
+    turnResults.get(0).getMonsterHits().clear();
+  }
+
+  @Subscribe
+  public void turnEnded(TurnResult turnResult) {
+    turnResults.add(turnResult);
+  }
+
+  @Subscribe
+  public void playerDied(PlayerDeathEvent playerDeathEvent) {
+    playerDeaths.add(playerDeathEvent);
+  }
+
+  private MoveAction getFirstMove() {
+    IMazeLocation start = (IMazeLocation) game.getActivePlayer().getCurrentLocation();
+    return start.getMoveAction().get(0);
+  }
+}
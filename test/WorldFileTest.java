@@ -0,0 +1,122 @@
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import pdp.aniachar.GameSession;
+import pdp.aniachar.dungeonmaster.action.location.PickItemAction;
+import pdp.aniachar.dungeonmaster.gameworld.CompactMaze;
+import pdp.aniachar.dungeonmaster.gameworld.CompactMazeBuilder;
+import pdp.aniachar.dungeonmaster.gameworld.IMazeLocation;
+import pdp.aniachar.dungeonmaster.gameworld.MappedWorldBuilder;
+import pdp.aniachar.dungeonmaster.gameworld.WorldFile;
+import pdp.aniachar.gamekit.Direction;
+import pdp.aniachar.gamekit.ItemType;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that a {@link CompactMaze} saved in a {@link WorldFile} is loaded the same by the
+ * {@link MappedWorldBuilder}.
+ */
+
+public class WorldFileTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private CompactMaze maze;
+  private Path file;
+
+  @Before
+  public void setup() throws IOException {
+    maze = (CompactMaze) new CompactMazeBuilder(20, 31, 100).buildWorld(new GameSession(3L));
+    file = folder.getRoot().toPath().resolve("maze.world");
+    WorldFile.save(maze, file);
+  }
+
+  @Test
+  public void testLoadedMazeIsSame() {
+    CompactMaze loaded = (CompactMaze) new MappedWorldBuilder(file).buildWorld(new GameSession());
+    assertEquals(maze.getMaxRows(), loaded.getMaxRows());
+    assertEquals(maze.getMaxCols(), loaded.getMaxCols());
+    assertEquals(maze.getStartLocation().getLocationDescription(),
+            loaded.getStartLocation().getLocationDescription());
+    assertEquals(maze.getEndLocation().getLocationDescription(),
+            loaded.getEndLocation().getLocationDescription());
+    for (int row = 0; row < maze.getMaxRows(); row++) {
+      for (int col = 0; col < maze.getMaxCols(); col++) {
+        IMazeLocation expected = maze.getLocation(row, col);
+        IMazeLocation actual = loaded.getLocation(row, col);
+        assertEquals(expected.getMoveActionTable().keySet(), actual.getMoveActionTable().keySet());
+        assertEquals(expected.getItems().size(), actual.getItems().size());
+      }
+    }
+  }
+
+  @Test
+  public void testSavedAgainIsSameFile() throws IOException {
+    CompactMaze loaded = (CompactMaze) new MappedWorldBuilder(file).buildWorld(new GameSession());
+    Path again = folder.getRoot().toPath().resolve("again.world");
+    WorldFile.save(loaded, again);
+    assertArrayEquals(Files.readAllBytes(file), Files.readAllBytes(again));
+  }
+
+  @Test
+  public void testPickAndRestartLeaveFile() throws IOException {
+    byte[] saved = Files.readAllBytes(file);
+    CompactMaze loaded = (CompactMaze) new MappedWorldBuilder(file).buildWorld(new GameSession());
+    IMazeLocation location = loaded.getLocation(0, 0);
+    int numberOfItems = location.getItems().size();
+    PickItemAction pickArrow = location.getPickItemActions().get(ItemType.ARROW);
+    assertTrue(pickArrow.act().isPresent());
+    assertEquals(numberOfItems - 1, loaded.getLocation(0, 0).getItems().size());
+    loaded.restart();
+    assertEquals(numberOfItems, loaded.getLocation(0, 0).getItems().size());
+    assertArrayEquals(saved, Files.readAllBytes(file));
+  }
+
+  @Test
+  public void testSameSeedIsSameFile() throws IOException {
+    Path again = folder.getRoot().toPath().resolve("again.world");
+    WorldFile.save((CompactMaze) new CompactMazeBuilder(20, 31, 100)
+            .buildWorld(new GameSession(3L)), again);
+    assertArrayEquals(Files.readAllBytes(file), Files.readAllBytes(again));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNotAWorldFile() throws IOException {
+    Path other = folder.newFile("other.world").toPath();
+    Files.write(other, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16});
+    new MappedWorldBuilder(other).buildWorld(new GameSession());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCutShortFile() throws IOException {
+    byte[] saved = Files.readAllBytes(file);
+    Path other = folder.newFile("short.world").toPath();
+    Files.write(other, Arrays.copyOf(saved, saved.length - 1));
+    new MappedWorldBuilder(other).buildWorld(new GameSession());
+  }
+
+  @Test
+  public void testSavedFileIsVerified() {
+    new MappedWorldBuilder(file).verify();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDoorWithoutMatchingDoor() throws IOException {
+    byte[] saved = Files.readAllBytes(file);
+    saved[16] ^= 1 << Direction.EAST.ordinal();
+    Path other = folder.newFile("door.world").toPath();
+    Files.write(other, saved);
+    new MappedWorldBuilder(other).verify();
+  }
+}